@@ -25,6 +25,22 @@ android {
         versionName = "1.0"
 
         testInstrumentationRunner = "androidx.test.runner.AndroidJUnitRunner"
+
+        // Room-Schemas exportieren (Grundlage für Migrationen)
+        javaCompileOptions {
+            annotationProcessorOptions {
+                arguments += mapOf("room.schemaLocation" to "$projectDir/schemas")
+            }
+        }
+    }
+
+    sourceSets {
+        getByName("androidTest").assets.srcDir("$projectDir/schemas")
+    }
+
+    testOptions {
+        // Lokale Unit-Tests: android.util.Log & Co. liefern Standardwerte statt Exceptions
+        unitTests.isReturnDefaultValues = true
     }
 
     buildTypes {
@@ -89,6 +105,7 @@ dependencies {
 
     implementation("androidx.lifecycle:lifecycle-runtime:2.7.0")
     implementation("androidx.lifecycle:lifecycle-viewmodel:2.7.0")
+    implementation("androidx.lifecycle:lifecycle-livedata:2.7.0")
 
     // Activity Result API  permissions
     implementation("androidx.activity:activity:1.8.2")
@@ -102,9 +119,11 @@ dependencies {
     testImplementation(libs.junit)
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
+    androidTestImplementation("androidx.room:room-testing:2.6.1")
 
     // ===== UI COMPONENTS =====
     implementation("androidx.cardview:cardview:1.0.0")
+    implementation("androidx.recyclerview:recyclerview:1.3.2")
     implementation("com.google.android.flexbox:flexbox:3.0.0")
     implementation("com.github.kizitonwose:CalendarView:1.0.4")
 
@@ -0,0 +1,252 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import android.database.Cursor;
+
+import androidx.room.testing.MigrationTestHelper;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+/**
+ * Prüft jede Migration der ZyklusDatenbank gegen die exportierten Schemas
+ * (app/schemas) und kontrolliert, dass bestehende Daten erhalten bleiben.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+@RunWith(AndroidJUnit4.class)
+public class ZyklusMigrationenTest {
+
+    private static final String DATENBANK = "migration-test";
+
+    private static final long TAG_1 = LocalDate.of(2025, 1, 3).toEpochDay();
+
+    @Rule
+    public MigrationTestHelper helper = new MigrationTestHelper(
+            InstrumentationRegistry.getInstrumentation(), ZyklusDatenbank.class);
+
+    @Test
+    public void migration1Zu2() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATENBANK, 1)) {
+            db.execSQL("INSERT INTO periode_eintraege (datum, istPrognose) VALUES ('2025-01-03', 0)");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                DATENBANK, 2, true, ZyklusMigrationen.MIGRATION_1_2)) {
+            assertEquals(1, zaehle(db, "SELECT COUNT(*) FROM periode_eintraege"));
+            assertEquals(0, zaehle(db, "SELECT COUNT(*) FROM wohlbefinden_eintraege"));
+        }
+    }
+
+    @Test
+    public void migration2Zu3_entferntDuplikate() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATENBANK, 2)) {
+            db.execSQL("INSERT INTO periode_eintraege (id, datum, istPrognose) VALUES (1, '2025-01-03', 0)");
+            db.execSQL("INSERT INTO periode_eintraege (id, datum, istPrognose) VALUES (2, '2025-01-03', 0)");
+            db.execSQL("INSERT INTO periode_eintraege (id, datum, istPrognose) VALUES (3, '2025-01-03', 1)");
+            db.execSQL("INSERT INTO wohlbefinden_eintraege (id, datum, stimmung) VALUES (1, '2025-01-03', 'alt')");
+            db.execSQL("INSERT INTO wohlbefinden_eintraege (id, datum, stimmung) VALUES (2, '2025-01-03', 'neu')");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                DATENBANK, 3, true, ZyklusMigrationen.MIGRATION_2_3)) {
+            // Ältester Periodeneintrag pro (datum, istPrognose) bleibt
+            assertEquals(2, zaehle(db, "SELECT COUNT(*) FROM periode_eintraege"));
+            assertEquals(1, zaehle(db, "SELECT COUNT(*) FROM periode_eintraege WHERE id = 1"));
+            // Zuletzt geschriebener Wohlbefindenseintrag pro Tag bleibt
+            assertEquals("neu", text(db, "SELECT stimmung FROM wohlbefinden_eintraege"));
+        }
+    }
+
+    @Test
+    public void migration3Zu4_wandeltDatumInEpochTag() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATENBANK, 3)) {
+            db.execSQL("INSERT INTO periode_eintraege (datum, istPrognose) VALUES ('2025-01-03', 0)");
+            db.execSQL("INSERT INTO wohlbefinden_eintraege (datum, temperatur) VALUES ('2025-01-03', 36.5)");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                DATENBANK, 4, true, ZyklusMigrationen.MIGRATION_3_4)) {
+            assertEquals(TAG_1, zaehle(db, "SELECT datum FROM periode_eintraege"));
+            assertEquals(TAG_1, zaehle(db, "SELECT datum FROM wohlbefinden_eintraege"));
+        }
+    }
+
+    @Test
+    public void migration4Zu5_uebertraegtSymptome() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATENBANK, 4)) {
+            db.execSQL("INSERT INTO wohlbefinden_eintraege (id, datum, symptome) " +
+                    "VALUES (1, " + TAG_1 + ", '[\"Kopfschmerzen\",\"Müdigkeit\"]')");
+            db.execSQL("INSERT INTO wohlbefinden_eintraege (id, datum, symptome) " +
+                    "VALUES (2, " + (TAG_1 + 1) + ", '[\"Kopfschmerzen\"]')");
+            db.execSQL("INSERT INTO wohlbefinden_eintraege (id, datum, symptome) " +
+                    "VALUES (3, " + (TAG_1 + 2) + ", 'kein JSON')");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                DATENBANK, 5, true, ZyklusMigrationen.MIGRATION_4_5)) {
+            assertEquals(3, zaehle(db, "SELECT COUNT(*) FROM wohlbefinden_eintraege"));
+            assertEquals(2, zaehle(db, "SELECT COUNT(*) FROM symptom_katalog"));
+            assertEquals(3, zaehle(db, "SELECT COUNT(*) FROM wohlbefinden_symptome"));
+            assertEquals(2, zaehle(db, "SELECT COUNT(*) FROM wohlbefinden_symptome s " +
+                    "JOIN symptom_katalog k ON k.id = s.symptomId WHERE k.name = 'Kopfschmerzen'"));
+        }
+    }
+
+    @Test
+    public void migration5Zu6_bildetZyklen() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATENBANK, 5)) {
+            fuegePeriodenTageEin(db, TAG_1, 3);
+            fuegePeriodenTageEin(db, TAG_1 + 28, 2);
+            db.execSQL("INSERT INTO periode_eintraege (datum, istPrognose) VALUES (" + (TAG_1 + 56) + ", 1)");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                DATENBANK, 6, true, ZyklusMigrationen.MIGRATION_5_6)) {
+            assertEquals(2, zaehle(db, "SELECT COUNT(*) FROM zyklen"));
+            assertEquals(3, zaehle(db, "SELECT periodenLaenge FROM zyklen WHERE startDatum = " + TAG_1));
+            assertEquals(28, zaehle(db, "SELECT zyklusLaenge FROM zyklen WHERE startDatum = " + TAG_1));
+            assertEquals(1, zaehle(db, "SELECT COUNT(*) FROM zyklen " +
+                    "WHERE startDatum = " + (TAG_1 + 28) + " AND zyklusLaenge IS NULL"));
+        }
+    }
+
+    @Test
+    public void migration6Zu7_befuelltStatistik() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATENBANK, 6)) {
+            fuegeZyklusEin(db, TAG_1, 28);
+            fuegeZyklusEin(db, TAG_1 + 28, 30);
+            fuegeZyklusEin(db, TAG_1 + 58, 60); // ungültig, nicht in der Statistik
+            fuegeZyklusEin(db, TAG_1 + 118, null);
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                DATENBANK, 7, true, ZyklusMigrationen.MIGRATION_6_7)) {
+            try (Cursor cursor = db.query("SELECT anzahl, mittelwert, m2, minimum, maximum " +
+                    "FROM zyklus_statistik WHERE id = " + ZyklusStatistik.ID)) {
+                assertTrue(cursor.moveToFirst());
+                assertEquals(2, cursor.getInt(0));
+                assertEquals(29.0, cursor.getDouble(1), 1e-9);
+                assertEquals(2.0, cursor.getDouble(2), 1e-9);
+                assertEquals(28, cursor.getInt(3));
+                assertEquals(30, cursor.getInt(4));
+            }
+        }
+    }
+
+    @Test
+    public void migration7Zu8() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATENBANK, 7)) {
+            fuegeZyklusEin(db, TAG_1, null);
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                DATENBANK, 8, true, ZyklusMigrationen.MIGRATION_7_8)) {
+            assertEquals(1, zaehle(db, "SELECT COUNT(*) FROM zyklen"));
+            assertEquals(0, zaehle(db, "SELECT COUNT(*) FROM eisprung_erkennung"));
+        }
+    }
+
+    @Test
+    public void migration8Zu9_legtPrognoseStandAn() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATENBANK, 8)) {
+            fuegeZyklusEin(db, TAG_1, 30);
+            fuegeZyklusEin(db, TAG_1 + 30, null);
+            fuegePeriodenTageEin(db, TAG_1 + 30, 2);
+            db.execSQL("INSERT INTO periode_eintraege (datum, istPrognose) VALUES (" + (TAG_1 + 60) + ", 1)");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                DATENBANK, 9, true, ZyklusMigrationen.MIGRATION_8_9)) {
+            try (Cursor cursor = db.query("SELECT periodenstart, zyklusLaenge FROM prognose_stand " +
+                    "WHERE id = " + PrognoseStand.ID)) {
+                assertTrue(cursor.moveToFirst());
+                assertEquals(TAG_1 + 30, cursor.getLong(0));
+                assertEquals(30, cursor.getInt(1));
+            }
+            // Prognosen werden nicht mehr gespeichert, echte Tage bleiben
+            assertEquals(2, zaehle(db, "SELECT COUNT(*) FROM periode_eintraege"));
+            assertEquals(0, zaehle(db, "SELECT COUNT(*) FROM periode_eintraege WHERE datum = " + (TAG_1 + 60)));
+        }
+    }
+
+    @Test
+    public void migration8Zu9_ungueltigeLaengeWirdStandard() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATENBANK, 8)) {
+            fuegeZyklusEin(db, TAG_1, 60);
+            fuegeZyklusEin(db, TAG_1 + 60, null);
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                DATENBANK, 9, true, ZyklusMigrationen.MIGRATION_8_9)) {
+            assertEquals(TAG_1 + 60, zaehle(db, "SELECT periodenstart FROM prognose_stand"));
+            assertEquals(28, zaehle(db, "SELECT zyklusLaenge FROM prognose_stand"));
+        }
+    }
+
+    @Test
+    public void migration8Zu9_ohneZweiZyklenKeinStand() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATENBANK, 8)) {
+            fuegeZyklusEin(db, TAG_1, null);
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                DATENBANK, 9, true, ZyklusMigrationen.MIGRATION_8_9)) {
+            assertEquals(0, zaehle(db, "SELECT COUNT(*) FROM prognose_stand"));
+        }
+    }
+
+    @Test
+    public void alleMigrationen1Zu9() throws IOException {
+        try (SupportSQLiteDatabase db = helper.createDatabase(DATENBANK, 1)) {
+            db.execSQL("INSERT INTO periode_eintraege (datum, istPrognose) VALUES ('2025-01-03', 0)");
+            db.execSQL("INSERT INTO periode_eintraege (datum, istPrognose) VALUES ('2025-01-04', 0)");
+            db.execSQL("INSERT INTO periode_eintraege (datum, istPrognose) VALUES ('2025-01-31', 0)");
+        }
+
+        try (SupportSQLiteDatabase db = helper.runMigrationsAndValidate(
+                DATENBANK, 9, true, ZyklusMigrationen.ALLE)) {
+            assertEquals(3, zaehle(db, "SELECT COUNT(*) FROM periode_eintraege"));
+            assertEquals(2, zaehle(db, "SELECT COUNT(*) FROM zyklen"));
+            assertEquals(1, zaehle(db, "SELECT anzahl FROM zyklus_statistik"));
+            assertEquals(TAG_1 + 28, zaehle(db, "SELECT periodenstart FROM prognose_stand"));
+        }
+    }
+
+    // ===== HILFSMETHODEN =====
+
+    private static void fuegePeriodenTageEin(SupportSQLiteDatabase db, long ersterTag, int anzahl) {
+        for (int i = 0; i < anzahl; i++) {
+            db.execSQL("INSERT INTO periode_eintraege (datum, istPrognose) VALUES (" + (ersterTag + i) + ", 0)");
+        }
+    }
+
+    private static void fuegeZyklusEin(SupportSQLiteDatabase db, long start, Integer zyklusLaenge) {
+        db.execSQL("INSERT INTO zyklen (startDatum, endDatum, periodenLaenge, zyklusLaenge) VALUES (?, ?, ?, ?)",
+                new Object[]{start, start + 4, 5, zyklusLaenge});
+    }
+
+    private static long zaehle(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getLong(0);
+        }
+    }
+
+    private static String text(SupportSQLiteDatabase db, String sql) {
+        try (Cursor cursor = db.query(sql)) {
+            assertTrue(cursor.moveToFirst());
+            return cursor.getString(0);
+        }
+    }
+}
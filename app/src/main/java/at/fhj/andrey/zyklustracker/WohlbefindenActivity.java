@@ -5,10 +5,12 @@ import android.content.Intent;
 import android.content.res.ColorStateList;
 import android.graphics.Color;
 import android.os.Bundle;
+import android.view.View;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.button.MaterialButton;
@@ -16,6 +18,8 @@ import com.google.android.material.button.MaterialButton;
 import java.util.ArrayList;
 import java.util.List;
 import at.fhj.andrey.zyklustracker.datenbank.*;
+import at.fhj.andrey.zyklustracker.verlauf.SeitenAdapter;
+import at.fhj.andrey.zyklustracker.verlauf.WohlbefindenVerlaufAdapter;
 
 import java.time.LocalDate;
 import android.widget.LinearLayout;
@@ -47,6 +51,9 @@ public class WohlbefindenActivity extends AppCompatActivity {
     private ZyklusDatenbank database;
     private WohlbefindenDao wellbeingDao;
 
+    // Seitenweise geladener Verlauf der Einträge
+    private WohlbefindenVerlaufAdapter verlaufAdapter;
+
     // Aktuelles Datum für den Eintrag
     private LocalDate currentDate = LocalDate.now();
 
@@ -78,8 +85,8 @@ public class WohlbefindenActivity extends AppCompatActivity {
         // Bottom Navigation einrichten
         setupBottomNavigation();
 
-        // Letzte Einträge laden und anzeigen
-        loadAndDisplayLastEntries();
+        // Verlauf einrichten und erste Seite laden
+        setupEntryHistory();
 
         // Heutigen Eintrag laden (falls vorhanden)
         loadTodaysEntry();
@@ -191,7 +198,7 @@ public class WohlbefindenActivity extends AppCompatActivity {
 
     /**
      * Konfiguriert den Speichern-Button mit Datensammlung und Datenbankoperationen.
-     * WICHTIG: Alle Datenbankzugriffe laufen in Background Threads.
+     * WICHTIG: Der Schreibvorgang läuft über die Schreib-Warteschlange (Background Thread).
      */
     private void setupSaveButton() {
         TextView saveButton = findViewById(R.id.btn_save);
@@ -203,60 +210,46 @@ public class WohlbefindenActivity extends AppCompatActivity {
             String mood = selectedMoodButton != null ? selectedMoodButton.getText().toString() : "";
             List<String> symptoms = collectSymptoms();
 
-            // Background Thread für Datenbankoperationen
-            new Thread(() -> {
-                try {
-                    // Prüfen, ob bereits ein Eintrag für heute existiert (Background Thread)
-                    WohlbefindenEintrag existingEntry = wellbeingDao.getEintragNachDatum(currentDate);
-
-                    // Neuen Eintrag erstellen oder bestehenden verwenden
-                    WohlbefindenEintrag entry;
-                    boolean isUpdate;
-                    if (existingEntry != null) {
-                        entry = existingEntry;
-                        isUpdate = true;
-                    } else {
-                        entry = new WohlbefindenEintrag(currentDate);
-                        isUpdate = false;
-                    }
-
-                    // Gesammelte Daten setzen
-                    entry.setBlutungsstaerke(bleeding);
-                    entry.setSchmerzLevel(pain);
-                    entry.setStimmung(mood);
-                    entry.setSymptome(symptoms);
-
-                    // In Datenbank speichern (bereits im Background Thread)
-                    if (isUpdate) {
-                        wellbeingDao.aktualisierenEintrag(entry);
-                    } else {
-                        wellbeingDao.einfuegenEintrag(entry);
-                    }
+            // Schreibvorgang über die Schreib-Warteschlange der Datenbank
+            final boolean[] isUpdate = {false};
+            database.schreibWarteschlange().einreihen(() -> {
+                // Upsert auf den eindeutigen Tag: manuelle Felder und Symptome setzen,
+                // Sensorwerte eines bestehenden Eintrags bleiben erhalten
+                boolean neu = wellbeingDao.upsertManuelleWerte(
+                        currentDate, bleeding, pain, mood, symptoms);
+                isUpdate[0] = !neu;
+            }, erstelleSpeicherRueckmeldung(isUpdate));
+        });
+    }
 
-                    // UI-Updates auf Main Thread
-                    runOnUiThread(() -> {
-                        if (isUpdate) {
-                            Toast.makeText(WohlbefindenActivity.this,
-                                    "Daten aktualisiert!", Toast.LENGTH_SHORT).show();
-                        } else {
-                            Toast.makeText(WohlbefindenActivity.this,
-                                    "Daten gespeichert!", Toast.LENGTH_SHORT).show();
-                        }
-
-                        // Anzeige der letzten Einträge aktualisieren
-                        loadAndDisplayLastEntries();
-                    });
-
-                } catch (Exception e) {
-                    // Fehlerbehandlung auf UI Thread
-                    runOnUiThread(() -> {
-                        Toast.makeText(WohlbefindenActivity.this,
-                                "Fehler beim Speichern: " + e.getMessage(),
-                                Toast.LENGTH_LONG).show();
-                    });
+    /**
+     * Erstellt die Rückmeldung für Speichervorgänge (läuft auf dem Main Thread).
+     *
+     * @param isUpdate Wird im Schreibvorgang gesetzt: true bei Aktualisierung
+     */
+    private SchreibWarteschlange.Rueckmeldung erstelleSpeicherRueckmeldung(boolean[] isUpdate) {
+        return new SchreibWarteschlange.Rueckmeldung() {
+            @Override
+            public void onErfolg() {
+                if (isUpdate[0]) {
+                    Toast.makeText(WohlbefindenActivity.this,
+                            "Daten aktualisiert!", Toast.LENGTH_SHORT).show();
+                } else {
+                    Toast.makeText(WohlbefindenActivity.this,
+                            "Daten gespeichert!", Toast.LENGTH_SHORT).show();
                 }
-            }).start();
-        });
+
+                // Anzeige der letzten Einträge aktualisieren
+                loadAndDisplayLastEntries();
+            }
+
+            @Override
+            public void onFehler(Exception fehler) {
+                Toast.makeText(WohlbefindenActivity.this,
+                        "Fehler beim Speichern: " + fehler.getMessage(),
+                        Toast.LENGTH_LONG).show();
+            }
+        };
     }
 
     /**
@@ -298,49 +291,6 @@ public class WohlbefindenActivity extends AppCompatActivity {
         return symptoms;
     }
 
-    /**
-     * Speichert den Eintrag in die Datenbank und zeigt entsprechendes Feedback.
-     * WICHTIG: Läuft im Background Thread um Main Thread nicht zu blockieren.
-     *
-     * @param entry Der zu speichernde Eintrag
-     * @param isUpdate true wenn es ein Update ist, false für neuen Eintrag
-     */
-    private void saveToDatabaseWithFeedback(WohlbefindenEintrag entry, boolean isUpdate) {
-        // Background Thread für Datenbankoperationen
-        new Thread(() -> {
-            try {
-                // Datenbankzugriff im Background Thread
-                if (isUpdate) {
-                    wellbeingDao.aktualisierenEintrag(entry);
-                } else {
-                    wellbeingDao.einfuegenEintrag(entry);
-                }
-
-                // UI-Updates auf Main Thread
-                runOnUiThread(() -> {
-                    if (isUpdate) {
-                        Toast.makeText(WohlbefindenActivity.this,
-                                "Daten aktualisiert!", Toast.LENGTH_SHORT).show();
-                    } else {
-                        Toast.makeText(WohlbefindenActivity.this,
-                                "Daten gespeichert!", Toast.LENGTH_SHORT).show();
-                    }
-
-                    // Anzeige der letzten Einträge aktualisieren
-                    loadAndDisplayLastEntries();
-                });
-
-            } catch (Exception e) {
-                // Fehlerbehandlung auf UI Thread
-                runOnUiThread(() -> {
-                    Toast.makeText(WohlbefindenActivity.this,
-                            "Fehler beim Speichern: " + e.getMessage(),
-                            Toast.LENGTH_LONG).show();
-                });
-            }
-        }).start();
-    }
-
     /**
      * Konfiguriert die Bottom Navigation mit entsprechenden Intents.
      */
@@ -364,76 +314,42 @@ public class WohlbefindenActivity extends AppCompatActivity {
     }
 
     /**
-     * Lädt die letzten 5 Einträge aus der Datenbank und aktualisiert die Anzeige.
-     * WICHTIG: Läuft im Background Thread um Main Thread nicht zu blockieren.
+     * Richtet den Verlauf der Einträge als RecyclerView ein.
+     * Es wird nur die erste Seite geladen, ältere Einträge folgen beim Scrollen.
      */
-    private void loadAndDisplayLastEntries() {
-        TextView entriesDisplay = findViewById(R.id.text_recent_entries);
+    private void setupEntryHistory() {
+        TextView entriesStatus = findViewById(R.id.text_recent_entries);
+        RecyclerView entriesList = findViewById(R.id.recycler_recent_entries);
 
         // Platzhalter-Text während des Ladens anzeigen
-        entriesDisplay.setText("Lade letzte Einträge...");
-
-        // Background Thread für Datenbankzugriff
-        new Thread(() -> {
-            try {
-                // Datenbankzugriff im Background Thread
-                List<WohlbefindenEintrag> recentEntries = wellbeingDao.getLetzteEintraege(5);
-
-                // Zurück zum UI Thread für Anzeige-Updates
-                runOnUiThread(() -> {
-                    if (recentEntries.isEmpty()) {
-                        entriesDisplay.setText("Keine Einträge vorhanden");
-                        return;
-                    }
-
-                    // StringBuilder für formatierte Ausgabe
-                    StringBuilder displayText = new StringBuilder();
-                    for (WohlbefindenEintrag entry : recentEntries) {
-                        appendEntryToDisplay(displayText, entry);
-                    }
-
-                    entriesDisplay.setText(displayText.toString());
-                });
+        entriesStatus.setText("Lade letzte Einträge...");
+
+        verlaufAdapter = new WohlbefindenVerlaufAdapter(wellbeingDao, database.getQueryExecutor());
+        verlaufAdapter.setLadeListener(new SeitenAdapter.LadeListener() {
+            @Override
+            public void onSeiteGeladen(int anzahlGesamt) {
+                boolean leer = anzahlGesamt == 0;
+                entriesStatus.setText("Keine Einträge vorhanden");
+                entriesStatus.setVisibility(leer ? View.VISIBLE : View.GONE);
+                entriesList.setVisibility(leer ? View.GONE : View.VISIBLE);
+            }
 
-            } catch (Exception e) {
-                // Fehlerbehandlung auf UI Thread
-                runOnUiThread(() -> {
-                    entriesDisplay.setText("Fehler beim Laden der Einträge: " + e.getMessage());
-                });
+            @Override
+            public void onFehler(String fehlermeldung) {
+                entriesStatus.setText("Fehler beim Laden der Einträge: " + fehlermeldung);
+                entriesStatus.setVisibility(View.VISIBLE);
             }
-        }).start();
+        });
+        verlaufAdapter.anbinden(entriesList);
     }
 
     /**
-     * Hilfsmethode zum Formatieren eines Eintrags für die Anzeige.
-     * @param sb StringBuilder für die Ausgabe
-     * @param entry Der anzuzeigende Eintrag
+     * Aktualisiert den Verlauf nach dem Speichern, ohne die Scrollposition zu verlieren.
      */
-    private void appendEntryToDisplay(StringBuilder sb, WohlbefindenEintrag entry) {
-        // Datum
-        sb.append(entry.getDatum().toString()).append("\n");
-
-        // Blutung
-        if (isNotEmpty(entry.getBlutungsstaerke())) {
-            sb.append("Blutung: ").append(entry.getBlutungsstaerke()).append("\n");
-        }
-
-        // Schmerzen
-        if (isNotEmpty(entry.getSchmerzLevel())) {
-            sb.append("Schmerzen: ").append(entry.getSchmerzLevel()).append("\n");
-        }
-
-        // Stimmung
-        if (isNotEmpty(entry.getStimmung())) {
-            sb.append("Stimmung: ").append(entry.getStimmung()).append("\n");
-        }
-
-        // Symptome
-        if (entry.getSymptome() != null && !entry.getSymptome().isEmpty()) {
-            sb.append("Begleitsymptome: ").append(String.join(", ", entry.getSymptome())).append("\n");
+    private void loadAndDisplayLastEntries() {
+        if (verlaufAdapter != null) {
+            verlaufAdapter.aktualisieren();
         }
-
-        sb.append("\n"); // Leerzeile zwischen Einträgen
     }
 
     /**
@@ -445,7 +361,7 @@ public class WohlbefindenActivity extends AppCompatActivity {
         new Thread(() -> {
             try {
                 // Datenbankzugriff im Background Thread
-                WohlbefindenEintrag todaysEntry = wellbeingDao.getEintragNachDatum(currentDate);
+                WohlbefindenEintrag todaysEntry = wellbeingDao.getEintragMitSymptomenNachDatum(currentDate);
 
                 // Zurück zum UI Thread für UI-Updates
                 runOnUiThread(() -> {
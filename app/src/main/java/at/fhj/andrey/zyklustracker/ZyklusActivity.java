@@ -4,9 +4,8 @@ import static android.content.ContentValues.TAG;
 
 import at.fhj.andrey.zyklustracker.datenbank.*;
 import android.app.AlertDialog;
-import android.content.Context;
 import android.content.Intent;
-import android.graphics.Color;
+import android.graphics.drawable.Drawable;
 import android.os.Bundle;
 import android.view.View;
 import android.widget.Button;
@@ -17,6 +16,7 @@ import android.widget.TextView;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.content.ContextCompat;
 import androidx.core.util.Pair;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.bottomnavigation.BottomNavigationView;
 import com.google.android.material.datepicker.MaterialDatePicker;
@@ -33,15 +33,21 @@ import java.time.Instant;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZoneId;
-import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 import kotlin.Unit;
 
 // Sensor-Integration
+import at.fhj.andrey.zyklustracker.kalender.KalenderNeuzeichnung;
+import at.fhj.andrey.zyklustracker.kalender.KalenderPalette;
+import at.fhj.andrey.zyklustracker.kalender.KalenderSnapshot;
+import at.fhj.andrey.zyklustracker.kalender.KalenderTagesStatus;
+import at.fhj.andrey.zyklustracker.kalender.MonatsVorabLader;
 import at.fhj.andrey.zyklustracker.sensors.ZyklusSensorManager;
 import at.fhj.andrey.zyklustracker.sensors.SensorData;
 import androidx.activity.result.ActivityResultLauncher;
@@ -51,7 +57,9 @@ import android.content.pm.PackageManager;
 import android.widget.Toast;
 import android.util.Log;
 import at.fhj.andrey.zyklustracker.statistik.StatistikManager;
+import at.fhj.andrey.zyklustracker.verlauf.PeriodenTagAdapter;
 import at.fhj.andrey.zyklustracker.zyklusanalyse.AnalyseErgebnis;
+import at.fhj.andrey.zyklustracker.zyklusanalyse.PrognoseGenerator;
 import at.fhj.andrey.zyklustracker.zyklusanalyse.ZyklusPhaseBerechnung;
 
 /**
@@ -63,7 +71,11 @@ import at.fhj.andrey.zyklustracker.zyklusanalyse.ZyklusPhaseBerechnung;
  * - Kalenderansicht mit farblicher Markierung der Zyklusphasen
  * - Eingabe neuer Periodentage über Material DatePicker
  * - Automatische Berechnung von Eisprung und fruchtbaren Tagen
- * - Prognose zukünftiger Perioden basierend auf historischen Daten
+ * - Prognose zukünftiger Perioden basierend auf historischen Daten (ohne festen Horizont,
+ *   pro Monat lazy über PrognoseGenerator)
+ * - Vorberechneter Tagesstatus (KalenderTagesStatus) für das Binden der Kalenderzellen,
+ *   als unveränderlicher KalenderSnapshot im Hintergrund aufgebaut und atomar veröffentlicht
+ * - Vorladen der Nachbarmonate (Tagesstatus, Phasen, Prognosen) über den MonatsVorabLader
  * - Verwaltung bestehender Periodentage (Löschen möglich)
  *
  * Kalender-Farbschema:
@@ -74,7 +86,7 @@ import at.fhj.andrey.zyklustracker.zyklusanalyse.ZyklusPhaseBerechnung;
  * Datenbank-Integration:
  * - Speicherung in Room-Datenbank (PeriodeEintrag-Entitäten)
  * - Unterscheidung zwischen echten Daten und Prognosen
- * - Automatische Neuberechnung bei Datenänderungen
+ * - Automatische Neuberechnung bei Datenänderungen (LiveData über den InvalidationTracker)
  *
  * @author Andrey Eskin
  * @version 1.0
@@ -95,11 +107,24 @@ public class ZyklusActivity extends AppCompatActivity
     private TextView monthTitleText;
     private ImageView previousMonthButton, nextMonthButton;
 
-    // Datenlisten für verschiedene Zyklusphasen
-    private final List<LocalDate> menstruationDays = new ArrayList<>();
-    private final List<LocalDate> ovulationDays = new ArrayList<>();
-    private final List<LocalDate> fertileDays = new ArrayList<>();
-    private final List<LocalDate> predictedMenstruation = new ArrayList<>();
+    // Unveränderlicher Datenstand des Kalenders (Periodentage, Prognose, Tagesstatus).
+    // Wird nur vom Kalender-Executor ersetzt, das Binden liest ihn ohne Sperren.
+    private final AtomicReference<KalenderSnapshot> kalenderSnapshot =
+            new AtomicReference<>(KalenderSnapshot.LEER);
+    // Baut neue Snapshots im Hintergrund auf, Aufträge in Eingangsreihenfolge
+    private final ExecutorService kalenderExecutor = Executors.newSingleThreadExecutor();
+    // Sammelt Neuzeichnungen des Kalenders und führt sie einmal pro Frame aus
+    private KalenderNeuzeichnung kalenderNeuzeichnung;
+    // Einmalig aufgelöste Farben und Drawables der Kalenderzellen
+    private KalenderPalette kalenderPalette;
+    // Berechnet Nachbarmonate (Tagesstatus, Phasen, Prognosen) im Hintergrund vor
+    private MonatsVorabLader monatsVorabLader;
+    // Heutiges Datum für den laufenden Frame (null = im nächsten Bind neu lesen)
+    private LocalDate heuteFuerFrame = null;
+    private final Runnable heuteZuruecksetzen = () -> heuteFuerFrame = null;
+
+    // Liste im offenen Perioden-Dialog (für Aktualisierung durch den Observer)
+    private PeriodenTagAdapter periodenTagAdapter;
 
     // Aktuell ausgewähltes Datum im Kalender
     private LocalDate selectedDate = null;
@@ -146,7 +171,7 @@ public class ZyklusActivity extends AppCompatActivity
         starteSensorMessung();
 
         //  Diese beiden Aufrufe am Ende, da sie asynchron sind
-        loadMenstruationDataFromDatabase();  // Lädt Daten im Background
+        beobachtePeriodendaten();            // Room liefert Änderungen automatisch
         ladeSensordatenFuerAnzeige();        // Lädt Sensordaten im Background
 
         // StatistikManager für Zyklusphasen-Analyse initialisieren
@@ -164,6 +189,7 @@ public class ZyklusActivity extends AppCompatActivity
         previousMonthButton = findViewById(R.id.btn_month_previous);
         nextMonthButton = findViewById(R.id.btn_month_next);
         calendarView = findViewById(R.id.calendar_view);
+        kalenderNeuzeichnung = new KalenderNeuzeichnung(calendarView);
         // Sensor-UI-Komponenten initialisieren
         temperatureValueText = findViewById(R.id.text_temperature_value);
         pulseValueText = findViewById(R.id.text_pulse_value);
@@ -269,209 +295,113 @@ public class ZyklusActivity extends AppCompatActivity
     }
 
     /**
-     * Lädt alle Menstruationsdaten aus der Room-Datenbank.
-     * Filtert nur echte Periodendaten (keine Prognosen).
-     * WICHTIG: Läuft jetzt im Background Thread!
+     * Registriert Observer auf die echten Periodentage und den Prognosestand.
+     * Room stellt die Abfragen nach jeder Änderung an periode_eintraege bzw.
+     * prognose_stand erneut und liefert das Ergebnis auf dem Main Thread -
+     * Schreibpfade müssen den Kalender-Snapshot daher nicht selbst nachführen.
+     * Der Prognosestand wird von PeriodeDao gespeichert; beim Start genügt eine
+     * Abfrage über den Primärschlüssel, ohne den Verlauf neu zu berechnen.
      */
-    private void loadMenstruationDataFromDatabase() {
-        // Background Thread für Datenbankzugriff
-        new Thread(() -> {
-            try {
-                Log.d("ZyklusActivity", "Lade Menstruationsdaten aus der Datenbank...");
-
-                // Bestehende Liste leeren (auf Background Thread sicher)
-                menstruationDays.clear();
-
-                // Alle echten Periodeneinträge aus der Datenbank abrufen (Background Thread)
-                List<PeriodeEintrag> entries = periodDao.getAlleEchtenPerioden();
-
-                // PeriodeEintrag-Objekte in LocalDate umwandeln und zur Liste hinzufügen
-                for (PeriodeEintrag entry : entries) {
-                    menstruationDays.add(entry.getDatum());
-                }
-
-                Log.d("ZyklusActivity", "Menstruationsdaten geladen: " + menstruationDays.size() + " Einträge");
-
-                // Fruchtbarkeitsberechnungen durchführen (bleibt im Background Thread!)
-                // calculateFertilityData() verwaltet seine eigenen Threads für DB-Operationen
-                calculateFertilityData();
-
-                // NUR Kalender-Update auf UI Thread (OHNE weitere DB-Operationen)
-                runOnUiThread(() -> {
-                    calendarView.notifyCalendarChanged();
-                    Log.d("ZyklusActivity", "Kalender-UI erfolgreich aktualisiert");
-                });
-
-            } catch (Exception e) {
-                Log.e("ZyklusActivity", "Fehler beim Laden der Menstruationsdaten: " + e.getMessage(), e);
-
-                // Fehler-Behandlung auf UI Thread
-                runOnUiThread(() -> {
-                    Toast.makeText(ZyklusActivity.this,
-                            "Fehler beim Laden der Zyklusdaten",
-                            Toast.LENGTH_LONG).show();
-                });
-            }
-        }).start();
+    private void beobachtePeriodendaten() {
+        periodDao.beobachteEchtePeriodenTage().observe(this, this::aktualisierePeriodenTage);
+        periodDao.beobachtePrognoseStand().observe(this, this::aktualisierePrognose);
     }
+
     /**
-     * Berechnet Eisprung, fruchtbare Tage und zukünftige Perioden basierend auf
-     * den vorhandenen Menstruationsdaten.
-     *
-     * WICHTIG: Diese Methode führt Datenbankoperationen aus und muss im Background Thread laufen!
-     * Wird automatisch von loadMenstruationDataFromDatabase() im Background aufgerufen.
-     *
-     * Algorithmus:
-     * 1. Bestehende Prognosedaten löschen
-     * 2. Zykluslänge aus letzten beiden Perioden berechnen
-     * 3. Standardwert 28 Tage verwenden wenn unrealistisch
-     * 4. Eisprung = 14 Tage vor nächster Periode
-     * 5. Fruchtbare Phase = 5 Tage vor Eisprung
-     * 6. Prognose für 3 zukünftige Zyklen
-     */
-    /**
-     * Berechnet Eisprung, fruchtbare Phase und zukünftige Perioden basierend auf
-     * den vorhandenen Menstruationsdaten.
+     * Übernimmt neue Periodentage aus der Datenbank.
+     * Der neue Snapshot entsteht im Hintergrund; im Kalender werden danach nur
+     * die Tage neu gezeichnet, deren Markierung sich geändert hat.
      *
-     * Korrigierte Berechnung:
-     * - Eisprung = 14 Tage vor der NÄCHSTEN prognostizierten Periode
-     * - Fruchtbare Phase = 5 Tage vor bis 2 Tage nach Eisprung (7 Tage total)
-     * - Realistische Zykluslängen (21-35 Tage, Standard 28)
+     * @param tage Alle echten Periodentage, aufsteigend sortiert
      */
-    private void calculateFertilityData() {
-        clearPredictionData();
-
-        List<LocalDate> sortedDays = new ArrayList<>(menstruationDays);
-        Collections.sort(sortedDays);
-
-        if (sortedDays.size() < 2) {
-            runOnUiThread(() -> calendarView.notifyCalendarChanged());
-            return;
-        }
-
-        // Finde den letzten Periodenstart (nicht einzelnen Tag)
-        LocalDate letzterPeriodenstart = findeLetztenPeriodenstart(sortedDays);
-        LocalDate vorletzterPeriodenstart = findeVorletztenPeriodenstart(sortedDays, letzterPeriodenstart);
-
-        if (vorletzterPeriodenstart == null) {
-            runOnUiThread(() -> calendarView.notifyCalendarChanged());
-            return;
-        }
-        // Korrekte Zykluslänge berechnen
-        int zyklusLaenge = (int) ChronoUnit.DAYS.between(vorletzterPeriodenstart, letzterPeriodenstart);
-
-// Validierung und Normalisierung
-        if (zyklusLaenge < 21 || zyklusLaenge > 35) {
-            zyklusLaenge = 28; // Medizinischer Standard
-            Log.w(TAG, "Unrealistische Zykluslänge erkannt (" + zyklusLaenge +
-                    " Tage), verwende Standard: 28 Tage");
-        }
-
-        //  PROGNOSE für die nächsten 3 Zyklen
-        for (int zyklus = 1; zyklus <= 3; zyklus++) {
-            // Nächster Periodenstart
-            LocalDate naechsterPeriodenstart = letzterPeriodenstart.plusDays(zyklus * zyklusLaenge);
-
-            //Eisprung = 14 Tage NACH dem Start jedes Zyklus
-            LocalDate zyklusStart = letzterPeriodenstart.plusDays((zyklus - 1) * zyklusLaenge);
-            LocalDate eisprung = zyklusStart.plusDays(13);
-
-            // Füge Eisprung hinzu
-            ovulationDays.add(eisprung);
-
-            //Fruchtbare Phase = 5 Tage vor bis 2 Tage nach Eisprung
-            for (int tag = -5; tag <= 2; tag++) {
-                LocalDate fruchtbarerTag = eisprung.plusDays(tag);
-                fertileDays.add(fruchtbarerTag);
-            }
-
-            // Prognostizierte Menstruation (5-6 Tage)
-            for (int tag = 0; tag < 6; tag++) {
-                LocalDate menstruationsTag = naechsterPeriodenstart.plusDays(tag);
-                predictedMenstruation.add(menstruationsTag);
+    private void aktualisierePeriodenTage(List<LocalDate> tage) {
+        YearMonth angezeigterMonat = currentMonth;
+
+        imKalenderHintergrund(() -> {
+            KalenderSnapshot alt = kalenderSnapshot.get();
+            KalenderSnapshot neu = alt.mitPeriodenTagen(tage);
+            if (alt.istPeriodenGeladen() && neu.gleichePeriodenTage(alt)) {
+                return;
             }
-        }
 
-// UI aktualisieren
-        runOnUiThread(() -> {
-            calendarView.notifyCalendarChanged();
-            Log.d(TAG, "Fertilitätsdaten korrekt berechnet: " + ovulationDays.size() + " Eisprünge, " + fertileDays.size() + " fruchtbare Tage");
+            veroeffentlicheSnapshot(alt, neu, angezeigterMonat, !alt.istPeriodenGeladen());
+            Log.d("ZyklusActivity", "Periodendaten aktualisiert: " + neu.getAnzahlPeriodenTage() + " Tage");
         });
+
+        // Offenen Perioden-Dialog mitziehen
+        if (periodenTagAdapter != null) {
+            periodenTagAdapter.aktualisieren();
+        }
     }
 
     /**
-     * Findet den letzten Periodenstart (ersten Tag einer zusammenhängenden Periode)
+     * Übernimmt den gespeicherten Prognosestand.
+     * Es wird nur ein neuer PrognoseGenerator erzeugt; die Prognosetage selbst
+     * entstehen erst pro Monat im Tagesstatus des neuen Snapshots.
+     *
+     * @param stand Grundlage der Prognosen oder null (weniger als zwei Zyklen)
      */
-    private LocalDate findeLetztenPeriodenstart(List<LocalDate> sortierteTage) {
-        if (sortierteTage.isEmpty()) return null;
-
-        // Gruppiere zusammenhängende Tage zu Perioden
-        List<List<LocalDate>> perioden = gruppiereZuPerioden(sortierteTage);
-
-        if (perioden.isEmpty()) return null;
-
-        // Letzter Periodenstart = erster Tag der letzten Periode
-        List<LocalDate> letzteperiode = perioden.get(perioden.size() - 1);
-        Collections.sort(letzteperiode);
-        return letzteperiode.get(0);
+    private void aktualisierePrognose(PrognoseStand stand) {
+        PrognoseGenerator neuePrognose = PrognoseGenerator.aus(stand);
+        YearMonth angezeigterMonat = currentMonth;
+
+        imKalenderHintergrund(() -> {
+            KalenderSnapshot alt = kalenderSnapshot.get();
+            if (neuePrognose.gleicheParameter(alt.getPrognose())) {
+                return; // Prognose unverändert, nichts neu zu zeichnen
+            }
+            veroeffentlicheSnapshot(alt, alt.mitPrognose(neuePrognose), angezeigterMonat, false);
+        });
     }
 
     /**
-     * Findet den vorletzten Periodenstart für Zykluslängen-Berechnung
+     * Reiht einen Auftrag auf dem Kalender-Executor ein. Nach onDestroy ist der
+     * Executor beendet; späte LiveData-Rückmeldungen werden dann verworfen.
+     * Aufruf und Beenden laufen beide auf dem Main Thread.
      */
-    private LocalDate findeVorletztenPeriodenstart(List<LocalDate> sortierteTage, LocalDate letzterStart) {
-        List<List<LocalDate>> perioden = gruppiereZuPerioden(sortierteTage);
-
-        if (perioden.size() < 2) return null;
-
-        // Vorletzte Periode
-        List<LocalDate> vorletzteperiode = perioden.get(perioden.size() - 2);
-        Collections.sort(vorletzteperiode);
-        return vorletzteperiode.get(0);
+    private void imKalenderHintergrund(Runnable auftrag) {
+        if (kalenderExecutor.isShutdown()) {
+            return;
+        }
+        kalenderExecutor.execute(auftrag);
     }
 
     /**
-     * Gruppiert einzelne Menstruationstage zu zusammenhängenden Perioden
+     * Veröffentlicht einen fertig aufgebauten Snapshot mit einem einzigen
+     * Referenztausch und zeichnet anschließend die betroffenen Tage neu.
+     * Wird nur auf dem Kalender-Executor aufgerufen.
+     *
+     * Neu gezeichnet werden nur Tage des angezeigten Monats und seiner Nachbarmonate
+     * (Vor- und Folgetage), deren Markierung sich zwischen altem und neuem
+     * Snapshot unterscheidet. Das Hinzufügen eines Periodentags betrifft so nur
+     * eine Handvoll Zellen statt den ganzen Kalender.
+     *
+     * @param angezeigterMonat Beim Auslösen angezeigter Monat
+     * @param ganzerKalender   true beim ersten Laden - alle angezeigten Tage neu zeichnen
      */
-    private List<List<LocalDate>> gruppiereZuPerioden(List<LocalDate> alleTage) {
-        List<List<LocalDate>> perioden = new ArrayList<>();
-        List<LocalDate> aktuelleperiode = new ArrayList<>();
-
-        for (int i = 0; i < alleTage.size(); i++) {
-            LocalDate aktuellerTag = alleTage.get(i);
+    private void veroeffentlicheSnapshot(KalenderSnapshot alt, KalenderSnapshot neu,
+                                         YearMonth angezeigterMonat, boolean ganzerKalender) {
+        List<LocalDate> geaenderteTage = new ArrayList<>();
+        if (!ganzerKalender) {
+            neu.sammleGeaenderteTage(alt, angezeigterMonat.minusMonths(1), geaenderteTage);
+            neu.sammleGeaenderteTage(alt, angezeigterMonat, geaenderteTage);
+            neu.sammleGeaenderteTage(alt, angezeigterMonat.plusMonths(1), geaenderteTage);
+        }
+        kalenderSnapshot.set(neu);
 
-            if (aktuelleperiode.isEmpty()) {
-                // Erste Periode beginnen
-                aktuelleperiode.add(aktuellerTag);
+        runOnUiThread(() -> {
+            if (isDestroyed()) {
+                return;
+            }
+            if (ganzerKalender || !angezeigterMonat.equals(currentMonth)) {
+                // Inzwischen geblättert: der Unterschied wurde für einen anderen Monat berechnet
+                kalenderNeuzeichnung.alles();
             } else {
-                LocalDate letzterTag = Collections.max(aktuelleperiode);
-
-                // Wenn mehr als 2 Tage Abstand, neue Periode beginnen
-                if (ChronoUnit.DAYS.between(letzterTag, aktuellerTag) > 2) {
-                    perioden.add(new ArrayList<>(aktuelleperiode));
-                    aktuelleperiode.clear();
-                    aktuelleperiode.add(aktuellerTag);
-                } else {
-                    aktuelleperiode.add(aktuellerTag);
-                }
+                kalenderNeuzeichnung.tage(geaenderteTage);
             }
-        }
-
-        // Letzte Periode hinzufügen
-        if (!aktuelleperiode.isEmpty()) {
-            perioden.add(aktuelleperiode);
-        }
-
-        return perioden;
-    }
-
-    /**
-     * Löscht alle Prognosedaten aus den lokalen Listen.
-     */
-    private void clearPredictionData() {
-        predictedMenstruation.clear();
-        ovulationDays.clear();
-        fertileDays.clear();
+            // Vorgeladene Monate gehören zum alten Snapshot
+            monatsVorabLader.vorladen(currentMonth);
+        });
     }
 
     /**
@@ -501,77 +431,32 @@ public class ZyklusActivity extends AppCompatActivity
      * Setzt Monatsnavigation und Kalenderanzeige auf.
      */
     private void setupCalendar() {
+        // Farben und Drawables einmalig auflösen statt bei jedem Binden
+        kalenderPalette = new KalenderPalette(this);
+        monatsVorabLader = new MonatsVorabLader(this, kalenderExecutor, kalenderSnapshot);
+
         // DayBinder für die Darstellung einzelner Kalendertage
         calendarView.setDayBinder(new DayBinder<DayViewContainer>() {
             @Override
             public DayViewContainer create(View view) {
-                return new DayViewContainer(view);
+                DayViewContainer container = new DayViewContainer(view);
+                // Ein Click-Handler pro Zelle, der Tag wird beim Binden aktualisiert
+                container.textView.setOnClickListener(v -> waehleTag(container.datum));
+                return container;
             }
 
             @Override
             public void bind(DayViewContainer container, CalendarDay day) {
-                LocalDate heute = LocalDate.now(); // Heutiges Datum
                 LocalDate date = day.getDate();
-                container.textView.setText(String.valueOf(date.getDayOfMonth()));
-                container.dotView.setVisibility(View.GONE); // Standardmäßig versteckt
-
-                // Textfarbe für Tage außerhalb des aktuellen Monats
-                if (day.getOwner() != DayOwner.THIS_MONTH) {
-                    container.textView.setTextColor(Color.parseColor("#CCCCCC"));
-                } else {
-                    container.textView.setTextColor(Color.BLACK);
-                }
-
-                Context context = container.textView.getContext();
+                container.datum = date;
 
                 // Prioritätsreihenfolge: Echte Menstruation > Prognose > Eisprung > Fruchtbare Tage
-                if (menstruationDays.contains(date)) {
-                    container.dotView.setVisibility(View.VISIBLE);
-                    container.dotView.setBackground(ContextCompat.getDrawable(context, R.drawable.dot_menstruation));
-                } else if (predictedMenstruation.contains(date)) {
-                    container.dotView.setVisibility(View.VISIBLE);
-                    container.dotView.setBackground(ContextCompat.getDrawable(context, R.drawable.dot_predicted_period));
-                } else if (ovulationDays.contains(date)) {
-                    container.dotView.setVisibility(View.VISIBLE);
-                    container.dotView.setBackground(ContextCompat.getDrawable(context, R.drawable.triangle_ovulation));
-                } else if (fertileDays.contains(date)) {
-                    container.dotView.setVisibility(View.VISIBLE);
-                    container.dotView.setBackground(ContextCompat.getDrawable(context, R.drawable.dot_fertile));
-                }
-
-                // Hervorhebung des ausgewählten Tages
-                // Hervorhebung: Priorität - ausgewählt > heute > normal
-                if (date.equals(selectedDate)) {
-                    // Ausgewählter Tag hat höchste Priorität
-                    container.textView.setBackgroundResource(R.drawable.selected_day_background);
-                    container.textView.setTextColor(Color.WHITE);
-                } else if (date.equals(heute)) {
-                    // Heutiger Tag wird hervorgehoben
-                    container.textView.setBackgroundResource(R.drawable.bg_today);
-                    container.textView.setTextColor(Color.BLACK);
-                } else {
-                    // Normaler Tag
-                    container.textView.setBackground(null);
-                    // Textfarbe für Tage des aktuellen Monats wiederherstellen
-                    if (day.getOwner() == DayOwner.THIS_MONTH) {
-                        container.textView.setTextColor(Color.BLACK);
-                    }
-                }
-
-                // Click-Handler für Tagesauswahl
-                container.textView.setOnClickListener(v -> {
-                    // Toggle-Logik: bei erneutem Klick auf denselben Tag → Auswahl zurücksetzen
-                    if (date.equals(selectedDate)) {
-                        selectedDate = null; // Auswahl zurücksetzen
-                    } else {
-                        selectedDate = date; // Neuen Tag auswählen
-                    }
-
-                    calendarView.notifyCalendarChanged();
-
-                    // Info-Karte aktualisieren
-                    ladeAktuelleZyklusphase();
-                });
+                // ist bereits im Tagesstatus aufgelöst - pro Zelle ein einziger Array-Zugriff
+                byte markierung = kalenderSnapshot.get().getTagesStatus().getMarkierung(date);
+                container.zeige(kalenderPalette, date.getDayOfMonth(), markierung,
+                        day.getOwner() == DayOwner.THIS_MONTH,
+                        date.equals(selectedDate),
+                        date.equals(getHeuteFuerFrame()));
             }
         });
 
@@ -579,6 +464,7 @@ public class ZyklusActivity extends AppCompatActivity
         calendarView.setup(currentMonth, currentMonth, DayOfWeek.MONDAY);
         calendarView.scrollToMonth(currentMonth);
         updateMonthTitle(currentMonth);
+        monatsVorabLader.vorladen(currentMonth);
 
         // Initialer Monatstitel
         CalendarMonth initialMonth = calendarView.findFirstVisibleMonth();
@@ -592,6 +478,8 @@ public class ZyklusActivity extends AppCompatActivity
         calendarView.setMonthScrollListener(calendarMonth -> {
             currentMonth = calendarMonth.getYearMonth();
             updateMonthTitle(currentMonth);
+            // Nachbarmonate im Hintergrund vorab berechnen, damit das Blättern keine Rechenarbeit auslöst
+            monatsVorabLader.vorladen(currentMonth);
             return Unit.INSTANCE;
         });
 
@@ -600,15 +488,49 @@ public class ZyklusActivity extends AppCompatActivity
             currentMonth = currentMonth.minusMonths(1);
             calendarView.setup(currentMonth, currentMonth, DayOfWeek.MONDAY);
             updateMonthTitle(currentMonth);
+            monatsVorabLader.vorladen(currentMonth);
         });
 
         nextMonthButton.setOnClickListener(v -> {
             currentMonth = currentMonth.plusMonths(1);
             calendarView.setup(currentMonth, currentMonth, DayOfWeek.MONDAY);
             updateMonthTitle(currentMonth);
+            monatsVorabLader.vorladen(currentMonth);
         });
     }
 
+    /**
+     * Wählt einen Kalendertag aus bzw. hebt die Auswahl bei erneutem Klick auf.
+     */
+    private void waehleTag(LocalDate date) {
+        // Toggle-Logik: bei erneutem Klick auf denselben Tag → Auswahl zurücksetzen
+        LocalDate vorherAusgewaehlt = selectedDate;
+        if (date.equals(selectedDate)) {
+            selectedDate = null; // Auswahl zurücksetzen
+        } else {
+            selectedDate = date; // Neuen Tag auswählen
+        }
+
+        // Nur alte und neue Auswahl neu zeichnen
+        kalenderNeuzeichnung.tag(vorherAusgewaehlt);
+        kalenderNeuzeichnung.tag(date);
+
+        // Info-Karte aktualisieren
+        ladeAktuelleZyklusphase();
+    }
+
+    /**
+     * Heutiges Datum, einmal pro Frame ermittelt. Alle Zellen eines Frames
+     * teilen sich denselben Wert, ab dem nächsten Frame wird neu gelesen.
+     */
+    private LocalDate getHeuteFuerFrame() {
+        if (heuteFuerFrame == null) {
+            heuteFuerFrame = LocalDate.now();
+            calendarView.postOnAnimation(heuteZuruecksetzen);
+        }
+        return heuteFuerFrame;
+    }
+
     /**
      * Konfiguriert die Click-Handler für die Sensor-Bereiche im Tagesbericht.
      * Öffnet jeweils die entsprechende SensorDetailActivity mit dem spezifischen Sensor-Typ.
@@ -708,11 +630,14 @@ public class ZyklusActivity extends AppCompatActivity
                     .create();
 
             Button selectNewDatesButton = dialogView.findViewById(R.id.btn_select_new_dates);
-            LinearLayout oldDatesLayout = dialogView.findViewById(R.id.layout_old_dates);
+            RecyclerView oldDatesList = dialogView.findViewById(R.id.recycler_existing_dates);
             Button finishButton = dialogView.findViewById(R.id.btn_dialog_finish);
 
-            // Bestehende Datumsangaben laden
-            refreshOldDates(oldDatesLayout, dialog);
+            // Bestehende Datumsangaben seitenweise laden und für Observer-Updates merken
+            periodenTagAdapter = new PeriodenTagAdapter(periodDao, database.getQueryExecutor(),
+                    this::loescheMenstruationsTag);
+            periodenTagAdapter.anbinden(oldDatesList);
+            dialog.setOnDismissListener(d -> periodenTagAdapter = null);
 
             // Neue Periode hinzufügen
             selectNewDatesButton.setOnClickListener(v2 -> {
@@ -724,7 +649,7 @@ public class ZyklusActivity extends AppCompatActivity
 
                 picker.addOnPositiveButtonClickListener(selection -> {
                     if (selection != null) {
-                        handleDateRangeSelection(selection, oldDatesLayout, dialog);
+                        handleDateRangeSelection(selection);
                     }
                 });
             });
@@ -738,10 +663,8 @@ public class ZyklusActivity extends AppCompatActivity
      * Verarbeitet die Auswahl eines Datumsbereichs aus dem Material DatePicker.
      *
      * @param selection Das ausgewählte Datumspaar (Start, Ende)
-     * @param oldDatesLayout Layout für die Aktualisierung der Anzeige
-     * @param dialog Der Dialog für die Aktualisierung
      */
-    private void handleDateRangeSelection(Pair<Long, Long> selection, LinearLayout oldDatesLayout, AlertDialog dialog) {
+    private void handleDateRangeSelection(Pair<Long, Long> selection) {
         Long startMillis = selection.first;
         Long endMillis = selection.second;
 
@@ -754,41 +677,25 @@ public class ZyklusActivity extends AppCompatActivity
                     .toLocalDate();
 
             // Neue Tage sammeln (nur noch nicht vorhandene)
+            KalenderSnapshot snapshot = kalenderSnapshot.get();
             List<LocalDate> newDays = new ArrayList<>();
             LocalDate current = startDate;
             while (!current.isAfter(endDate)) {
-                if (!menstruationDays.contains(current)) {
+                if (!snapshot.istPeriodenTag(current)) {
                     newDays.add(current);
                 }
                 current = current.plusDays(1);
             }
 
-            // Zur lokalen Liste hinzufügen
-            menstruationDays.addAll(newDays);
-
-            // In Datenbank speichern
+            // In Datenbank speichern - Kalender und Dialog-Liste
+            // aktualisiert anschließend der Observer
             saveMenstruationDaysToDatabase(newDays);
-
-            // Prognosen neu berechnen
-            clearPredictionData();
-            calculateFertilityData();
-
-            // Kalender aktualisieren
-            calendarView.notifyCalendarChanged();
-
-            // Dialog-Liste aktualisieren
-            refreshOldDates(oldDatesLayout, dialog);
         }
     }
 
     /**
      * Speichert neue Menstruationstage in der Room-Datenbank.
-     *
-     * @param newDays Liste der neuen Menstruationstage
-     */
-    /**
-     * Speichert neue Menstruationstage in der Room-Datenbank.
-     * VERBESSERT: Läuft jetzt im Background Thread
+     * Der Schreibvorgang läuft über die Schreib-Warteschlange der Datenbank.
      *
      * @param newDays Liste der neuen Menstruationstage
      */
@@ -800,117 +707,63 @@ public class ZyklusActivity extends AppCompatActivity
 
         Log.d("ZyklusActivity", "Speichere " + newDays.size() + " neue Menstruationstage...");
 
-        // Background-Thread für Datenbankoperationen
-        new Thread(() -> {
-            try {
-                // PeriodeEintrag-Objekte für neue Daten erstellen
-                List<PeriodeEintrag> newEntries = new ArrayList<>();
-                for (LocalDate date : newDays) {
-                    PeriodeEintrag entry = new PeriodeEintrag(date, false); // false = echte Menstruation
-                    newEntries.add(entry);
-                }
-
-                // In der Datenbank speichern
-                periodDao.einfuegenMehrerePerioden(newEntries);
-
-                Log.i("ZyklusActivity", "Menstruationstage erfolgreich gespeichert");
+        // PeriodeEintrag-Objekte für neue Daten erstellen
+        List<PeriodeEintrag> newEntries = new ArrayList<>();
+        for (LocalDate date : newDays) {
+            newEntries.add(new PeriodeEintrag(date));
+        }
 
-                // UI über Erfolg benachrichtigen
-                runOnUiThread(() -> {
-                    Toast.makeText(ZyklusActivity.this,
-                            newDays.size() + " Periodentage hinzugefügt",
-                            Toast.LENGTH_SHORT).show();
-                });
+        database.schreibWarteschlange().einreihen(
+                () -> periodDao.einfuegenEchtePeriodenTage(newEntries),
+                true, // Periodendaten
+                new SchreibWarteschlange.Rueckmeldung() {
+                    @Override
+                    public void onErfolg() {
+                        Log.i("ZyklusActivity", "Menstruationstage erfolgreich gespeichert");
+                        Toast.makeText(ZyklusActivity.this,
+                                newDays.size() + " Periodentage hinzugefügt",
+                                Toast.LENGTH_SHORT).show();
+                    }
 
-            } catch (Exception e) {
-                Log.e("ZyklusActivity", "Fehler beim Speichern der Menstruationstage", e);
-                runOnUiThread(() -> {
-                    Toast.makeText(ZyklusActivity.this,
-                            "Fehler beim Speichern: " + e.getMessage(),
-                            Toast.LENGTH_LONG).show();
+                    @Override
+                    public void onFehler(Exception fehler) {
+                        Log.e("ZyklusActivity", "Fehler beim Speichern der Menstruationstage", fehler);
+                        Toast.makeText(ZyklusActivity.this,
+                                "Fehler beim Speichern: " + fehler.getMessage(),
+                                Toast.LENGTH_LONG).show();
+                    }
                 });
-            }
-        }).start();
     }
 
     /**
-     * Aktualisiert die Anzeige der bestehenden Menstruationstage im Dialog.
-     * Erstellt für jeden Tag eine Zeile mit Löschbutton.
+     * Löscht einen Menstruationstag aus der Datenbank.
+     * Kalender und Dialog-Liste aktualisiert anschließend der Observer.
      *
-     * @param layout Das Layout-Container für die Datumsanzeige
-     * @param dialog Der Dialog für Kalender-Updates
+     * @param date Der zu löschende Tag
      */
-    private void refreshOldDates(LinearLayout layout, AlertDialog dialog) {
-        layout.removeAllViews();
-
-        // Liste kopieren und sortieren (neueste zuerst)
-        List<LocalDate> sortedDates = new ArrayList<>(menstruationDays);
-        sortedDates.sort((a, b) -> b.compareTo(a));
-
-        for (LocalDate date : sortedDates) {
-            LinearLayout row = new LinearLayout(this);
-            row.setOrientation(LinearLayout.HORIZONTAL);
-
-            // Datum anzeigen
-            TextView dateText = new TextView(this);
-            dateText.setText(date.toString());
-            row.addView(dateText);
-
-            // Lösch-Icon
-            ImageView deleteIcon = new ImageView(this);
-            deleteIcon.setImageResource(android.R.drawable.ic_menu_delete);
-            deleteIcon.setPadding(16, 0, 0, 0);
-            deleteIcon.setOnClickListener(v -> {
-                Log.d("ZyklusActivity", "Lösche Menstruationsdatum: " + date);
-
-                // Sofort aus lokaler Liste entfernen (UI-responsiv)
-                menstruationDays.remove(date);
-
-                // Background Thread für Datenbankoperation
-                new Thread(() -> {
-                    try {
-                        // Aus Datenbank löschen (Background Thread!)
-                        periodDao.loeschenPeriodeNachDatum(date);
+    private void loescheMenstruationsTag(LocalDate date) {
+        Log.d("ZyklusActivity", "Lösche Menstruationsdatum: " + date);
 
+        database.schreibWarteschlange().einreihen(
+                () -> periodDao.loeschenEchtenPeriodenTag(date),
+                true, // Periodendaten
+                new SchreibWarteschlange.Rueckmeldung() {
+                    @Override
+                    public void onErfolg() {
                         Log.d("ZyklusActivity", "Datum erfolgreich aus DB gelöscht: " + date);
-
-                        // UI-Updates auf Main Thread
-                        runOnUiThread(() -> {
-                            // Kalender aktualisieren
-                            calendarView.notifyCalendarChanged();
-
-                            // Dialog-Liste aktualisieren
-                            refreshOldDates(layout, dialog);
-
-                            // Benutzer-Feedback
-                            Toast.makeText(ZyklusActivity.this,
-                                    "Datum gelöscht: " + date,
-                                    Toast.LENGTH_SHORT).show();
-                        });
-
-                    } catch (Exception e) {
-                        Log.e("ZyklusActivity", "Fehler beim Löschen des Datums: " + e.getMessage(), e);
-
-                        // Fehler-Behandlung
-                        runOnUiThread(() -> {
-                            // Datum wieder zur lokalen Liste hinzufügen bei Fehler
-                            menstruationDays.add(date);
-
-                            // Benutzer über Fehler informieren
-                            Toast.makeText(ZyklusActivity.this,
-                                    "Fehler beim Löschen: " + e.getMessage(),
-                                    Toast.LENGTH_LONG).show();
-
-                            // Dialog aktualisieren
-                            refreshOldDates(layout, dialog);
-                        });
+                        Toast.makeText(ZyklusActivity.this,
+                                "Datum gelöscht: " + date,
+                                Toast.LENGTH_SHORT).show();
                     }
-                }).start();
-            });
-            row.addView(deleteIcon);
 
-            layout.addView(row);
-        }
+                    @Override
+                    public void onFehler(Exception fehler) {
+                        Log.e("ZyklusActivity", "Fehler beim Löschen des Datums: " + fehler.getMessage(), fehler);
+                        Toast.makeText(ZyklusActivity.this,
+                                "Fehler beim Löschen: " + fehler.getMessage(),
+                                Toast.LENGTH_LONG).show();
+                    }
+                });
     }
 
     /**
@@ -972,6 +825,9 @@ public class ZyklusActivity extends AppCompatActivity
         if (sensorManager != null) {
             sensorManager.stoppeMessung();
         }
+        // Keine neuen Aufträge mehr annehmen; ein laufender Auftrag (z.B. eine Room-Abfrage)
+        // wird nicht unterbrochen, sein Ergebnis verwirft veroeffentlicheSnapshot
+        kalenderExecutor.shutdown();
     }
 
     /**
@@ -1085,15 +941,83 @@ public class ZyklusActivity extends AppCompatActivity
     /**
      * ViewContainer-Klasse für die Darstellung einzelner Kalendertage.
      * Enthält Referenzen auf TextView (Tagesnummer) und View (Markierungspunkt).
+     *
+     * Der zuletzt angezeigte Zustand wird gepackt gemerkt; ein erneutes Binden
+     * mit unverändertem Zustand ändert an den Views nichts. Drawables werden pro
+     * Zelle beim ersten Bedarf aus der KalenderPalette erzeugt und wiederverwendet.
      */
     public static class DayViewContainer extends ViewContainer {
+        // Bit-Belegung des Zustands: 0-2 Markierung, 3 aktueller Monat, 4 ausgewählt, 5 heute, 8-12 Tageszahl
+        private static final int AKTUELLER_MONAT = 1 << 3;
+        private static final int AUSGEWAEHLT = 1 << 4;
+        private static final int HEUTE = 1 << 5;
+        private static final int TAGESZAHL_VERSATZ = 8;
+
         public final TextView textView;
         public final View dotView;
+
+        // Zuletzt gebundener Tag (für den Click-Handler)
+        LocalDate datum;
+
+        private int letzterZustand = -1;
+        private final Drawable[] markierungen = new Drawable[KalenderTagesStatus.MENSTRUATION + 1];
+        private Drawable auswahlHintergrund;
+        private Drawable heuteHintergrund;
+
         public DayViewContainer(View view) {
             super(view);
             textView = view.findViewById(R.id.text_calendar_day);
             dotView = view.findViewById(R.id.view_day_marker);
         }
+
+        /**
+         * Zeigt einen Tag an. Änderungen an den Views nur, wenn sich der Zustand
+         * gegenüber dem letzten Binden unterscheidet.
+         */
+        void zeige(KalenderPalette palette, int tagImMonat, byte markierung,
+                   boolean aktuellerMonat, boolean ausgewaehlt, boolean heute) {
+            int zustand = markierung
+                    | (aktuellerMonat ? AKTUELLER_MONAT : 0)
+                    | (ausgewaehlt ? AUSGEWAEHLT : 0)
+                    | (heute ? HEUTE : 0)
+                    | tagImMonat << TAGESZAHL_VERSATZ;
+            if (zustand == letzterZustand) {
+                return;
+            }
+            letzterZustand = zustand;
+
+            textView.setText(KalenderPalette.getTageszahl(tagImMonat));
+
+            // Markierungspunkt
+            if (markierung == KalenderTagesStatus.KEINE) {
+                dotView.setVisibility(View.GONE);
+            } else {
+                if (markierungen[markierung] == null) {
+                    markierungen[markierung] = palette.neueMarkierung(markierung);
+                }
+                dotView.setBackground(markierungen[markierung]);
+                dotView.setVisibility(View.VISIBLE);
+            }
+
+            // Hervorhebung: Priorität - ausgewählt > heute > normal
+            if (ausgewaehlt) {
+                if (auswahlHintergrund == null) {
+                    auswahlHintergrund = palette.neuerAuswahlHintergrund();
+                }
+                textView.setBackground(auswahlHintergrund);
+                textView.setTextColor(palette.textFarbeAusgewaehlt);
+            } else if (heute) {
+                if (heuteHintergrund == null) {
+                    heuteHintergrund = palette.neuerHeuteHintergrund();
+                }
+                textView.setBackground(heuteHintergrund);
+                textView.setTextColor(palette.textFarbe);
+            } else {
+                textView.setBackground(null);
+                // Tage außerhalb des aktuellen Monats ausgegraut
+                textView.setTextColor(aktuellerMonat ? palette.textFarbe : palette.textFarbeAndererMonat);
+            }
+        }
     }
 
     /**
@@ -1213,6 +1137,13 @@ public class ZyklusActivity extends AppCompatActivity
         // Wenn ein Tag ausgewählt ist → zeige den, sonst zeige heute
         LocalDate zielDatum = (selectedDate != null) ? selectedDate : LocalDate.now();
 
+        // Tage aus vorgeladenen Monaten direkt anzeigen
+        AnalyseErgebnis vorgeladen = monatsVorabLader.getPhasenAnalyse(zielDatum);
+        if (vorgeladen != null) {
+            aktualisiereZyklusphaseUI(vorgeladen);
+            return;
+        }
+
         statistikManager.analysiereZyklusphaseFürDatum(zielDatum,
                 new StatistikManager.ZyklusPhasenCallback() {
                     @Override
@@ -1322,35 +1253,4 @@ public class ZyklusActivity extends AppCompatActivity
             Toast.makeText(this, bewertung, Toast.LENGTH_LONG).show();
         }
     }
-    /**
-     * Berechnet die durchschnittliche Periodenlänge aus echten Daten
-     */
-    private int berechneDurchschnittlichePeriodenlänge(List<LocalDate> sortedDays) {
-        if (sortedDays.size() < 4) return 4; // Mindestens 4 Tage als Fallback
-
-        // Finde zusammenhängende Periodengruppen
-        List<Integer> periodenlängen = new ArrayList<>();
-        int aktuelleLength = 1;
-
-        for (int i = 1; i < sortedDays.size(); i++) {
-            long tageZwischen = ChronoUnit.DAYS.between(sortedDays.get(i-1), sortedDays.get(i));
-
-            if (tageZwischen == 1) {
-                // Aufeinanderfolgender Tag
-                aktuelleLength++;
-            } else {
-                // Lücke gefunden - Periode beendet
-                periodenlängen.add(aktuelleLength);
-                aktuelleLength = 1;
-            }
-        }
-        // Letzte Periode hinzufügen
-        periodenlängen.add(aktuelleLength);
-
-        // Durchschnitt berechnen
-        if (periodenlängen.isEmpty()) return 4;
-
-        double durchschnitt = periodenlängen.stream().mapToInt(Integer::intValue).average().orElse(4.0);
-        return Math.max(3, Math.min(7, (int) Math.round(durchschnitt))); // Zwischen 3-7 Tagen
-    }
-}
\ No newline at end of file
+}
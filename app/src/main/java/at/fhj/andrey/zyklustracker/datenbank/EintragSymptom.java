@@ -0,0 +1,13 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+/**
+ * Hilfsklasse: Symptombezeichnung mit zugehöriger Eintrags-ID.
+ * Wird verwendet, um die Symptome mehrerer Einträge mit einer Abfrage zu laden.
+ */
+public class EintragSymptom {
+    public int eintragId;
+    public String name;
+
+
+    public EintragSymptom() {}
+}
@@ -0,0 +1,100 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import java.time.LocalDate;
+
+/**
+ * EisprungErkennung - Zustand der Temperatur-Eisprungerkennung für einen Zyklus
+ *
+ * Eine Zeile pro Zyklus in der Tabelle "eisprung_erkennung", Schlüssel ist der
+ * Periodenbeginn. Der Zustand hat feste Größe (die letzten Tageswerte in einem
+ * kleinen Puffer), neue Messungen werden daher in O(1) verarbeitet, ohne den
+ * Verlauf erneut zu lesen. Die Auswertung selbst macht TemperaturSprungDetektor.
+ *
+ * Felder:
+ * - zyklusStart: Periodenbeginn des Zyklus
+ * - letzterTag: Tag der zuletzt verarbeiteten Messung
+ * - puffer: Letzte Tageswerte (Temperatur in 1/100 °C und Zyklustag, gepackt)
+ * - anzahlWerte: Belegte Plätze im Puffer
+ * - eisprungDatum: Erkannter Eisprung (letzter Tieflage-Tag) oder null
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+@Entity(tableName = "eisprung_erkennung")
+public class EisprungErkennung {
+
+    @PrimaryKey
+    @NonNull
+    private LocalDate zyklusStart;
+
+    @Nullable
+    private LocalDate letzterTag;
+
+    @Nullable
+    private byte[] puffer;
+
+    private int anzahlWerte;
+
+    @Nullable
+    private LocalDate eisprungDatum;
+
+    public EisprungErkennung(@NonNull LocalDate zyklusStart) {
+        this.zyklusStart = zyklusStart;
+    }
+
+    @NonNull
+    public LocalDate getZyklusStart() {
+        return zyklusStart;
+    }
+
+    public void setZyklusStart(@NonNull LocalDate zyklusStart) {
+        this.zyklusStart = zyklusStart;
+    }
+
+    @Nullable
+    public LocalDate getLetzterTag() {
+        return letzterTag;
+    }
+
+    public void setLetzterTag(@Nullable LocalDate letzterTag) {
+        this.letzterTag = letzterTag;
+    }
+
+    @Nullable
+    public byte[] getPuffer() {
+        return puffer;
+    }
+
+    public void setPuffer(@Nullable byte[] puffer) {
+        this.puffer = puffer;
+    }
+
+    public int getAnzahlWerte() {
+        return anzahlWerte;
+    }
+
+    public void setAnzahlWerte(int anzahlWerte) {
+        this.anzahlWerte = anzahlWerte;
+    }
+
+    @Nullable
+    public LocalDate getEisprungDatum() {
+        return eisprungDatum;
+    }
+
+    public void setEisprungDatum(@Nullable LocalDate eisprungDatum) {
+        this.eisprungDatum = eisprungDatum;
+    }
+
+    @Override
+    public String toString() {
+        return "EisprungErkennung{zyklusStart=" + zyklusStart + ", letzterTag=" + letzterTag +
+                ", anzahlWerte=" + anzahlWerte + ", eisprungDatum=" + eisprungDatum + "}";
+    }
+}
@@ -1,17 +1,30 @@
 package at.fhj.andrey.zyklustracker.datenbank;
 
+import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Delete;
 import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
+import at.fhj.andrey.zyklustracker.zyklusanalyse.TemperaturSprungDetektor;
+
 /**
  * DAO = Data Access Object (Datenzugriffsobjekt)
  * Dieses Interface definiert alle Operationen mit der Tabelle periode_eintraege.
  * Room erstellt automatisch die Implementierung dieser Methoden.
+ *
+ * Zusätzlich führt es die abgeleiteten Tabellen zyklen, zyklus_statistik und
+ * eisprung_erkennung nach:
+ * Echte Periodentage werden über einfuegenEchtePeriodenTage / loeschenEchtenPeriodenTag
+ * geschrieben, die nur die Zyklen rund um die geänderten Tage neu gruppieren.
+ * In derselben Transaktion wird die Grundlage der Prognosen (prognose_stand)
+ * nachgeführt; die Prognosen selbst berechnet der Kalender daraus.
  */
 @Dao
 public interface PeriodeDao {
@@ -20,15 +33,43 @@ public interface PeriodeDao {
      * Alle echten Perioden (keine Prognosen) abrufen.
      * Sortierung nach Datum - neueste zuerst.
      */
-    @Query("SELECT * FROM periode_eintraege WHERE istPrognose = 0 ORDER BY datum DESC")
+    @Query("SELECT * FROM periode_eintraege ORDER BY datum DESC")
     List<PeriodeEintrag> getAlleEchtenPerioden();
 
     /**
-     * Alle prognostizierten Perioden abrufen.
-     * Sortierung nach Datum - älteste zuerst.
+     * Beobachtbare Variante: Tage aller echten Perioden, älteste zuerst.
+     * Room stellt die Abfrage über den InvalidationTracker erneut, sobald
+     * sich periode_eintraege ändert, und liefert das Ergebnis auf dem Main Thread.
+     */
+    @Query("SELECT datum FROM periode_eintraege ORDER BY datum ASC")
+    LiveData<List<LocalDate>> beobachteEchtePeriodenTage();
+
+    /**
+     * Erste Seite der echten Periodentage für den Verlauf (neueste zuerst).
+     */
+    @Query("SELECT datum FROM periode_eintraege ORDER BY datum DESC LIMIT :anzahl")
+    List<LocalDate> getNeuesteEchtePeriodenTage(int anzahl);
+
+    /**
+     * Folgeseite der echten Periodentage (Keyset-Paginierung über datum).
+     * Liest über den Index auf datum nur die angeforderten Zeilen,
+     * unabhängig davon, wie weit zurück im Verlauf geblättert wird.
+     */
+    @Query("SELECT datum FROM periode_eintraege WHERE datum < :vorDatum " +
+            "ORDER BY datum DESC LIMIT :anzahl")
+    List<LocalDate> getEchtePeriodenTageVor(LocalDate vorDatum, int anzahl);
+
+    /**
+     * Lädt eine Seite des Periodenverlaufs.
+     *
+     * @param vorDatum Letzter Tag der vorherigen Seite oder null für die erste Seite
+     * @param anzahl Seitengröße
      */
-    @Query("SELECT * FROM periode_eintraege WHERE istPrognose = 1 ORDER BY datum ASC")
-    List<PeriodeEintrag> getAllePrognostizierten();
+    default List<LocalDate> ladeEchtePeriodenTageSeite(LocalDate vorDatum, int anzahl) {
+        return vorDatum == null
+                ? getNeuesteEchtePeriodenTage(anzahl)
+                : getEchtePeriodenTageVor(vorDatum, anzahl);
+    }
 
     /**
      * Periode anhand eines bestimmten Datums finden.
@@ -44,14 +85,16 @@ public interface PeriodeDao {
 
     /**
      * Einen neuen Periodeneintrag hinzufügen.
+     * Bereits vorhandene Tage werden ignoriert (eindeutiger Index pro Tag).
      */
-    @Insert
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
     void einfuegenPeriode(PeriodeEintrag periode);
 
     /**
      * Mehrere Periodeneinträge gleichzeitig hinzufügen.
+     * Bereits vorhandene Tage werden ignoriert (eindeutiger Index pro Tag).
      */
-    @Insert
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
     void einfuegenMehrerePerioden(List<PeriodeEintrag> perioden);
 
     /**
@@ -67,15 +110,235 @@ public interface PeriodeDao {
     void loeschenPeriode(PeriodeEintrag periode);
 
     /**
-     * Periode anhand des Datums löschen.
+     * Echten Periodentag anhand des Datums löschen.
      */
     @Query("DELETE FROM periode_eintraege WHERE datum = :datum")
     void loeschenPeriodeNachDatum(LocalDate datum);
 
+    // ===== ECHTE PERIODENTAGE MIT ZYKLEN-PFLEGE =====
+
+    /**
+     * Echte Periodentage einfügen und die betroffenen Zyklen nachführen.
+     *
+     * @param tage Neue Einträge
+     */
+    @Transaction
+    default void einfuegenEchtePeriodenTage(List<PeriodeEintrag> tage) {
+        if (tage.isEmpty()) {
+            return;
+        }
+        einfuegenMehrerePerioden(tage);
+
+        LocalDate erster = tage.get(0).getDatum();
+        LocalDate letzter = erster;
+        for (PeriodeEintrag tag : tage) {
+            if (tag.getDatum().isBefore(erster)) erster = tag.getDatum();
+            if (tag.getDatum().isAfter(letzter)) letzter = tag.getDatum();
+        }
+        aktualisiereZyklenZwischen(erster, letzter);
+        aktualisierePrognosen();
+    }
+
+    /**
+     * Echten Periodentag löschen und die betroffenen Zyklen nachführen.
+     */
+    @Transaction
+    default void loeschenEchtenPeriodenTag(LocalDate datum) {
+        loeschenPeriodeNachDatum(datum);
+        aktualisiereZyklenZwischen(datum, datum);
+        aktualisierePrognosen();
+    }
+
+    /**
+     * Gruppiert die Zyklen rund um einen geänderten Zeitraum neu.
+     *
+     * Das Fenster wird um MAX_TAGESABSTAND erweitert und auf alle Zyklen
+     * ausgedehnt, die es berühren. Nur diese Zyklen werden gelöscht, aus den
+     * Periodentagen des Fensters neu gebildet und eingefügt. Anschließend wird
+     * die Zykluslänge des Vorgängers und der neuen Zyklen gesetzt und die
+     * laufende Statistik um genau diese Längen korrigiert. Die Eisprungerkennung
+     * dieser Zyklen wird in derselben Transaktion neu aufgebaut.
+     */
+    @Transaction
+    default void aktualisiereZyklenZwischen(LocalDate erster, LocalDate letzter) {
+        LocalDate von = erster.minusDays(ZyklusEintrag.MAX_TAGESABSTAND);
+        LocalDate bis = letzter.plusDays(ZyklusEintrag.MAX_TAGESABSTAND);
+
+        List<ZyklusEintrag> alteZyklen = getZyklenImBereich(von, bis);
+        for (ZyklusEintrag zyklus : alteZyklen) {
+            if (zyklus.getStartDatum().isBefore(von)) von = zyklus.getStartDatum();
+            if (zyklus.getEndDatum().isAfter(bis)) bis = zyklus.getEndDatum();
+        }
+
+        LocalDate vorgaenger = getZyklusStartVor(von);
+        Integer alteVorgaengerLaenge = vorgaenger != null ? getZyklusLaenge(vorgaenger) : null;
+
+        loeschenZyklenZwischen(von, bis);
+        einfuegenZyklen(ZyklusEintrag.ausPeriodenTagen(getEchtePeriodenTageZwischen(von, bis)));
+
+        LocalDate ab = vorgaenger != null ? vorgaenger : von;
+        aktualisiereZyklusLaengenZwischen(ab, bis);
+
+        // Laufende Statistik: alte Längen entfernen, neue hinzufügen
+        List<Integer> alteLaengen = new ArrayList<>();
+        alteLaengen.add(alteVorgaengerLaenge);
+        for (ZyklusEintrag zyklus : alteZyklen) {
+            alteLaengen.add(zyklus.getZyklusLaenge());
+        }
+        ZyklusStatistik statistik = getZyklusStatistik();
+        if (statistik == null) {
+            statistik = new ZyklusStatistik();
+        }
+        if (statistik.ersetzen(alteLaengen, getZyklusLaengenZwischen(ab, bis))) {
+            statistik.setMinimum(getKleinsteGueltigeZyklusLaenge(
+                    ZyklusStatistik.GUELTIG_MIN, ZyklusStatistik.GUELTIG_MAX));
+            statistik.setMaximum(getGroessteGueltigeZyklusLaenge(
+                    ZyklusStatistik.GUELTIG_MIN, ZyklusStatistik.GUELTIG_MAX));
+        }
+        speichereZyklusStatistik(statistik);
+
+        aktualisiereEisprungErkennungZwischen(ab, bis);
+    }
+
+    /**
+     * Baut den Zustand der Eisprungerkennung für alle Zyklen, die im Zeitraum
+     * beginnen, neu auf.
+     *
+     * Nach einer Neugruppierung passen Schlüssel (Periodenbeginn) und Grenzen der
+     * gespeicherten Zustände nicht mehr. Sie werden gelöscht und aus den
+     * gespeicherten Tagestemperaturen des jeweiligen Zyklus neu berechnet.
+     */
+    @Transaction
+    default void aktualisiereEisprungErkennungZwischen(LocalDate von, LocalDate bis) {
+        loeschenEisprungErkennungZwischen(von, bis);
+
+        for (ZyklusEintrag zyklus : getZyklenZwischen(von, bis)) {
+            LocalDate ende = zyklus.getZyklusLaenge() != null
+                    ? zyklus.getStartDatum().plusDays(zyklus.getZyklusLaenge() - 1)
+                    : LocalDate.MAX;
+
+            EisprungErkennung zustand = new EisprungErkennung(zyklus.getStartDatum());
+            for (VitalWert wert : getTemperaturWerteZwischen(zyklus.getStartDatum(), ende)) {
+                if (TemperaturSprungDetektor.verarbeite(zustand, wert.getDatum(), wert.getWert())) {
+                    break; // Weitere Messungen ändern den erkannten Zustand nicht
+                }
+            }
+            if (zustand.getAnzahlWerte() > 0) {
+                speichereEisprungErkennung(zustand);
+            }
+        }
+    }
+
+    /**
+     * Schreibt den Prognosestand neu, falls sich die Grundlage der Prognosen
+     * (letzter Periodenbeginn, Länge des vorletzten Zyklus) geändert hat.
+     * Änderungen an älteren Zyklen lösen keinen Schreibvorgang aus.
+     */
+    @Transaction
+    default void aktualisierePrognosen() {
+        PrognoseStand neu = PrognoseStand.aus(getLetzteZyklen(2));
+        PrognoseStand alt = getPrognoseStand();
+        if (neu == null ? alt == null : neu.gleicheBasis(alt)) {
+            return;
+        }
+
+        if (neu == null) {
+            loeschenPrognoseStand();
+        } else {
+            speicherePrognoseStand(neu);
+        }
+    }
+
+    /**
+     * Echte Periodentage in einem Zeitraum, älteste zuerst.
+     */
+    @Query("SELECT datum FROM periode_eintraege " +
+            "WHERE datum BETWEEN :von AND :bis ORDER BY datum ASC")
+    List<LocalDate> getEchtePeriodenTageZwischen(LocalDate von, LocalDate bis);
+
+    /**
+     * Zyklen, deren Periode den Zeitraum berührt.
+     */
+    @Query("SELECT * FROM zyklen WHERE endDatum >= :von AND startDatum <= :bis")
+    List<ZyklusEintrag> getZyklenImBereich(LocalDate von, LocalDate bis);
+
+    @Query("DELETE FROM zyklen WHERE startDatum BETWEEN :von AND :bis")
+    void loeschenZyklenZwischen(LocalDate von, LocalDate bis);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void einfuegenZyklen(List<ZyklusEintrag> zyklen);
 
     /**
-     * Alle Prognosen löschen (bei Neuberechnung).
+     * Zyklen, die im Zeitraum beginnen, älteste zuerst.
      */
-    @Query("DELETE FROM periode_eintraege WHERE istPrognose = 1")
-    void loeschenAllePrognosen();
-}
\ No newline at end of file
+    @Query("SELECT * FROM zyklen WHERE startDatum BETWEEN :von AND :bis ORDER BY startDatum ASC")
+    List<ZyklusEintrag> getZyklenZwischen(LocalDate von, LocalDate bis);
+
+    /**
+     * Beginn des letzten Zyklus vor einem Datum oder null.
+     */
+    @Query("SELECT MAX(startDatum) FROM zyklen WHERE startDatum < :datum")
+    LocalDate getZyklusStartVor(LocalDate datum);
+
+    /**
+     * Setzt die Zykluslänge (Abstand zum nächsten Periodenbeginn) für alle
+     * Zyklen im Zeitraum; ohne Nachfolger bleibt sie NULL.
+     */
+    @Query("UPDATE zyklen SET zyklusLaenge = " +
+            "(SELECT MIN(n.startDatum) FROM zyklen n WHERE n.startDatum > zyklen.startDatum) - startDatum " +
+            "WHERE startDatum BETWEEN :von AND :bis")
+    void aktualisiereZyklusLaengenZwischen(LocalDate von, LocalDate bis);
+
+    @Query("SELECT zyklusLaenge FROM zyklen WHERE startDatum = :startDatum")
+    Integer getZyklusLaenge(LocalDate startDatum);
+
+    @Query("SELECT zyklusLaenge FROM zyklen " +
+            "WHERE startDatum BETWEEN :von AND :bis AND zyklusLaenge IS NOT NULL")
+    List<Integer> getZyklusLaengenZwischen(LocalDate von, LocalDate bis);
+
+    @Query("SELECT MIN(zyklusLaenge) FROM zyklen WHERE zyklusLaenge BETWEEN :min AND :max")
+    int getKleinsteGueltigeZyklusLaenge(int min, int max);
+
+    @Query("SELECT MAX(zyklusLaenge) FROM zyklen WHERE zyklusLaenge BETWEEN :min AND :max")
+    int getGroessteGueltigeZyklusLaenge(int min, int max);
+
+    @Query("SELECT * FROM zyklus_statistik WHERE id = 1")
+    ZyklusStatistik getZyklusStatistik();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void speichereZyklusStatistik(ZyklusStatistik statistik);
+
+    /**
+     * Die neuesten Zyklen, neueste zuerst.
+     */
+    @Query("SELECT * FROM zyklen ORDER BY startDatum DESC LIMIT :anzahl")
+    List<ZyklusEintrag> getLetzteZyklen(int anzahl);
+
+    @Query("DELETE FROM eisprung_erkennung WHERE zyklusStart BETWEEN :von AND :bis")
+    void loeschenEisprungErkennungZwischen(LocalDate von, LocalDate bis);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void speichereEisprungErkennung(EisprungErkennung zustand);
+
+    /**
+     * Gespeicherte Tagestemperaturen (> 0) eines Zeitraums, älteste zuerst.
+     */
+    @Query("SELECT datum AS epochTag, temperatur AS wert FROM wohlbefinden_eintraege " +
+            "WHERE datum BETWEEN :von AND :bis AND temperatur > 0 ORDER BY datum ASC")
+    List<VitalWert> getTemperaturWerteZwischen(LocalDate von, LocalDate bis);
+
+    @Query("SELECT * FROM prognose_stand WHERE id = 1")
+    PrognoseStand getPrognoseStand();
+
+    /**
+     * Beobachtbarer Prognosestand (Primärschlüssel-Abfrage, keine Neuberechnung).
+     */
+    @Query("SELECT * FROM prognose_stand WHERE id = 1")
+    LiveData<PrognoseStand> beobachtePrognoseStand();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void speicherePrognoseStand(PrognoseStand stand);
+
+    @Query("DELETE FROM prognose_stand")
+    void loeschenPrognoseStand();
+}
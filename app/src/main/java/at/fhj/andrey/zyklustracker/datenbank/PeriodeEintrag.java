@@ -1,6 +1,7 @@
 package at.fhj.andrey.zyklustracker.datenbank;
 
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import java.time.LocalDate;
 
@@ -8,28 +9,31 @@ import java.time.LocalDate;
  * PeriodeEintrag - Entitätsklasse für die Speicherung von Menstruationsdaten
  *
  * Diese Klasse repräsentiert eine einzelne Menstruationstag-Aufzeichnung in der Datenbank.
- * Sie unterscheidet zwischen tatsächlich erfassten Menstruationstagen und
- * algorithmisch berechneten Prognosen.
+ * Gespeichert werden nur tatsächlich erfasste Tage; Prognosen berechnet der
+ * PrognoseGenerator bei Bedarf aus dem Prognosestand (Tabelle prognose_stand).
  *
  * Datenbank-Mapping:
  * - Tabelle: "periode_eintraege"
  * - Primärschlüssel: Auto-generierte ID
- * - Eindeutigkeit: Ein Datum kann sowohl als echter Eintrag als auch als Prognose existieren
+ * - Eindeutigkeit: Jedes Datum existiert höchstens einmal (eindeutiger Index auf datum)
  *
- * Verwendung:
- * - Echte Menstruationstage: istPrognose = false (von Nutzerin eingegeben)
- * - Prognostizierte Tage: istPrognose = true (von Algorithmus berechnet)
+ * Indizes:
+ * - (datum): Eindeutigkeit pro Tag, Punktabfragen und sortierte Abfragen nach Datum
  *
  * Zyklusberechnung:
- * - Algorithmus verwendet nur echte Daten (istPrognose = false) zur Berechnung
- * - Prognosen werden bei jeder Neuberechnung gelöscht und neu erstellt
+ * - Zyklen werden aus zusammenhängenden Periodentagen gebildet (Tabelle zyklen)
  * - Zykluslänge wird aus Abständen zwischen Periodenbeginnen ermittelt
  *
  * @author Andrey Eskin
  * @version 1.0
  * @since Mai 2025
  */
-@Entity(tableName = "periode_eintraege")
+@Entity(
+        tableName = "periode_eintraege",
+        indices = {
+                @Index(value = {"datum"}, unique = true)
+        }
+)
 public class PeriodeEintrag {
 
     /**
@@ -44,34 +48,17 @@ public class PeriodeEintrag {
      *
      * Wichtige Hinweise:
      * - Verwendet LocalDate für typsichere Datumsoperationen
-     * - Wird durch DatumKonverter in String für Datenbank-Speicherung konvertiert
-     * - Sollte für Prognosen mindestens in der Zukunft liegen
+     * - Wird durch DatumKonverter als Epoch-Tag (INTEGER) gespeichert
      */
     private LocalDate datum;
 
-    /**
-     * Flag zur Unterscheidung zwischen echten Daten und Prognosen.
-     *
-     * Werte:
-     * - false: Echte Menstruation (von Nutzerin eingegeben)
-     * - true: Prognostizierte Menstruation (algorithmisch berechnet)
-     *
-     * Verwendung in Abfragen:
-     * - Zyklusberechnung: Nur echte Daten verwenden
-     * - Kalenderanzeige: Beide Typen mit unterschiedlicher Darstellung
-     * - Statistiken: Nur echte Daten für Auswertungen
-     */
-    private boolean istPrognose;
-
     /**
      * Konstruktor für die Erstellung neuer Periodeneinträge.
      *
      * @param datum Das Datum des Menstruationstages
-     * @param istPrognose true für Prognosen, false für echte Daten
      */
-    public PeriodeEintrag(LocalDate datum, boolean istPrognose) {
+    public PeriodeEintrag(LocalDate datum) {
         this.datum = datum;
-        this.istPrognose = istPrognose;
     }
 
     // ===== GETTER UND SETTER METHODEN =====
@@ -114,24 +101,6 @@ public class PeriodeEintrag {
         this.datum = datum;
     }
 
-    /**
-     * Prüft, ob dieser Eintrag eine Prognose oder echte Daten darstellt.
-     *
-     * @return true wenn es sich um eine Prognose handelt, false für echte Daten
-     */
-    public boolean isIstPrognose() {
-        return istPrognose;
-    }
-
-    /**
-     * Setzt den Prognose-Status des Eintrags.
-     *
-     * @param istPrognose true für Prognosen, false für echte Daten
-     */
-    public void setIstPrognose(boolean istPrognose) {
-        this.istPrognose = istPrognose;
-    }
-
     /**
      * Überschreibt toString() für bessere Debugging-Ausgabe.
      *
@@ -142,13 +111,12 @@ public class PeriodeEintrag {
         return "PeriodeEintrag{" +
                 "id=" + id +
                 ", datum=" + datum +
-                ", istPrognose=" + istPrognose +
                 '}';
     }
 
     /**
      * Überschreibt equals() für korrekte Objektvergleiche.
-     * Zwei Einträge sind gleich, wenn sie das gleiche Datum und den gleichen Prognose-Status haben.
+     * Zwei Einträge sind gleich, wenn sie das gleiche Datum haben.
      *
      * @param obj Das zu vergleichende Objekt
      * @return true wenn die Objekte gleich sind
@@ -159,19 +127,16 @@ public class PeriodeEintrag {
         if (obj == null || getClass() != obj.getClass()) return false;
 
         PeriodeEintrag that = (PeriodeEintrag) obj;
-        return istPrognose == that.istPrognose &&
-                datum != null ? datum.equals(that.datum) : that.datum == null;
+        return datum != null ? datum.equals(that.datum) : that.datum == null;
     }
 
     /**
      * Überschreibt hashCode() für korrekte Verwendung in Collections.
      *
-     * @return Hash-Code basierend auf Datum und Prognose-Status
+     * @return Hash-Code basierend auf dem Datum
      */
     @Override
     public int hashCode() {
-        int result = datum != null ? datum.hashCode() : 0;
-        result = 31 * result + (istPrognose ? 1 : 0);
-        return result;
+        return datum != null ? datum.hashCode() : 0;
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import at.fhj.andrey.zyklustracker.zyklusanalyse.PrognoseGenerator;
+
+/**
+ * PrognoseStand - Grundlage der Kalenderprognosen (Tabelle "prognose_stand")
+ *
+ * Eine einzige Zeile (id = 1) mit den Eingaben, aus denen der PrognoseGenerator
+ * die Prognosen für jeden angefragten Monat berechnet. Sie dient als
+ * Versionsstand: PeriodeDao schreibt sie nach einer Änderung der echten
+ * Periodentage nur neu, wenn sich diese Grundlage geändert hat.
+ *
+ * Felder:
+ * - periodenstart: Letzter echter Periodenbeginn
+ * - zyklusLaenge: Länge des vorletzten (abgeschlossenen) Zyklus, auf 21-35 Tage begrenzt
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+@Entity(tableName = "prognose_stand")
+public class PrognoseStand {
+
+    /**
+     * Schlüssel der einzigen Zeile.
+     */
+    public static final int ID = 1;
+
+    @PrimaryKey
+    private int id = ID;
+
+    @NonNull
+    private LocalDate periodenstart;
+
+    private int zyklusLaenge;
+
+    public PrognoseStand(@NonNull LocalDate periodenstart, int zyklusLaenge) {
+        this.periodenstart = periodenstart;
+        this.zyklusLaenge = zyklusLaenge;
+    }
+
+    /**
+     * Bestimmt den Stand aus den beiden neuesten Zyklen.
+     * Unrealistische Zykluslängen (außerhalb 21-35 Tage) werden durch den Standard ersetzt.
+     *
+     * @param letzteZyklen Die neuesten Zyklen, neueste zuerst
+     * @return Stand oder null, wenn weniger als zwei Zyklen bekannt sind
+     */
+    public static PrognoseStand aus(List<ZyklusEintrag> letzteZyklen) {
+        if (letzteZyklen == null || letzteZyklen.size() < 2) {
+            return null;
+        }
+
+        // Letzter Periodenstart und Länge des vorletzten (abgeschlossenen) Zyklus
+        LocalDate letzterPeriodenstart = letzteZyklen.get(0).getStartDatum();
+        Integer vorletzteZyklusLaenge = letzteZyklen.get(1).getZyklusLaenge();
+        int zyklusLaenge = vorletzteZyklusLaenge != null
+                ? vorletzteZyklusLaenge
+                : (int) ChronoUnit.DAYS.between(letzteZyklen.get(1).getStartDatum(), letzterPeriodenstart);
+
+        if (!ZyklusStatistik.istGueltig(zyklusLaenge)) {
+            zyklusLaenge = PrognoseGenerator.STANDARD_ZYKLUSLAENGE;
+        }
+        return new PrognoseStand(letzterPeriodenstart, zyklusLaenge);
+    }
+
+    /**
+     * @return true, wenn beide Stände dieselben Prognosen ergeben
+     */
+    public boolean gleicheBasis(PrognoseStand andere) {
+        return andere != null
+                && zyklusLaenge == andere.zyklusLaenge
+                && periodenstart.equals(andere.periodenstart);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    @NonNull
+    public LocalDate getPeriodenstart() {
+        return periodenstart;
+    }
+
+    public void setPeriodenstart(@NonNull LocalDate periodenstart) {
+        this.periodenstart = periodenstart;
+    }
+
+    public int getZyklusLaenge() {
+        return zyklusLaenge;
+    }
+
+    public void setZyklusLaenge(int zyklusLaenge) {
+        this.zyklusLaenge = zyklusLaenge;
+    }
+}
@@ -0,0 +1,240 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SchreibWarteschlange - Einziger Schreibpfad der App in die ZyklusDatenbank
+ *
+ * Alle Schreibvorgänge werden hier eingereiht und von genau einem Thread
+ * (dem Transaktions-Executor der Datenbank) abgearbeitet. Aufträge, die während
+ * einer laufenden Abarbeitung eintreffen, werden gesammelt und gemeinsam in
+ * EINER Transaktion geschrieben. Ein Schub von Schreibvorgängen (z.B. Sensordaten
+ * und manuelles Speichern gleichzeitig) kostet damit nur ein Commit.
+ *
+ * Aufträge bleiben trotzdem voneinander unabhängig: Wirft ein Auftrag, wird die
+ * gemeinsame Transaktion zurückgerollt und nur dieser Auftrag meldet den Fehler.
+ * Alle anderen Aufträge des Stapels werden danach einzeln in je einer eigenen
+ * Transaktion geschrieben. (SAVEPOINTs pro Auftrag reichen nicht: Eine
+ * fehlgeschlagene verschachtelte Room-Transaktion rollt die äußere mit zurück.)
+ *
+ * Die Datenversion wird nur erhöht, wenn ein erfolgreich geschriebener Auftrag
+ * als Änderung der Periodendaten eingereiht wurde (periode_eintraege, zyklen,
+ * eisprung_erkennung) - noch im Schreib-Thread und vor den Rückmeldungen.
+ * Caches der Zyklusanalyse (PeriodenSegmentierung, AnalyseCache) erkennen
+ * Änderungen damit ohne Verzögerung durch den InvalidationTracker; reine
+ * Wohlbefinden- und Sensor-Schreibvorgänge lassen sie unberührt.
+ *
+ * Rückmeldungen werden immer auf dem Main Thread ausgeliefert.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public class SchreibWarteschlange {
+
+    private static final String TAG = "SchreibWarteschlange";
+
+    // Obergrenze für Aufträge pro Transaktion (hält einzelne Transaktionen kurz)
+    private static final int MAX_STAPEL_GROESSE = 64;
+
+    /**
+     * Ein Schreibvorgang. Läuft innerhalb einer Transaktion im Schreib-Thread.
+     */
+    public interface Schreibauftrag {
+        void ausfuehren() throws Exception;
+    }
+
+    /**
+     * Rückmeldung nach dem Schreiben (auf dem Main Thread).
+     */
+    public interface Rueckmeldung {
+        void onErfolg();
+        void onFehler(Exception fehler);
+    }
+
+    /**
+     * Eingereihter Auftrag mit optionaler Rückmeldung
+     */
+    private static class Eintrag {
+        final Schreibauftrag auftrag;
+        final boolean aendertPeriodendaten;
+        final Rueckmeldung rueckmeldung;
+
+        Eintrag(Schreibauftrag auftrag, boolean aendertPeriodendaten, Rueckmeldung rueckmeldung) {
+            this.auftrag = auftrag;
+            this.aendertPeriodendaten = aendertPeriodendaten;
+            this.rueckmeldung = rueckmeldung;
+        }
+    }
+
+    private final ZyklusDatenbank datenbank;
+    private final Executor schreibExecutor;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final LinkedBlockingQueue<Eintrag> warteschlange = new LinkedBlockingQueue<>();
+    private final AtomicBoolean abarbeitungGeplant = new AtomicBoolean(false);
+
+    // Wird nach jedem geschriebenen Stapel mit geänderten Periodendaten erhöht
+    private final AtomicLong datenVersion = new AtomicLong();
+
+    SchreibWarteschlange(ZyklusDatenbank datenbank, Executor schreibExecutor) {
+        this.datenbank = datenbank;
+        this.schreibExecutor = schreibExecutor;
+    }
+
+    /**
+     * Reiht einen Schreibvorgang ohne Rückmeldung ein.
+     */
+    public void einreihen(Schreibauftrag auftrag) {
+        einreihen(auftrag, null);
+    }
+
+    /**
+     * Reiht einen Schreibvorgang ein, der keine Periodendaten ändert.
+     *
+     * @param auftrag Der Schreibvorgang (DAO-Aufrufe)
+     * @param rueckmeldung Optionale Rückmeldung auf dem Main Thread
+     */
+    public void einreihen(Schreibauftrag auftrag, Rueckmeldung rueckmeldung) {
+        einreihen(auftrag, false, rueckmeldung);
+    }
+
+    /**
+     * Reiht einen Schreibvorgang ein.
+     *
+     * @param auftrag Der Schreibvorgang (DAO-Aufrufe)
+     * @param aendertPeriodendaten true, wenn der Auftrag periode_eintraege, zyklen oder
+     *                             eisprung_erkennung schreibt (erhöht die Datenversion)
+     * @param rueckmeldung Optionale Rückmeldung auf dem Main Thread
+     */
+    public void einreihen(Schreibauftrag auftrag, boolean aendertPeriodendaten, Rueckmeldung rueckmeldung) {
+        warteschlange.add(new Eintrag(auftrag, aendertPeriodendaten, rueckmeldung));
+        planeAbarbeitung();
+    }
+
+    /**
+     * Aktuelle Datenversion der Periodendaten.
+     * Wird synchron nach jedem Commit erhöht, der Periodendaten geändert hat: Wer die
+     * Version vor dem Lesen abfragt und danach eine andere sieht, weiß, dass seit dem
+     * Lesen Periodendaten geschrieben wurden. O(1), ohne Datenbankzugriff.
+     */
+    public long getDatenVersion() {
+        return datenVersion.get();
+    }
+
+    private void planeAbarbeitung() {
+        if (abarbeitungGeplant.compareAndSet(false, true)) {
+            schreibExecutor.execute(this::arbeiteStapelAb);
+        }
+    }
+
+    /**
+     * Schreibt alle bis jetzt eingereihten Aufträge in einer Transaktion.
+     * Läuft ausschließlich im Schreib-Thread.
+     */
+    private void arbeiteStapelAb() {
+        abarbeitungGeplant.set(false);
+
+        List<Eintrag> stapel = new ArrayList<>();
+        warteschlange.drainTo(stapel, MAX_STAPEL_GROESSE);
+        if (stapel.isEmpty()) {
+            return;
+        }
+
+        // Index des Auftrags, der gerade läuft; bleibt bei einer Ausnahme stehen
+        int[] laufend = {-1};
+        try {
+            datenbank.runInTransaction(() -> {
+                for (int i = 0; i < stapel.size(); i++) {
+                    laufend[0] = i;
+                    fuehreAus(stapel.get(i).auftrag);
+                }
+                laufend[0] = -1;
+            });
+            for (Eintrag eintrag : stapel) {
+                if (eintrag.aendertPeriodendaten) {
+                    datenVersion.incrementAndGet();
+                    break;
+                }
+            }
+            Log.d(TAG, stapel.size() + " Schreibvorgänge in einer Transaktion gespeichert");
+            for (Eintrag eintrag : stapel) {
+                meldeErfolg(eintrag);
+            }
+
+        } catch (Exception e) {
+            // Transaktion ist zurückgerollt - nichts aus dem Stapel wurde geschrieben
+            Log.e(TAG, "Sammel-Transaktion mit " + stapel.size() + " Aufträgen fehlgeschlagen, " +
+                    "schreibe einzeln: " + e.getMessage(), e);
+            arbeiteEinzelnAb(stapel, laufend[0], e);
+        }
+
+        // Inzwischen eingetroffene Aufträge als nächsten Stapel abarbeiten
+        if (!warteschlange.isEmpty()) {
+            planeAbarbeitung();
+        }
+    }
+
+    /**
+     * Schreibt die Aufträge eines zurückgerollten Stapels einzeln, jeden in
+     * einer eigenen Transaktion. Nur der Auftrag, der geworfen hat, meldet den Fehler.
+     *
+     * @param fehlerhaft Index des Auftrags, der geworfen hat, oder -1 (z.B. Commit fehlgeschlagen)
+     * @param fehler     Ausnahme des fehlerhaften Auftrags
+     */
+    private void arbeiteEinzelnAb(List<Eintrag> stapel, int fehlerhaft, Exception fehler) {
+        boolean periodendatenGeschrieben = false;
+        for (int i = 0; i < stapel.size(); i++) {
+            Eintrag eintrag = stapel.get(i);
+            if (i == fehlerhaft) {
+                meldeFehler(eintrag, fehler);
+                continue;
+            }
+            try {
+                datenbank.runInTransaction(() -> fuehreAus(eintrag.auftrag));
+                periodendatenGeschrieben |= eintrag.aendertPeriodendaten;
+                meldeErfolg(eintrag);
+            } catch (Exception e) {
+                Log.e(TAG, "Schreibvorgang fehlgeschlagen: " + e.getMessage(), e);
+                meldeFehler(eintrag, e);
+            }
+        }
+        if (periodendatenGeschrieben) {
+            datenVersion.incrementAndGet();
+        }
+    }
+
+    /**
+     * Führt einen Auftrag aus; geprüfte Ausnahmen werden in eine RuntimeException
+     * verpackt, damit runInTransaction zurückrollt.
+     */
+    private static void fuehreAus(Schreibauftrag auftrag) {
+        try {
+            auftrag.ausfuehren();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void meldeErfolg(Eintrag eintrag) {
+        if (eintrag.rueckmeldung != null) {
+            mainHandler.post(eintrag.rueckmeldung::onErfolg);
+        }
+    }
+
+    private void meldeFehler(Eintrag eintrag, Exception fehler) {
+        if (eintrag.rueckmeldung != null) {
+            mainHandler.post(() -> eintrag.rueckmeldung.onFehler(fehler));
+        }
+    }
+}
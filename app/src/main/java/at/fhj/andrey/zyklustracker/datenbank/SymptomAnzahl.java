@@ -0,0 +1,22 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+/**
+ * Hilfsklasse für das Ergebnis der Symptomhäufigkeits-Abfrage.
+ * Room verwendet diese Klasse, um die Ergebnisse einer GROUP BY-Abfrage zurückzugeben.
+ */
+public class SymptomAnzahl {
+    public String symptom;
+    public int anzahl;
+
+
+    public SymptomAnzahl() {}
+
+
+    public String getSymptom() {
+        return symptom;
+    }
+
+    public int getAnzahl() {
+        return anzahl;
+    }
+}
@@ -0,0 +1,66 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * SymptomEintrag - Eintrag im Symptom-Katalog
+ *
+ * Jede Symptombezeichnung (z.B. "Kopfschmerzen") wird genau einmal in der
+ * Tabelle "symptom_katalog" gespeichert. Wohlbefinden-Einträge verweisen
+ * über die Zuordnungstabelle "wohlbefinden_symptome" auf diese IDs.
+ *
+ * Vorteile gegenüber der früheren JSON-Spalte:
+ * - Bezeichnungen werden nur einmal gespeichert
+ * - Häufigkeiten lassen sich per GROUP BY direkt in SQL zählen
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+@Entity(
+        tableName = "symptom_katalog",
+        indices = {@Index(value = {"name"}, unique = true)}
+)
+public class SymptomEintrag {
+
+    /**
+     * Primärschlüssel, wird von Room generiert.
+     */
+    @PrimaryKey(autoGenerate = true)
+    private int id;
+
+    /**
+     * Bezeichnung des Symptoms, eindeutig im Katalog.
+     */
+    @NonNull
+    private String name;
+
+    public SymptomEintrag(@NonNull String name) {
+        this.name = name;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public void setName(@NonNull String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String toString() {
+        return "SymptomEintrag{id=" + id + ", name='" + name + "'}";
+    }
+}
@@ -0,0 +1,35 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+/**
+ * Hilfsklasse für die SQL-Aggregation eines Vitalwerts über einen Zeitraum.
+ * Room füllt die Felder aus einer einzigen Abfrage (COUNT, AVG, MIN, MAX,
+ * Quadratsumme) - es werden keine Zeilenobjekte geladen.
+ */
+public class VitalAggregat {
+    public int anzahl;
+    public double durchschnitt;
+    public double minimum;
+    public double maximum;
+    public double quadratSumme;
+    public int anzahlKritisch;
+
+
+    public VitalAggregat() {}
+
+
+    public boolean hatDaten() {
+        return anzahl > 0;
+    }
+
+    /**
+     * Standardabweichung (Population) aus Quadratsumme und Durchschnitt:
+     * Varianz = Σx²/n − x̄²
+     */
+    public double getStandardAbweichung() {
+        if (anzahl == 0) {
+            return 0;
+        }
+        double varianz = quadratSumme / anzahl - durchschnitt * durchschnitt;
+        return Math.sqrt(Math.max(0, varianz)); // Rundungsfehler abfangen
+    }
+}
@@ -0,0 +1,25 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import java.time.LocalDate;
+
+/**
+ * Hilfsklasse für Projektionsabfragen auf einen einzelnen Vitalwert.
+ * Enthält nur den Tag (als Epoch-Tag, ohne TypeConverter) und den Messwert,
+ * statt für jeden Tag einen vollständigen WohlbefindenEintrag zu laden.
+ */
+public class VitalWert {
+    public long epochTag;
+    public float wert;
+
+
+    public VitalWert() {}
+
+
+    public LocalDate getDatum() {
+        return LocalDate.ofEpochDay(epochTag);
+    }
+
+    public float getWert() {
+        return wert;
+    }
+}
@@ -1,22 +1,22 @@
-/**
- * SCHRITT 1: Korrigieren Sie WohlbefindenDao.java
- * ===============================================
- *
- * Das DAO-Interface darf NUR abstrakte Methoden enthalten!
- */
-
 package at.fhj.andrey.zyklustracker.datenbank;
 
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import androidx.room.Update;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * DAO für die Arbeit mit Wohlbefinden-Daten
  * Enthält alle Methoden für das Lesen und Schreiben in die Tabelle wohlbefinden_eintraege
+ *
+ * Symptome werden normalisiert in symptom_katalog und wohlbefinden_symptome gespeichert.
+ * Die Default-Methoden (@Transaction) pflegen diese Tabellen zusammen mit dem Eintrag.
  */
 @Dao
 public interface WohlbefindenDao {
@@ -45,9 +45,12 @@ public interface WohlbefindenDao {
     /**
      * Neuen Eintrag hinzufügen
      * Wenn bereits ein Eintrag für dieses Datum existiert - Fehler!
+     * Für das Speichern eines Tages upsertSensorwerte/upsertManuelleWerte verwenden
+     *
+     * @return ID des neuen Eintrags
      */
     @Insert
-    void einfuegenEintrag(WohlbefindenEintrag eintrag);
+    long einfuegenEintrag(WohlbefindenEintrag eintrag);
 
     /**
      * Bestehenden Eintrag aktualisieren
@@ -58,6 +61,75 @@ public interface WohlbefindenDao {
 
 
 
+    // ===== UPSERT PRO TAG =====
+    // SQLite auf minSdk 28 (3.22) kennt noch kein INSERT ... ON CONFLICT DO UPDATE.
+    // Stattdessen: INSERT OR IGNORE auf den eindeutigen datum-Index plus UPDATE,
+    // beide in einer Transaktion - ohne vorheriges Lesen und ohne doppelte Tageszeilen.
+
+    /**
+     * Legt eine leere Zeile für den Tag an, falls noch keine existiert
+     *
+     * @return rowid der neuen Zeile oder -1, wenn der Tag bereits existierte
+     */
+    @Query("INSERT OR IGNORE INTO wohlbefinden_eintraege (datum) VALUES (:datum)")
+    long anlegenTagFallsFehlend(LocalDate datum);
+
+    /**
+     * Setzt nur die übergebenen Sensorwerte; null lässt den gespeicherten Wert unverändert
+     */
+    @Query("UPDATE wohlbefinden_eintraege SET " +
+            "temperatur = COALESCE(:temperatur, temperatur), " +
+            "puls = COALESCE(:puls, puls), " +
+            "spo2 = COALESCE(:spo2, spo2) " +
+            "WHERE datum = :datum")
+    void aktualisiereSensorwerte(LocalDate datum, Float temperatur, Integer puls, Integer spo2);
+
+    /**
+     * Setzt die manuell erfassten Felder; Sensorwerte bleiben unverändert
+     */
+    @Query("UPDATE wohlbefinden_eintraege SET " +
+            "blutungsstaerke = :blutungsstaerke, " +
+            "schmerzLevel = :schmerzLevel, " +
+            "stimmung = :stimmung " +
+            "WHERE datum = :datum")
+    void aktualisiereManuelleWerte(LocalDate datum, String blutungsstaerke,
+                                   String schmerzLevel, String stimmung);
+
+    /**
+     * ID des Eintrags für ein Datum (nur die Spalte, kein ganzer Eintrag)
+     */
+    @Query("SELECT id FROM wohlbefinden_eintraege WHERE datum = :datum")
+    int getIdNachDatum(LocalDate datum);
+
+    /**
+     * Sensorwerte für einen Tag speichern (Einfügen oder Aktualisieren)
+     * Manuelle Felder eines bestehenden Eintrags werden nicht berührt
+     *
+     * @return true, wenn der Tag neu angelegt wurde
+     */
+    @Transaction
+    default boolean upsertSensorwerte(LocalDate datum, Float temperatur, Integer puls, Integer spo2) {
+        boolean neu = anlegenTagFallsFehlend(datum) != -1;
+        aktualisiereSensorwerte(datum, temperatur, puls, spo2);
+        return neu;
+    }
+
+    /**
+     * Manuelle Werte inklusive Symptome für einen Tag speichern (Einfügen oder Aktualisieren)
+     * Sensorwerte eines bestehenden Eintrags werden nicht berührt
+     *
+     * @return true, wenn der Tag neu angelegt wurde
+     */
+    @Transaction
+    default boolean upsertManuelleWerte(LocalDate datum, String blutungsstaerke, String schmerzLevel,
+                                        String stimmung, List<String> symptome) {
+        long neueId = anlegenTagFallsFehlend(datum);
+        aktualisiereManuelleWerte(datum, blutungsstaerke, schmerzLevel, stimmung);
+        int eintragId = neueId != -1 ? (int) neueId : getIdNachDatum(datum);
+        speichereSymptome(eintragId, symptome);
+        return neueId != -1;
+    }
+
     /**
      * Eintrag für ein bestimmtes Datum löschen
      */
@@ -71,6 +143,14 @@ public interface WohlbefindenDao {
     @Query("SELECT * FROM wohlbefinden_eintraege ORDER BY datum DESC LIMIT :anzahl")
     List<WohlbefindenEintrag> getLetzteEintraege(int anzahl);
 
+    /**
+     * Folgeseite des Verlaufs: Einträge vor einem Datum (Keyset-Paginierung über datum)
+     * Nutzt den eindeutigen Index auf datum, die Kosten hängen nur von der Seitengröße ab
+     */
+    @Query("SELECT * FROM wohlbefinden_eintraege WHERE datum < :vorDatum " +
+            "ORDER BY datum DESC LIMIT :anzahl")
+    List<WohlbefindenEintrag> getEintraegeVor(LocalDate vorDatum, int anzahl);
+
     /**
      * Prüfen ob ein Eintrag für ein bestimmtes Datum existiert
      * Gibt die Anzahl der Einträge zurück (0 oder 1)
@@ -99,11 +179,15 @@ public interface WohlbefindenDao {
     StimmungAnzahl getHaeufigstesSchmerzLevel();
 
     /**
-     * Alle erfassten Symptome abrufen
-     * Gibt JSON-Strings zurück, die geparst werden müssen
+     * Symptomhäufigkeiten ab einem Stichtag
+     * Eine GROUP BY-Abfrage über die Zuordnungstabelle, sortiert nach Häufigkeit
      */
-    @Query("SELECT symptome FROM wohlbefinden_eintraege WHERE symptome IS NOT NULL")
-    List<String> getAlleSymptomeListen();
+    @Query("SELECT k.name AS symptom, COUNT(*) AS anzahl FROM wohlbefinden_symptome ws " +
+            "JOIN symptom_katalog k ON k.id = ws.symptomId " +
+            "JOIN wohlbefinden_eintraege w ON w.id = ws.eintragId " +
+            "WHERE w.datum >= :abDatum " +
+            "GROUP BY ws.symptomId ORDER BY anzahl DESC")
+    List<SymptomAnzahl> getSymptomHaeufigkeitenAb(LocalDate abDatum);
 
     /**
      * Gesamtanzahl der Einträge abrufen
@@ -137,4 +221,168 @@ public interface WohlbefindenDao {
             "WHERE temperatur IS NOT NULL OR puls IS NOT NULL OR spo2 IS NOT NULL " +
             "ORDER BY datum DESC LIMIT 1")
     WohlbefindenEintrag getLetztenSensordaten();
-}
\ No newline at end of file
+
+    /**
+     * Temperaturwerte (> 0) eines Zeitraums als (Tag, Wert)-Paare, älteste zuerst
+     * Liest nur zwei Spalten statt ganzer Einträge
+     */
+    @Query("SELECT datum AS epochTag, temperatur AS wert FROM wohlbefinden_eintraege " +
+            "WHERE datum BETWEEN :startDatum AND :endDatum AND temperatur > 0 " +
+            "ORDER BY datum ASC")
+    List<VitalWert> getTemperaturWerteZwischen(LocalDate startDatum, LocalDate endDatum);
+
+    /**
+     * Pulswerte (> 0) eines Zeitraums als (Tag, Wert)-Paare, älteste zuerst
+     */
+    @Query("SELECT datum AS epochTag, puls AS wert FROM wohlbefinden_eintraege " +
+            "WHERE datum BETWEEN :startDatum AND :endDatum AND puls > 0 " +
+            "ORDER BY datum ASC")
+    List<VitalWert> getPulsWerteZwischen(LocalDate startDatum, LocalDate endDatum);
+
+    /**
+     * SpO2-Werte (> 0) eines Zeitraums als (Tag, Wert)-Paare, älteste zuerst
+     */
+    @Query("SELECT datum AS epochTag, spo2 AS wert FROM wohlbefinden_eintraege " +
+            "WHERE datum BETWEEN :startDatum AND :endDatum AND spo2 > 0 " +
+            "ORDER BY datum ASC")
+    List<VitalWert> getSpo2WerteZwischen(LocalDate startDatum, LocalDate endDatum);
+
+    /**
+     * Temperatur-Kennzahlen eines Zeitraums in einem Durchlauf von SQLite berechnet
+     */
+    @Query("SELECT COUNT(temperatur) AS anzahl, AVG(temperatur) AS durchschnitt, " +
+            "MIN(temperatur) AS minimum, MAX(temperatur) AS maximum, " +
+            "TOTAL(temperatur * temperatur) AS quadratSumme, 0 AS anzahlKritisch " +
+            "FROM wohlbefinden_eintraege " +
+            "WHERE datum BETWEEN :startDatum AND :endDatum AND temperatur > 0")
+    VitalAggregat getTemperaturAggregat(LocalDate startDatum, LocalDate endDatum);
+
+    /**
+     * Puls-Kennzahlen eines Zeitraums in einem Durchlauf von SQLite berechnet
+     */
+    @Query("SELECT COUNT(puls) AS anzahl, AVG(puls) AS durchschnitt, " +
+            "MIN(puls) AS minimum, MAX(puls) AS maximum, " +
+            "TOTAL(puls * puls) AS quadratSumme, 0 AS anzahlKritisch " +
+            "FROM wohlbefinden_eintraege " +
+            "WHERE datum BETWEEN :startDatum AND :endDatum AND puls > 0")
+    VitalAggregat getPulsAggregat(LocalDate startDatum, LocalDate endDatum);
+
+    /**
+     * SpO2-Kennzahlen eines Zeitraums inklusive Anzahl der Werte unter der kritischen Grenze
+     */
+    @Query("SELECT COUNT(spo2) AS anzahl, AVG(spo2) AS durchschnitt, " +
+            "MIN(spo2) AS minimum, MAX(spo2) AS maximum, " +
+            "TOTAL(spo2 * spo2) AS quadratSumme, " +
+            "TOTAL(CASE WHEN spo2 < :kritischeGrenze THEN 1 ELSE 0 END) AS anzahlKritisch " +
+            "FROM wohlbefinden_eintraege " +
+            "WHERE datum BETWEEN :startDatum AND :endDatum AND spo2 > 0")
+    VitalAggregat getSpo2Aggregat(LocalDate startDatum, LocalDate endDatum, int kritischeGrenze);
+
+    // ===== METHODEN FÜR SYMPTOME =====
+
+    /**
+     * Symptombezeichnung in den Katalog aufnehmen (falls noch nicht vorhanden)
+     */
+    @Query("INSERT OR IGNORE INTO symptom_katalog (name) VALUES (:name)")
+    void einfuegenSymptomName(String name);
+
+    /**
+     * Symptome einem Eintrag zuordnen (Namen müssen im Katalog vorhanden sein)
+     */
+    @Query("INSERT OR IGNORE INTO wohlbefinden_symptome (eintragId, symptomId) " +
+            "SELECT :eintragId, id FROM symptom_katalog WHERE name IN (:namen)")
+    void einfuegenSymptomZuordnungen(int eintragId, List<String> namen);
+
+    /**
+     * Alle Symptom-Zuordnungen eines Eintrags entfernen
+     */
+    @Query("DELETE FROM wohlbefinden_symptome WHERE eintragId = :eintragId")
+    void loeschenSymptomZuordnungen(int eintragId);
+
+    /**
+     * Symptombezeichnungen für mehrere Einträge mit einer Abfrage laden
+     * Reihenfolge innerhalb eines Eintrags entspricht der Eingabereihenfolge
+     */
+    @Query("SELECT ws.eintragId AS eintragId, k.name AS name FROM wohlbefinden_symptome ws " +
+            "JOIN symptom_katalog k ON k.id = ws.symptomId " +
+            "WHERE ws.eintragId IN (:eintragIds) ORDER BY ws.rowid")
+    List<EintragSymptom> getSymptomeFuerEintraege(List<Integer> eintragIds);
+
+    /**
+     * Ersetzt die Symptome eines Eintrags
+     * Neue Bezeichnungen werden dabei in den Katalog aufgenommen
+     */
+    @Transaction
+    default void speichereSymptome(int eintragId, List<String> symptome) {
+        loeschenSymptomZuordnungen(eintragId);
+        if (symptome == null || symptome.isEmpty()) {
+            return;
+        }
+        for (String name : symptome) {
+            einfuegenSymptomName(name);
+        }
+        einfuegenSymptomZuordnungen(eintragId, symptome);
+    }
+
+    /**
+     * Befüllt die Symptomlisten der übergebenen Einträge
+     */
+    @Transaction
+    default void ladeSymptome(List<WohlbefindenEintrag> eintraege) {
+        if (eintraege == null || eintraege.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, WohlbefindenEintrag> nachId = new HashMap<>();
+        for (WohlbefindenEintrag eintrag : eintraege) {
+            eintrag.setSymptome(new ArrayList<>());
+            nachId.put(eintrag.getId(), eintrag);
+        }
+
+        for (EintragSymptom zuordnung : getSymptomeFuerEintraege(new ArrayList<>(nachId.keySet()))) {
+            WohlbefindenEintrag eintrag = nachId.get(zuordnung.eintragId);
+            if (eintrag != null) {
+                eintrag.getSymptome().add(zuordnung.name);
+            }
+        }
+    }
+
+    /**
+     * Eintrag für ein bestimmtes Datum inklusive Symptome abrufen
+     */
+    @Transaction
+    default WohlbefindenEintrag getEintragMitSymptomenNachDatum(LocalDate datum) {
+        WohlbefindenEintrag eintrag = getEintragNachDatum(datum);
+        if (eintrag != null) {
+            List<WohlbefindenEintrag> liste = new ArrayList<>();
+            liste.add(eintrag);
+            ladeSymptome(liste);
+        }
+        return eintrag;
+    }
+
+    /**
+     * Die letzten N Einträge inklusive Symptome abrufen
+     */
+    @Transaction
+    default List<WohlbefindenEintrag> getLetzteEintraegeMitSymptomen(int anzahl) {
+        List<WohlbefindenEintrag> eintraege = getLetzteEintraege(anzahl);
+        ladeSymptome(eintraege);
+        return eintraege;
+    }
+
+    /**
+     * Eine Seite des Verlaufs inklusive Symptome abrufen
+     *
+     * @param vorDatum Datum des letzten Eintrags der vorherigen Seite oder null für die erste Seite
+     * @param anzahl Seitengröße
+     */
+    @Transaction
+    default List<WohlbefindenEintrag> getEintraegeSeiteMitSymptomen(LocalDate vorDatum, int anzahl) {
+        List<WohlbefindenEintrag> eintraege = vorDatum == null
+                ? getLetzteEintraege(anzahl)
+                : getEintraegeVor(vorDatum, anzahl);
+        ladeSymptome(eintraege);
+        return eintraege;
+    }
+}
@@ -1,6 +1,8 @@
 package at.fhj.andrey.zyklustracker.datenbank;
 
 import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.TypeConverters;
 import java.time.LocalDate;
@@ -14,7 +16,7 @@ import java.util.List;
  *
  * Datenstruktur:
  * - Tabelle: "wohlbefinden_eintraege"
- * - Eindeutigkeit: Ein Datum = Ein Eintrag
+ * - Eindeutigkeit: Ein Datum = Ein Eintrag (eindeutiger Index auf datum)
  * - Update-Verhalten: Bestehende Einträge werden überschrieben
  *
  * Gespeicherte Informationen:
@@ -25,8 +27,8 @@ import java.util.List;
  * 5. Vitaldaten: Temperatur, Puls, SpO₂ (für zukünftige Sensor-Integration)
  *
  * Datenkonvertierung:
- * - LocalDate: Automatische String-Konvertierung via DatumKonverter
- * - List<String>: JSON-Serialisierung für Symptom-Listen
+ * - LocalDate: Automatische Epoch-Tag-Konvertierung via DatumKonverter
+ * - List<String>: Normalisiert in symptom_katalog / wohlbefinden_symptome (siehe WohlbefindenDao)
  *
  * Verwendung in der App:
  * - WohlbefindenActivity: Haupteingabe-Interface
@@ -37,7 +39,10 @@ import java.util.List;
  * @version 1.0
  * @since Mai 2025
  */
-@Entity(tableName = "wohlbefinden_eintraege")
+@Entity(
+        tableName = "wohlbefinden_eintraege",
+        indices = {@Index(value = {"datum"}, unique = true)}
+)
 @TypeConverters(DatumKonverter.class)
 public class WohlbefindenEintrag {
 
@@ -97,7 +102,7 @@ public class WohlbefindenEintrag {
     private String stimmung;
 
     /**
-     * Liste der Begleitsymptome als JSON-Array.
+     * Liste der Begleitsymptome.
      *
      * Häufige Symptome:
      * - "Kopfschmerzen": Cephalgie verschiedener Intensität
@@ -107,10 +112,11 @@ public class WohlbefindenEintrag {
      * - "empfindliche Brüste": Mastalgie, Spannungsgefühl
      *
      * Technische Umsetzung:
-     * - Speicherung als JSON-String: ["Kopfschmerzen", "Übelkeit"]
-     * - Automatische Konvertierung durch DatumKonverter
+     * - Keine eigene Spalte: gespeichert in der Zuordnungstabelle wohlbefinden_symptome
+     * - Wird nur von den ...MitSymptomen-Methoden des WohlbefindenDao befüllt
      * - Mehrfachauswahl möglich
      */
+    @Ignore
     private List<String> symptome;
 
     // ===== VITALDATEN FÜR SENSOR-INTEGRATION =====
@@ -0,0 +1,62 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import androidx.room.Entity;
+import androidx.room.ForeignKey;
+import androidx.room.Index;
+
+/**
+ * WohlbefindenSymptom - Zuordnung zwischen Wohlbefinden-Eintrag und Symptom
+ *
+ * Verknüpfungstabelle "wohlbefinden_symptome" (n:m):
+ * - eintragId → wohlbefinden_eintraege.id
+ * - symptomId → symptom_katalog.id
+ *
+ * Beim Löschen eines Wohlbefinden-Eintrags werden seine Zuordnungen
+ * automatisch mitgelöscht (ON DELETE CASCADE).
+ * Gepflegt wird die Tabelle ausschließlich über WohlbefindenDao.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+@Entity(
+        tableName = "wohlbefinden_symptome",
+        primaryKeys = {"eintragId", "symptomId"},
+        foreignKeys = {
+                @ForeignKey(entity = WohlbefindenEintrag.class,
+                        parentColumns = "id",
+                        childColumns = "eintragId",
+                        onDelete = ForeignKey.CASCADE),
+                @ForeignKey(entity = SymptomEintrag.class,
+                        parentColumns = "id",
+                        childColumns = "symptomId",
+                        onDelete = ForeignKey.CASCADE)
+        },
+        indices = {@Index(value = {"symptomId"})}
+)
+public class WohlbefindenSymptom {
+
+    private int eintragId;
+    private int symptomId;
+
+    public WohlbefindenSymptom(int eintragId, int symptomId) {
+        this.eintragId = eintragId;
+        this.symptomId = symptomId;
+    }
+
+    public int getEintragId() {
+        return eintragId;
+    }
+
+    public void setEintragId(int eintragId) {
+        this.eintragId = eintragId;
+    }
+
+    public int getSymptomId() {
+        return symptomId;
+    }
+
+    public void setSymptomId(int symptomId) {
+        this.symptomId = symptomId;
+    }
+}
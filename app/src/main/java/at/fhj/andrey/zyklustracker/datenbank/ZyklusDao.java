@@ -1,10 +1,15 @@
 package at.fhj.andrey.zyklustracker.datenbank;
 
 import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
 import androidx.room.Query;
+import androidx.room.Transaction;
 import java.time.LocalDate;
 import java.util.List;
 
+import at.fhj.andrey.zyklustracker.zyklusanalyse.TemperaturSprungDetektor;
+
 /**
  * DAO für die Zyklusberechnung und Periodenstatistik
  *
@@ -12,6 +17,8 @@ import java.util.List;
  * - Periodendaten für Zyklusberechnungen
  * - Statistiken über Zykluslängen
  * - Filterung zwischen echten und prognostizierten Daten
+ * - Materialisierte Zyklen (Periodenbeginn, Periodenlänge, Zykluslänge)
+ * - Zustand der Temperatur-Eisprungerkennung pro Zyklus
  */
 @Dao
 public interface ZyklusDao {
@@ -22,7 +29,7 @@ public interface ZyklusDao {
      *
      * @return Liste aller Periodenstartdaten, chronologisch sortiert
      */
-    @Query("SELECT datum FROM periode_eintraege WHERE istPrognose = 0 ORDER BY datum ASC")
+    @Query("SELECT datum FROM periode_eintraege ORDER BY datum ASC")
     List<LocalDate> getAllePeriodeStartDaten();
 
     /**
@@ -31,14 +38,101 @@ public interface ZyklusDao {
      *
      * @return Liste aller echten PeriodeEintrag-Objekte
      */
-    @Query("SELECT * FROM periode_eintraege WHERE istPrognose = 0 ORDER BY datum ASC")
+    @Query("SELECT * FROM periode_eintraege ORDER BY datum ASC")
     List<PeriodeEintrag> getAlleEchtenPerioden();
 
+    // ===== MATERIALISIERTE ZYKLEN =====
+    // Die Tabelle zyklen wird von PeriodeDao inkrementell gepflegt
+
+    /**
+     * Alle Zyklen, älteste zuerst
+     */
+    @Query("SELECT * FROM zyklen ORDER BY startDatum ASC")
+    List<ZyklusEintrag> getAlleZyklen();
+
+    /**
+     * Zyklen, die ab einem Datum begonnen haben (Zeitraum-Filter der Statistik)
+     */
+    @Query("SELECT * FROM zyklen WHERE startDatum >= :ab ORDER BY startDatum ASC")
+    List<ZyklusEintrag> getZyklenAb(LocalDate ab);
+
+    /**
+     * Zyklus, in dem ein Datum liegt (letzter Periodenbeginn am oder vor dem Datum)
+     */
+    @Query("SELECT * FROM zyklen WHERE startDatum <= :datum ORDER BY startDatum DESC LIMIT 1")
+    ZyklusEintrag getZyklusFuerDatum(LocalDate datum);
+
+    /**
+     * Alle Zyklen, die laufende Statistik und die erkannten Eisprünge in einer
+     * Transaktion - alle drei gehören damit zum selben Datenstand
+     */
+    @Transaction
+    default ZyklusSegmente getZyklusSegmente() {
+        return new ZyklusSegmente(getAlleZyklen(), getZyklusStatistik(), getErkannteEisprungTage());
+    }
+
+    /**
+     * Laufende Statistik aller gültigen Zykluslängen (von PeriodeDao gepflegt)
+     */
+    @Query("SELECT * FROM zyklus_statistik WHERE id = 1")
+    ZyklusStatistik getZyklusStatistik();
+
     /**
-     * Zählt die Anzahl der erfassten Perioden (nur echte Daten)
+     * Statistik der Zykluslängen für einen Zeitraum, direkt in SQL aggregiert
      *
-     * @return Anzahl der verschiedenen Periodentage
+     * @param ab Nur Zyklen, die ab diesem Datum begonnen haben
+     * @param min Kleinste berücksichtigte Länge
+     * @param max Größte berücksichtigte Länge
+     */
+    @Query("SELECT 1 AS id, COUNT(zyklusLaenge) AS anzahl, " +
+            "COALESCE(AVG(zyklusLaenge), 0) AS mittelwert, " +
+            "COALESCE(TOTAL(zyklusLaenge * zyklusLaenge) - TOTAL(zyklusLaenge) * AVG(zyklusLaenge), 0) AS m2, " +
+            "COALESCE(MIN(zyklusLaenge), 0) AS minimum, " +
+            "COALESCE(MAX(zyklusLaenge), 0) AS maximum " +
+            "FROM zyklen WHERE startDatum >= :ab AND zyklusLaenge BETWEEN :min AND :max")
+    ZyklusStatistik getZyklusStatistikAb(LocalDate ab, int min, int max);
+
+    /**
+     * Zustand der Eisprungerkennung eines Zyklus oder null
      */
+    @Query("SELECT * FROM eisprung_erkennung WHERE zyklusStart = :zyklusStart")
+    EisprungErkennung getEisprungErkennung(LocalDate zyklusStart);
 
+    /**
+     * Speichert den Zustand der Eisprungerkennung (eine Zeile pro Zyklus)
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void speichereEisprungErkennung(EisprungErkennung zustand);
 
-}
\ No newline at end of file
+    /**
+     * Übergibt eine Temperaturmessung an die fortlaufende Eisprungerkennung.
+     * Einziger Weg für neue Temperaturen (derzeit nur Sensormessungen); gelesen und
+     * geschrieben wird nur der Zustand des Zyklus, in dem der Tag liegt (eine Zeile).
+     *
+     * @return true, wenn mit dieser Messung ein Eisprung erkannt wurde
+     */
+    @Transaction
+    default boolean verarbeiteTemperatur(LocalDate tag, float temperatur) {
+        ZyklusEintrag zyklus = getZyklusFuerDatum(tag);
+        if (zyklus == null) {
+            return false;
+        }
+
+        EisprungErkennung zustand = getEisprungErkennung(zyklus.getStartDatum());
+        if (zustand == null) {
+            zustand = new EisprungErkennung(zyklus.getStartDatum());
+        } else if (zustand.getEisprungDatum() != null) {
+            return false; // Eisprung dieses Zyklus bereits bestätigt
+        }
+
+        boolean erkannt = TemperaturSprungDetektor.verarbeite(zustand, tag, temperatur);
+        speichereEisprungErkennung(zustand);
+        return erkannt;
+    }
+
+    /**
+     * Alle per Basaltemperatur erkannten Eisprünge, älteste zuerst
+     */
+    @Query("SELECT eisprungDatum FROM eisprung_erkennung WHERE eisprungDatum IS NOT NULL ORDER BY eisprungDatum")
+    List<LocalDate> getErkannteEisprungTage();
+}
@@ -6,6 +6,11 @@ import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
 /**
  * ZyklusDatenbank - Hauptklasse der Room-Datenbank für die ZyklusTracker-App
  *
@@ -14,8 +19,15 @@ import androidx.room.TypeConverters;
  * Datenbankinstanz existiert.
  *
  * Enthaltene Entitäten:
- * - PeriodeEintrag: Speichert Menstruationstage und Prognosen
+ * - PeriodeEintrag: Speichert erfasste Menstruationstage
  * - WohlbefindenEintrag: Speichert täglich erfasste Gesundheitsdaten
+ * - SymptomEintrag: Katalog aller Symptombezeichnungen
+ * - WohlbefindenSymptom: Zuordnung Eintrag ↔ Symptom
+ * - ZyklusEintrag: Aus den Periodentagen abgeleitete Zyklen (inkrementell gepflegt)
+ * - ZyklusStatistik: Laufende Statistik der Zykluslängen (eine Zeile)
+ * - EisprungErkennung: Zustand der Temperatur-Eisprungerkennung pro Zyklus
+ * - PrognoseStand: Grundlage der Prognosen (letzter Periodenbeginn, Zykluslänge);
+ *   die prognostizierten Tage berechnet der PrognoseGenerator bei Bedarf daraus
  *
  * Verfügbare DAOs:
  * - PeriodeDao: CRUD-Operationen für Periodeneinträge
@@ -23,24 +35,45 @@ import androidx.room.TypeConverters;
  * - ZyklusDao: Statistische Auswertungen von Zyklusdaten
  *
  * Besonderheiten:
- * - TypeConverters für LocalDate und List<String> Konvertierung
- * - Fallback zu destruktiver Migration bei Schema-Änderungen
+ * - TypeConverter für LocalDate (Epoch-Tag)
+ * - Versionierte Migrationen (ZyklusMigrationen) statt destruktiver Neuerstellung
+ * - Exportierte Schemas unter app/schemas für Migrationsprüfungen
+ * - WAL-Journal: Lesende Zugriffe blockieren nicht durch laufende Schreibvorgänge
+ * - Begrenzte Executors für Abfragen und Transaktionen
+ * - SchreibWarteschlange: einziger Schreibpfad, bündelt Schreibvorgänge zu Transaktionen
  * - Produktionsreife Implementierung: Alle Datenbankoperationen müssen in Background-Threads ausgeführt werden
  *
- * Schema-Version: 2
+ * Schema-Version: 9
  * - Version 1: Nur PeriodeEintrag
  * - Version 2: Hinzufügung von WohlbefindenEintrag
+ * - Version 3: Indizes auf datum, ein Eintrag pro Tag
+ * - Version 4: datum als Epoch-Tag (INTEGER) gespeichert
+ * - Version 5: Symptome normalisiert statt JSON-Spalte
+ * - Version 6: Materialisierte Zyklen (Tabelle zyklen)
+ * - Version 7: Laufende Zyklusstatistik (Tabelle zyklus_statistik)
+ * - Version 8: Temperatur-Eisprungerkennung (Tabelle eisprung_erkennung)
+ * - Version 9: Prognosestand (Tabelle prognose_stand), Prognosen werden nicht mehr
+ *   gespeichert (Spalte istPrognose entfällt, PrognoseGenerator berechnet sie)
  *
  * Wichtiger Hinweis zu Threading:
  * Diese Datenbank-Implementierung erlaubt KEINE Main-Thread-Queries mehr.
  * Alle Datenbankoperationen müssen in Background-Threads ausgeführt werden:
  *
- * Beispiel für korrekte Verwendung:
+ * Schreibvorgänge laufen über die SchreibWarteschlange. Echte Periodentage
+ * werden über die Methoden geschrieben, die zyklen und Statistik mitführen:
+ * ```java
+ * datenbank.schreibWarteschlange().einreihen(
+ *         () -> periodeDao.einfuegenEchtePeriodenTage(neueTage),
+ *         true,          // ändert Periodendaten: erhöht die Datenversion
+ *         rueckmeldung); // optional, auf dem Main Thread
+ * ```
+ *
+ * Beispiel für lesende Zugriffe (Abfrage-Executor der Datenbank):
  * ```java
- * new Thread(() -> {
+ * datenbank.getQueryExecutor().execute(() -> {
  *     try {
  *         // Datenbankoperationen hier
- *         List<PeriodeEintrag> perioden = periodeDao.getAllePerioden();
+ *         List<PeriodeEintrag> perioden = periodeDao.getAlleEchtenPerioden();
  *
  *         // UI-Updates auf Main-Thread
  *         runOnUiThread(() -> {
@@ -49,17 +82,26 @@ import androidx.room.TypeConverters;
  *     } catch (Exception e) {
  *         Log.e("DB", "Fehler", e);
  *     }
- * }).start();
+ * });
  * ```
  *
  * @author Andrey Eskin
- * @version 2.0
+ * @version 9.0
  * @since Mai 2025
  */
 @Database(
-        entities = {PeriodeEintrag.class, WohlbefindenEintrag.class},
-        version = 2,
-        exportSchema = false
+        entities = {
+                PeriodeEintrag.class,
+                WohlbefindenEintrag.class,
+                SymptomEintrag.class,
+                WohlbefindenSymptom.class,
+                ZyklusEintrag.class,
+                ZyklusStatistik.class,
+                EisprungErkennung.class,
+                PrognoseStand.class
+        },
+        version = 9,
+        exportSchema = true
 )
 @TypeConverters({DatumKonverter.class})
 public abstract class ZyklusDatenbank extends RoomDatabase {
@@ -67,6 +109,12 @@ public abstract class ZyklusDatenbank extends RoomDatabase {
     // Singleton-Instanz der Datenbank
     private static ZyklusDatenbank instanz;
 
+    // Anzahl paralleler Lese-Threads (WAL erlaubt gleichzeitiges Lesen)
+    private static final int ANZAHL_ABFRAGE_THREADS = 4;
+
+    // Einziger Schreibpfad der App, wird in getInstanz() angelegt
+    private SchreibWarteschlange schreibWarteschlange;
+
     /**
      * Abstrakte Methode zur Bereitstellung des PeriodeDao.
      * Room generiert automatisch die Implementierung.
@@ -91,6 +139,15 @@ public abstract class ZyklusDatenbank extends RoomDatabase {
      */
     public abstract ZyklusDao zyklusDao();
 
+    /**
+     * Liefert die Schreib-Warteschlange, über die alle Schreibvorgänge laufen.
+     *
+     * @return SchreibWarteschlange dieser Datenbank
+     */
+    public SchreibWarteschlange schreibWarteschlange() {
+        return schreibWarteschlange;
+    }
+
     /**
      * Singleton-Methode zur Bereitstellung der Datenbankinstanz.
      *
@@ -99,7 +156,9 @@ public abstract class ZyklusDatenbank extends RoomDatabase {
      * Aufrufen wiederverwendet.
      *
      * Konfiguration:
-     * - Fallback zu destruktiver Migration bei Schema-Änderungen
+     * - Alle Migrationen aus ZyklusMigrationen (Daten bleiben bei Updates erhalten)
+     * - WAL-Journal-Modus
+     * - Abfrage-Executor mit fester Thread-Anzahl, Transaktions-Executor mit einem Thread
      * - Produktionsreife Einstellung: Keine Main-Thread-Queries erlaubt
      * - Datenbankdatei: "zyklus_datenbank"
      *
@@ -116,10 +175,28 @@ public abstract class ZyklusDatenbank extends RoomDatabase {
                             ZyklusDatenbank.class,
                             "zyklus_datenbank" // Name der Datenbankdatei
                     )
-                    .fallbackToDestructiveMigration() // Bei Schema-Änderungen: DB neu erstellen
+                    .addMigrations(ZyklusMigrationen.ALLE) // Schema-Änderungen ohne Datenverlust
+                    .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                    .setQueryExecutor(erstelleExecutor("zyklus-db-abfrage", ANZAHL_ABFRAGE_THREADS))
+                    .setTransactionExecutor(erstelleExecutor("zyklus-db-schreiben", 1))
                     // HINWEIS: .allowMainThreadQueries() wurde entfernt für Produktionsreife!!!!!!
                     .build();
+            instanz.schreibWarteschlange =
+                    new SchreibWarteschlange(instanz, instanz.getTransactionExecutor());
         }
         return instanz;
     }
-}
\ No newline at end of file
+
+    /**
+     * Erstellt einen Executor mit fester Thread-Anzahl und benannten Threads.
+     */
+    private static ExecutorService erstelleExecutor(String name, int anzahlThreads) {
+        AtomicInteger zaehler = new AtomicInteger(1);
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + zaehler.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(anzahlThreads, threadFactory);
+    }
+}
@@ -0,0 +1,146 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ZyklusEintrag - Materialisierter Zyklus in der Tabelle "zyklen"
+ *
+ * Jede Zeile beschreibt eine zusammenhängende Periode und den daraus
+ * beginnenden Zyklus. Die Tabelle wird aus den echten Periodentagen abgeleitet
+ * und von PeriodeDao bei jedem Einfügen oder Löschen eines Tages
+ * inkrementell nachgeführt, damit Statistiken, Diagramme und die
+ * Phasenbestimmung nicht jedes Mal den gesamten Verlauf neu gruppieren müssen.
+ *
+ * Gruppierung:
+ * - Tage mit höchstens MAX_TAGESABSTAND Tagen Abstand gehören zur selben Periode
+ *   (ein vergessener Eintrag teilt eine Periode nicht)
+ *
+ * Felder:
+ * - startDatum: Erster Tag der Periode (= Zyklusbeginn), Primärschlüssel
+ * - endDatum: Letzter erfasster Tag der Periode
+ * - periodenLaenge: Anzahl der erfassten Periodentage (Lücken zählen nicht mit)
+ * - zyklusLaenge: Tage bis zum nächsten Periodenbeginn, null für den laufenden Zyklus
+ *
+ * Index auf zyklusLaenge: Minimum/Maximum für ZyklusStatistik ohne Tabellendurchlauf
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+@Entity(
+        tableName = "zyklen",
+        indices = {@Index(value = {"zyklusLaenge"})}
+)
+public class ZyklusEintrag {
+
+    /**
+     * Größter Abstand in Tagen zwischen zwei Tagen derselben Periode.
+     */
+    public static final int MAX_TAGESABSTAND = 2;
+
+    @PrimaryKey
+    @NonNull
+    private LocalDate startDatum;
+
+    @NonNull
+    private LocalDate endDatum;
+
+    private int periodenLaenge;
+
+    @Nullable
+    private Integer zyklusLaenge;
+
+    public ZyklusEintrag(@NonNull LocalDate startDatum, @NonNull LocalDate endDatum,
+                         int periodenLaenge, @Nullable Integer zyklusLaenge) {
+        this.startDatum = startDatum;
+        this.endDatum = endDatum;
+        this.periodenLaenge = periodenLaenge;
+        this.zyklusLaenge = zyklusLaenge;
+    }
+
+    /**
+     * Gruppiert aufsteigend sortierte Periodentage zu Zyklen.
+     * Die Zykluslänge wird zwischen aufeinanderfolgenden Perioden der Liste gesetzt,
+     * der letzte Zyklus der Liste bleibt offen (null).
+     *
+     * @param sortierteTage Echte Periodentage, aufsteigend sortiert
+     * @return Zyklen in aufsteigender Reihenfolge
+     */
+    public static List<ZyklusEintrag> ausPeriodenTagen(List<LocalDate> sortierteTage) {
+        List<ZyklusEintrag> zyklen = new ArrayList<>();
+        LocalDate start = null;
+        LocalDate ende = null;
+        int anzahlTage = 0;
+
+        for (LocalDate tag : sortierteTage) {
+            if (start == null) {
+                start = tag;
+            } else if (ChronoUnit.DAYS.between(ende, tag) > MAX_TAGESABSTAND) {
+                zyklen.add(new ZyklusEintrag(start, ende, anzahlTage, null));
+                start = tag;
+                anzahlTage = 0;
+            }
+            ende = tag;
+            anzahlTage++;
+        }
+        if (start != null) {
+            zyklen.add(new ZyklusEintrag(start, ende, anzahlTage, null));
+        }
+
+        for (int i = 0; i < zyklen.size() - 1; i++) {
+            zyklen.get(i).setZyklusLaenge((int) ChronoUnit.DAYS.between(
+                    zyklen.get(i).getStartDatum(), zyklen.get(i + 1).getStartDatum()));
+        }
+        return zyklen;
+    }
+
+    @NonNull
+    public LocalDate getStartDatum() {
+        return startDatum;
+    }
+
+    public void setStartDatum(@NonNull LocalDate startDatum) {
+        this.startDatum = startDatum;
+    }
+
+    @NonNull
+    public LocalDate getEndDatum() {
+        return endDatum;
+    }
+
+    public void setEndDatum(@NonNull LocalDate endDatum) {
+        this.endDatum = endDatum;
+    }
+
+    public int getPeriodenLaenge() {
+        return periodenLaenge;
+    }
+
+    public void setPeriodenLaenge(int periodenLaenge) {
+        this.periodenLaenge = periodenLaenge;
+    }
+
+    @Nullable
+    public Integer getZyklusLaenge() {
+        return zyklusLaenge;
+    }
+
+    public void setZyklusLaenge(@Nullable Integer zyklusLaenge) {
+        this.zyklusLaenge = zyklusLaenge;
+    }
+
+    @Override
+    public String toString() {
+        return "ZyklusEintrag{start=" + startDatum + ", ende=" + endDatum +
+                ", periodenLaenge=" + periodenLaenge + ", zyklusLaenge=" + zyklusLaenge + "}";
+    }
+}
@@ -0,0 +1,376 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ZyklusMigrationen - Versionierte Schema-Migrationen für die ZyklusDatenbank
+ *
+ * Jede Migration hebt das Schema genau um eine Version an und erhält dabei
+ * alle bestehenden Daten. Dadurch werden auch mehrjährige Verläufe beim
+ * App-Update direkt aktualisiert statt gelöscht.
+ *
+ * Versionshistorie:
+ * - 1 → 2: Tabelle wohlbefinden_eintraege hinzugefügt
+ * - 2 → 3: Indizes auf datum, Eindeutigkeit pro Tag für beide Tabellen
+ * - 3 → 4: datum als Epoch-Tag (INTEGER) statt ISO-String (TEXT)
+ * - 4 → 5: Symptome normalisiert (symptom_katalog, wohlbefinden_symptome)
+ * - 5 → 6: Materialisierte Zyklen (zyklen), aus bestehenden Periodentagen befüllt
+ * - 6 → 7: Laufende Zyklusstatistik (zyklus_statistik), Index auf zyklen.zyklusLaenge
+ * - 7 → 8: Zustand der Temperatur-Eisprungerkennung (eisprung_erkennung)
+ * - 8 → 9: Prognosestand (prognose_stand) statt gespeicherter Prognosezeilen
+ *
+ * Migrationen rufen keinen Code der Entity-Klassen auf: Regeln (z.B. die
+ * Gruppierung zu Zyklen) sind hier als SQL oder eigene Kopie festgeschrieben,
+ * damit spätere Änderungen an den Entities alte Datenbanken nicht anders
+ * aktualisieren.
+ *
+ * Neue Migrationen werden hier als Konstante ergänzt und in ALLE eingetragen.
+ * Die exportierten Schemas liegen unter app/schemas (siehe build.gradle.kts).
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class ZyklusMigrationen {
+
+    private ZyklusMigrationen() {
+        // Nur statische Konstanten
+    }
+
+    /**
+     * SQL-Ausdruck: ISO-Datum (TEXT) → Epoch-Tag (INTEGER), NULL bleibt NULL.
+     */
+    private static final String EPOCH_TAG_AUS_TEXT =
+            "CAST(julianday(`datum`) - 2440587.5 AS INTEGER)";
+
+    /**
+     * Version 1 → 2: Tabelle für Wohlbefindensdaten anlegen.
+     */
+    public static final Migration MIGRATION_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `wohlbefinden_eintraege` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`datum` TEXT, " +
+                    "`blutungsstaerke` TEXT, " +
+                    "`schmerzLevel` TEXT, " +
+                    "`stimmung` TEXT, " +
+                    "`symptome` TEXT, " +
+                    "`temperatur` REAL, " +
+                    "`puls` INTEGER, " +
+                    "`spo2` INTEGER)");
+        }
+    };
+
+    /**
+     * Version 2 → 3: Indizes und Eindeutigkeit pro Tag.
+     *
+     * Vor dem Anlegen der eindeutigen Indizes werden eventuell vorhandene
+     * Duplikate entfernt:
+     * - periode_eintraege: ältester Eintrag pro (datum, istPrognose) bleibt erhalten
+     * - wohlbefinden_eintraege: zuletzt geschriebener Eintrag pro datum bleibt erhalten
+     */
+    public static final Migration MIGRATION_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            // Duplikate bereinigen
+            db.execSQL("DELETE FROM `periode_eintraege` WHERE `id` NOT IN (" +
+                    "SELECT MIN(`id`) FROM `periode_eintraege` GROUP BY `datum`, `istPrognose`)");
+            db.execSQL("DELETE FROM `wohlbefinden_eintraege` WHERE `id` NOT IN (" +
+                    "SELECT MAX(`id`) FROM `wohlbefinden_eintraege` GROUP BY `datum`)");
+
+            // Indizes anlegen (Namen entsprechen der Room-Konvention)
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_periode_eintraege_datum_istPrognose` " +
+                    "ON `periode_eintraege` (`datum`, `istPrognose`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_periode_eintraege_istPrognose_datum` " +
+                    "ON `periode_eintraege` (`istPrognose`, `datum`)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_wohlbefinden_eintraege_datum` " +
+                    "ON `wohlbefinden_eintraege` (`datum`)");
+        }
+    };
+
+    /**
+     * Version 3 → 4: Datumsspalten von ISO-String auf Epoch-Tag umstellen.
+     *
+     * SQLite kann den Spaltentyp nicht ändern, daher werden beide Tabellen
+     * neu aufgebaut. Die Umrechnung erfolgt direkt in SQL:
+     * julianday('1970-01-01') = 2440587.5, ISO-Daten liegen immer auf Mitternacht.
+     */
+    public static final Migration MIGRATION_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            // periode_eintraege neu aufbauen
+            db.execSQL("CREATE TABLE IF NOT EXISTS `periode_eintraege_neu` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`datum` INTEGER, " +
+                    "`istPrognose` INTEGER NOT NULL)");
+            db.execSQL("INSERT INTO `periode_eintraege_neu` (`id`, `datum`, `istPrognose`) " +
+                    "SELECT `id`, " + EPOCH_TAG_AUS_TEXT + ", `istPrognose` FROM `periode_eintraege`");
+            db.execSQL("DROP TABLE `periode_eintraege`");
+            db.execSQL("ALTER TABLE `periode_eintraege_neu` RENAME TO `periode_eintraege`");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_periode_eintraege_datum_istPrognose` " +
+                    "ON `periode_eintraege` (`datum`, `istPrognose`)");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_periode_eintraege_istPrognose_datum` " +
+                    "ON `periode_eintraege` (`istPrognose`, `datum`)");
+
+            // wohlbefinden_eintraege neu aufbauen
+            db.execSQL("CREATE TABLE IF NOT EXISTS `wohlbefinden_eintraege_neu` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`datum` INTEGER, " +
+                    "`blutungsstaerke` TEXT, " +
+                    "`schmerzLevel` TEXT, " +
+                    "`stimmung` TEXT, " +
+                    "`symptome` TEXT, " +
+                    "`temperatur` REAL, " +
+                    "`puls` INTEGER, " +
+                    "`spo2` INTEGER)");
+            db.execSQL("INSERT INTO `wohlbefinden_eintraege_neu` (`id`, `datum`, `blutungsstaerke`, " +
+                    "`schmerzLevel`, `stimmung`, `symptome`, `temperatur`, `puls`, `spo2`) " +
+                    "SELECT `id`, " + EPOCH_TAG_AUS_TEXT + ", `blutungsstaerke`, `schmerzLevel`, " +
+                    "`stimmung`, `symptome`, `temperatur`, `puls`, `spo2` FROM `wohlbefinden_eintraege`");
+            db.execSQL("DROP TABLE `wohlbefinden_eintraege`");
+            db.execSQL("ALTER TABLE `wohlbefinden_eintraege_neu` RENAME TO `wohlbefinden_eintraege`");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_wohlbefinden_eintraege_datum` " +
+                    "ON `wohlbefinden_eintraege` (`datum`)");
+        }
+    };
+
+    /**
+     * Version 4 → 5: JSON-Spalte symptome durch Katalog und Zuordnungstabelle ersetzen.
+     *
+     * Ablauf:
+     * 1. symptom_katalog und wohlbefinden_symptome anlegen
+     * 2. Bestehende JSON-Listen einmalig parsen und in die neuen Tabellen übertragen
+     * 3. wohlbefinden_eintraege ohne die Spalte symptome neu aufbauen (IDs bleiben erhalten)
+     */
+    public static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `symptom_katalog` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`name` TEXT NOT NULL)");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_symptom_katalog_name` " +
+                    "ON `symptom_katalog` (`name`)");
+
+            // Bestehende JSON-Listen einmalig in eine Zwischentabelle ohne Fremdschlüssel übertragen,
+            // damit der Neuaufbau von wohlbefinden_eintraege keine Zuordnungen kaskadierend löscht
+            db.execSQL("CREATE TEMP TABLE `symptom_uebernahme` (`eintragId` INTEGER NOT NULL, `name` TEXT NOT NULL)");
+            Gson gson = new Gson();
+            Type listenTyp = new TypeToken<List<String>>() {}.getType();
+            try (Cursor cursor = db.query("SELECT `id`, `symptome` FROM `wohlbefinden_eintraege` " +
+                    "WHERE `symptome` IS NOT NULL")) {
+                while (cursor.moveToNext()) {
+                    long eintragId = cursor.getLong(0);
+                    List<String> symptome;
+                    try {
+                        symptome = gson.fromJson(cursor.getString(1), listenTyp);
+                    } catch (Exception e) {
+                        continue; // Unlesbare Altdaten überspringen
+                    }
+                    if (symptome == null) {
+                        continue;
+                    }
+                    for (String name : symptome) {
+                        if (name == null || name.isEmpty()) {
+                            continue;
+                        }
+                        db.execSQL("INSERT OR IGNORE INTO `symptom_katalog` (`name`) VALUES (?)",
+                                new Object[]{name});
+                        db.execSQL("INSERT INTO `symptom_uebernahme` (`eintragId`, `name`) VALUES (?, ?)",
+                                new Object[]{eintragId, name});
+                    }
+                }
+            }
+
+            // wohlbefinden_eintraege ohne JSON-Spalte neu aufbauen (IDs bleiben erhalten)
+            db.execSQL("CREATE TABLE IF NOT EXISTS `wohlbefinden_eintraege_neu` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`datum` INTEGER, " +
+                    "`blutungsstaerke` TEXT, " +
+                    "`schmerzLevel` TEXT, " +
+                    "`stimmung` TEXT, " +
+                    "`temperatur` REAL, " +
+                    "`puls` INTEGER, " +
+                    "`spo2` INTEGER)");
+            db.execSQL("INSERT INTO `wohlbefinden_eintraege_neu` (`id`, `datum`, `blutungsstaerke`, " +
+                    "`schmerzLevel`, `stimmung`, `temperatur`, `puls`, `spo2`) " +
+                    "SELECT `id`, `datum`, `blutungsstaerke`, `schmerzLevel`, `stimmung`, " +
+                    "`temperatur`, `puls`, `spo2` FROM `wohlbefinden_eintraege`");
+            db.execSQL("DROP TABLE `wohlbefinden_eintraege`");
+            db.execSQL("ALTER TABLE `wohlbefinden_eintraege_neu` RENAME TO `wohlbefinden_eintraege`");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_wohlbefinden_eintraege_datum` " +
+                    "ON `wohlbefinden_eintraege` (`datum`)");
+
+            // Zuordnungstabelle anlegen und aus der Zwischentabelle befüllen
+            db.execSQL("CREATE TABLE IF NOT EXISTS `wohlbefinden_symptome` (" +
+                    "`eintragId` INTEGER NOT NULL, " +
+                    "`symptomId` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`eintragId`, `symptomId`), " +
+                    "FOREIGN KEY(`eintragId`) REFERENCES `wohlbefinden_eintraege`(`id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE , " +
+                    "FOREIGN KEY(`symptomId`) REFERENCES `symptom_katalog`(`id`) " +
+                    "ON UPDATE NO ACTION ON DELETE CASCADE )");
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_wohlbefinden_symptome_symptomId` " +
+                    "ON `wohlbefinden_symptome` (`symptomId`)");
+            db.execSQL("INSERT OR IGNORE INTO `wohlbefinden_symptome` (`eintragId`, `symptomId`) " +
+                    "SELECT u.`eintragId`, k.`id` FROM `symptom_uebernahme` u " +
+                    "JOIN `symptom_katalog` k ON k.`name` = u.`name` ORDER BY u.rowid");
+            db.execSQL("DROP TABLE `symptom_uebernahme`");
+        }
+    };
+
+    /**
+     * Version 5 → 6: Tabelle zyklen anlegen und einmalig aus den echten
+     * Periodentagen befüllen. Danach pflegt PeriodeDao die Tabelle inkrementell.
+     */
+    public static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `zyklen` (" +
+                    "`startDatum` INTEGER NOT NULL, " +
+                    "`endDatum` INTEGER NOT NULL, " +
+                    "`periodenLaenge` INTEGER NOT NULL, " +
+                    "`zyklusLaenge` INTEGER, " +
+                    "PRIMARY KEY(`startDatum`))");
+
+            // Gruppierung wie bei Version 6 festgelegt (eigene Kopie, unabhängig von ZyklusEintrag):
+            // Lücken bis 2 Tage gehören zur selben Periode, periodenLaenge = Anzahl erfasster Tage
+            List<long[]> zyklen = new ArrayList<>(); // {startDatum, endDatum, periodenLaenge}
+            try (Cursor cursor = db.query("SELECT `datum` FROM `periode_eintraege` " +
+                    "WHERE `istPrognose` = 0 AND `datum` IS NOT NULL ORDER BY `datum` ASC")) {
+                long[] aktuell = null;
+                while (cursor.moveToNext()) {
+                    long tag = cursor.getLong(0);
+                    if (aktuell == null || tag - aktuell[1] > 2) {
+                        aktuell = new long[]{tag, tag, 0};
+                        zyklen.add(aktuell);
+                    }
+                    aktuell[1] = tag;
+                    aktuell[2]++;
+                }
+            }
+
+            for (int i = 0; i < zyklen.size(); i++) {
+                long[] zyklus = zyklen.get(i);
+                // Zykluslänge = Abstand zum nächsten Periodenbeginn, der letzte Zyklus bleibt offen
+                Long zyklusLaenge = i + 1 < zyklen.size() ? zyklen.get(i + 1)[0] - zyklus[0] : null;
+                db.execSQL("INSERT INTO `zyklen` (`startDatum`, `endDatum`, `periodenLaenge`, `zyklusLaenge`) " +
+                                "VALUES (?, ?, ?, ?)",
+                        new Object[]{zyklus[0], zyklus[1], zyklus[2], zyklusLaenge});
+            }
+        }
+    };
+
+    /**
+     * Version 6 → 7: Laufende Statistik der Zykluslängen anlegen und einmalig
+     * aus der Tabelle zyklen befüllen. Danach pflegt PeriodeDao sie inkrementell.
+     */
+    public static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE INDEX IF NOT EXISTS `index_zyklen_zyklusLaenge` " +
+                    "ON `zyklen` (`zyklusLaenge`)");
+            db.execSQL("CREATE TABLE IF NOT EXISTS `zyklus_statistik` (" +
+                    "`id` INTEGER NOT NULL, " +
+                    "`anzahl` INTEGER NOT NULL, " +
+                    "`mittelwert` REAL NOT NULL, " +
+                    "`m2` REAL NOT NULL, " +
+                    "`minimum` INTEGER NOT NULL, " +
+                    "`maximum` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`id`))");
+
+            // Gültige Längen wie bei Version 7 festgelegt (21-35 Tage), direkt in SQL aggregiert
+            db.execSQL("INSERT INTO `zyklus_statistik` " +
+                    "(`id`, `anzahl`, `mittelwert`, `m2`, `minimum`, `maximum`) " +
+                    "SELECT 1, COUNT(`zyklusLaenge`), " +
+                    "COALESCE(AVG(`zyklusLaenge`), 0), " +
+                    "COALESCE(TOTAL(`zyklusLaenge` * `zyklusLaenge`) " +
+                    "- TOTAL(`zyklusLaenge`) * AVG(`zyklusLaenge`), 0), " +
+                    "COALESCE(MIN(`zyklusLaenge`), 0), " +
+                    "COALESCE(MAX(`zyklusLaenge`), 0) " +
+                    "FROM `zyklen` WHERE `zyklusLaenge` BETWEEN 21 AND 35");
+        }
+    };
+
+    /**
+     * Version 7 → 8: Tabelle für den Zustand der Eisprungerkennung anlegen.
+     * Bleibt leer; der Zustand entsteht mit den nächsten Temperaturmessungen.
+     */
+    public static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `eisprung_erkennung` (" +
+                    "`zyklusStart` INTEGER NOT NULL, " +
+                    "`letzterTag` INTEGER, " +
+                    "`puffer` BLOB, " +
+                    "`anzahlWerte` INTEGER NOT NULL, " +
+                    "`eisprungDatum` INTEGER, " +
+                    "PRIMARY KEY(`zyklusStart`))");
+        }
+    };
+
+    /**
+     * Version 8 → 9: Prognosestand anlegen und aus den beiden neuesten Zyklen
+     * befüllen; gespeicherte Prognosezeilen entfallen, der Kalender berechnet
+     * Prognosen aus dem Stand. periode_eintraege wird ohne die Spalte istPrognose
+     * neu aufgebaut (eindeutiger Index nur noch auf datum). Reines SQL mit festen Werten
+     * (Zykluslängen 21-35 Tage, sonst 28), damit die Migration unabhängig von
+     * späteren Änderungen an Entity-Klassen gleich bleibt.
+     */
+    public static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(@NonNull SupportSQLiteDatabase db) {
+            db.execSQL("CREATE TABLE IF NOT EXISTS `prognose_stand` (" +
+                    "`id` INTEGER NOT NULL, " +
+                    "`periodenstart` INTEGER NOT NULL, " +
+                    "`zyklusLaenge` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`id`))");
+
+            // periode_eintraege ohne istPrognose neu aufbauen, nur echte Tage übernehmen
+            db.execSQL("CREATE TABLE IF NOT EXISTS `periode_eintraege_neu` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, " +
+                    "`datum` INTEGER)");
+            db.execSQL("INSERT INTO `periode_eintraege_neu` (`id`, `datum`) " +
+                    "SELECT `id`, `datum` FROM `periode_eintraege` WHERE `istPrognose` = 0");
+            db.execSQL("DROP TABLE `periode_eintraege`");
+            db.execSQL("ALTER TABLE `periode_eintraege_neu` RENAME TO `periode_eintraege`");
+            db.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS `index_periode_eintraege_datum` " +
+                    "ON `periode_eintraege` (`datum`)");
+
+            // Letzter Periodenbeginn und Länge des vorletzten Zyklus; ohne zwei Zyklen kein Stand
+            db.execSQL("INSERT INTO `prognose_stand` (`id`, `periodenstart`, `zyklusLaenge`) " +
+                    "SELECT 1, `startDatum`, CASE WHEN `laenge` BETWEEN 21 AND 35 THEN `laenge` ELSE 28 END " +
+                    "FROM (SELECT `neu`.`startDatum` AS `startDatum`, " +
+                    "COALESCE(`vor`.`zyklusLaenge`, `neu`.`startDatum` - `vor`.`startDatum`) AS `laenge` " +
+                    "FROM (SELECT `startDatum` FROM `zyklen` " +
+                    "ORDER BY `startDatum` DESC LIMIT 1) AS `neu`, " +
+                    "(SELECT `startDatum`, `zyklusLaenge` FROM `zyklen` " +
+                    "ORDER BY `startDatum` DESC LIMIT 1 OFFSET 1) AS `vor`)");
+        }
+    };
+
+    /**
+     * Alle Migrationen in aufsteigender Reihenfolge für den Room-Builder.
+     */
+    public static final Migration[] ALLE = {
+            MIGRATION_1_2,
+            MIGRATION_2_3,
+            MIGRATION_3_4,
+            MIGRATION_4_5,
+            MIGRATION_5_6,
+            MIGRATION_6_7,
+            MIGRATION_7_8,
+            MIGRATION_8_9
+    };
+}
@@ -0,0 +1,22 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Hilfsklasse für das Ergebnis von ZyklusDao.getZyklusSegmente().
+ * Fasst Zyklen, laufende Statistik und erkannte Eisprünge zusammen, die in
+ * einer gemeinsamen Transaktion gelesen wurden.
+ */
+public class ZyklusSegmente {
+    public final List<ZyklusEintrag> zyklen;
+    public final ZyklusStatistik statistik;
+    public final List<LocalDate> eisprungTage;
+
+    public ZyklusSegmente(List<ZyklusEintrag> zyklen, ZyklusStatistik statistik,
+                          List<LocalDate> eisprungTage) {
+        this.zyklen = zyklen;
+        this.statistik = statistik;
+        this.eisprungTage = eisprungTage;
+    }
+}
@@ -0,0 +1,216 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+import java.util.List;
+
+/**
+ * ZyklusStatistik - Laufende Statistik der gültigen Zykluslängen
+ *
+ * Einzige Zeile (id = 1) der Tabelle "zyklus_statistik". PeriodeDao führt sie
+ * zusammen mit der Tabelle zyklen nach: Für jeden neu gruppierten Zyklus wird
+ * die alte Länge entfernt und die neue hinzugefügt (Welford-Verfahren), jeweils in O(1).
+ * Durchschnitt und Regelmäßigkeit stehen damit ohne Durchlauf über den Verlauf bereit.
+ *
+ * Felder:
+ * - anzahl: Anzahl gültiger Zykluslängen (GUELTIG_MIN bis GUELTIG_MAX)
+ * - mittelwert: Laufender Mittelwert
+ * - m2: Summe der quadrierten Abweichungen vom Mittelwert (Varianz = m2 / anzahl)
+ * - minimum, maximum: Kleinste und größte gültige Länge (0 ohne Daten)
+ *
+ * Das Minimum bzw. Maximum lässt sich beim Entfernen nicht zurückrechnen;
+ * entfernen() meldet dann, dass die Grenzen neu gelesen werden müssen
+ * (Index auf zyklen.zyklusLaenge).
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+@Entity(tableName = "zyklus_statistik")
+public class ZyklusStatistik {
+
+    /**
+     * Schlüssel der einzigen Zeile.
+     */
+    public static final int ID = 1;
+
+    /**
+     * Bereich realistischer Zykluslängen in Tagen.
+     */
+    public static final int GUELTIG_MIN = 21;
+    public static final int GUELTIG_MAX = 35;
+
+    @PrimaryKey
+    private int id = ID;
+
+    private int anzahl;
+    private double mittelwert;
+    private double m2;
+    private int minimum;
+    private int maximum;
+
+    public ZyklusStatistik() {
+    }
+
+    /**
+     * Baut die Statistik aus einer Liste von Zyklen auf (Migration, Listen-Varianten).
+     */
+    public static ZyklusStatistik aus(List<ZyklusEintrag> zyklen) {
+        ZyklusStatistik statistik = new ZyklusStatistik();
+        if (zyklen != null) {
+            for (ZyklusEintrag zyklus : zyklen) {
+                if (zyklus.getZyklusLaenge() != null) {
+                    statistik.hinzufuegen(zyklus.getZyklusLaenge());
+                }
+            }
+        }
+        return statistik;
+    }
+
+    /**
+     * Prüft, ob eine Länge in die Statistik eingeht.
+     */
+    public static boolean istGueltig(int laenge) {
+        return laenge >= GUELTIG_MIN && laenge <= GUELTIG_MAX;
+    }
+
+    /**
+     * Nimmt eine Zykluslänge auf (ungültige Längen werden ignoriert).
+     */
+    public void hinzufuegen(int laenge) {
+        if (!istGueltig(laenge)) {
+            return;
+        }
+        anzahl++;
+        double delta = laenge - mittelwert;
+        mittelwert += delta / anzahl;
+        m2 += delta * (laenge - mittelwert);
+
+        if (anzahl == 1) {
+            minimum = laenge;
+            maximum = laenge;
+        } else {
+            minimum = Math.min(minimum, laenge);
+            maximum = Math.max(maximum, laenge);
+        }
+    }
+
+    /**
+     * Entfernt eine zuvor aufgenommene Zykluslänge (ungültige Längen werden ignoriert).
+     *
+     * @return true, wenn Minimum oder Maximum danach neu ermittelt werden müssen
+     */
+    public boolean entfernen(int laenge) {
+        if (!istGueltig(laenge) || anzahl == 0) {
+            return false;
+        }
+        if (anzahl == 1) {
+            anzahl = 0;
+            mittelwert = 0;
+            m2 = 0;
+            minimum = 0;
+            maximum = 0;
+            return false;
+        }
+
+        double alterMittelwert = mittelwert;
+        mittelwert = (anzahl * mittelwert - laenge) / (anzahl - 1);
+        m2 = Math.max(0.0, m2 - (laenge - alterMittelwert) * (laenge - mittelwert));
+        anzahl--;
+
+        return laenge == minimum || laenge == maximum;
+    }
+
+    /**
+     * Ersetzt die Längen neu gruppierter Zyklen: erst alle alten entfernen,
+     * dann alle neuen hinzufügen (Nachführung durch PeriodeDao).
+     *
+     * @return true, wenn Minimum oder Maximum danach neu ermittelt werden müssen
+     */
+    public boolean ersetzen(List<Integer> alteLaengen, List<Integer> neueLaengen) {
+        boolean grenzenVeraltet = false;
+        for (Integer laenge : alteLaengen) {
+            if (laenge != null) {
+                grenzenVeraltet |= entfernen(laenge);
+            }
+        }
+        for (Integer laenge : neueLaengen) {
+            if (laenge != null) {
+                hinzufuegen(laenge);
+            }
+        }
+        return grenzenVeraltet && hatDaten();
+    }
+
+    public boolean hatDaten() {
+        return anzahl > 0;
+    }
+
+    /**
+     * Populationsvarianz der gültigen Zykluslängen.
+     */
+    public double getVarianz() {
+        return anzahl > 0 ? m2 / anzahl : 0.0;
+    }
+
+    public double getStandardAbweichung() {
+        return Math.sqrt(getVarianz());
+    }
+
+    // ===== GETTER UND SETTER (für Room) =====
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public int getAnzahl() {
+        return anzahl;
+    }
+
+    public void setAnzahl(int anzahl) {
+        this.anzahl = anzahl;
+    }
+
+    public double getMittelwert() {
+        return mittelwert;
+    }
+
+    public void setMittelwert(double mittelwert) {
+        this.mittelwert = mittelwert;
+    }
+
+    public double getM2() {
+        return m2;
+    }
+
+    public void setM2(double m2) {
+        this.m2 = m2;
+    }
+
+    public int getMinimum() {
+        return minimum;
+    }
+
+    public void setMinimum(int minimum) {
+        this.minimum = minimum;
+    }
+
+    public int getMaximum() {
+        return maximum;
+    }
+
+    public void setMaximum(int maximum) {
+        this.maximum = maximum;
+    }
+
+    @Override
+    public String toString() {
+        return "ZyklusStatistik{anzahl=" + anzahl + ", mittelwert=" + mittelwert +
+                ", m2=" + m2 + ", min=" + minimum + ", max=" + maximum + "}";
+    }
+}
@@ -0,0 +1,98 @@
+package at.fhj.andrey.zyklustracker.kalender;
+
+import com.kizitonwose.calendarview.CalendarView;
+import com.kizitonwose.calendarview.model.DayOwner;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * KalenderNeuzeichnung - Gebündelte, gezielte Aktualisierung der CalendarView
+ *
+ * Änderungen werden nicht sofort an die CalendarView weitergegeben, sondern
+ * gesammelt und einmal pro Frame (postOnAnimation) ausgeführt:
+ * - Mehrere Meldungen desselben Tages führen zu einem einzigen Neuzeichnen
+ * - Einzelne Tage werden über notifyDateChanged gezielt neu gebunden
+ * - Nur wenn wirklich alles betroffen ist, wird der ganze Kalender neu gebunden;
+ *   ausstehende Einzeltage sind darin enthalten
+ *
+ * Nur für den Main Thread gedacht.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class KalenderNeuzeichnung {
+
+    private static final DayOwner[] BESITZER = DayOwner.values();
+
+    private final CalendarView calendarView;
+    private final Set<LocalDate> ausstehendeTage = new HashSet<>();
+    private final Runnable ausfuehren = this::ausfuehren;
+    private boolean allesAusstehend = false;
+    private boolean geplant = false;
+
+    public KalenderNeuzeichnung(CalendarView calendarView) {
+        this.calendarView = calendarView;
+    }
+
+    /**
+     * Zeichnet einen Tag im nächsten Frame neu.
+     */
+    public void tag(LocalDate tag) {
+        if (tag == null) {
+            return;
+        }
+        if (!allesAusstehend) {
+            ausstehendeTage.add(tag);
+        }
+        planen();
+    }
+
+    /**
+     * Zeichnet mehrere Tage im nächsten Frame neu.
+     */
+    public void tage(Collection<LocalDate> tage) {
+        if (tage.isEmpty()) {
+            return;
+        }
+        if (!allesAusstehend) {
+            ausstehendeTage.addAll(tage);
+        }
+        planen();
+    }
+
+    /**
+     * Bindet im nächsten Frame alle angezeigten Tage neu.
+     */
+    public void alles() {
+        allesAusstehend = true;
+        ausstehendeTage.clear();
+        planen();
+    }
+
+    private void planen() {
+        if (!geplant) {
+            geplant = true;
+            calendarView.postOnAnimation(ausfuehren);
+        }
+    }
+
+    private void ausfuehren() {
+        geplant = false;
+        if (allesAusstehend) {
+            allesAusstehend = false;
+            calendarView.notifyCalendarChanged();
+            return;
+        }
+        for (LocalDate tag : ausstehendeTage) {
+            // Auch dort, wo der Tag als Vor- oder Folgetag eines angrenzenden Monats erscheint
+            for (DayOwner besitzer : BESITZER) {
+                calendarView.notifyDateChanged(tag, besitzer);
+            }
+        }
+        ausstehendeTage.clear();
+    }
+}
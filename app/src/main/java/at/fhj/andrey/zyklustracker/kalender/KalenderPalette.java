@@ -0,0 +1,93 @@
+package at.fhj.andrey.zyklustracker.kalender;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Color;
+import android.graphics.drawable.Drawable;
+
+import androidx.core.content.ContextCompat;
+
+import at.fhj.andrey.zyklustracker.R;
+
+/**
+ * KalenderPalette - Einmalig aufgelöste Farben, Drawables und Texte für den Kalender
+ *
+ * Farben und Drawables werden pro Activity genau einmal aus den Ressourcen
+ * geladen statt bei jedem Binden einer Kalenderzelle. Von den Drawables wird
+ * nur der ConstantState gehalten: Jede Zelle erzeugt daraus beim ersten Bedarf
+ * eigene Instanzen (Drawables dürfen nicht von mehreren Views geteilt werden,
+ * da Grenzen und Callback an der Instanz hängen). Danach entstehen beim
+ * Blättern keine neuen Objekte mehr.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class KalenderPalette {
+
+    // Tageszahlen 1-31, damit das Binden keine Strings erzeugt
+    private static final String[] TAGESZAHLEN = new String[32];
+
+    static {
+        for (int i = 1; i < TAGESZAHLEN.length; i++) {
+            TAGESZAHLEN[i] = String.valueOf(i);
+        }
+    }
+
+    public final int textFarbe = Color.BLACK;
+    public final int textFarbeAusgewaehlt = Color.WHITE;
+    public final int textFarbeAndererMonat;
+
+    private final Resources resources;
+    // Index = Markierung aus KalenderTagesStatus, null = kein Punkt
+    private final Drawable.ConstantState[] markierungen =
+            new Drawable.ConstantState[KalenderTagesStatus.MENSTRUATION + 1];
+    private final Drawable.ConstantState ausgewaehlt;
+    private final Drawable.ConstantState heute;
+
+    public KalenderPalette(Context context) {
+        resources = context.getResources();
+        textFarbeAndererMonat = ContextCompat.getColor(context, R.color.text_disabled);
+
+        markierungen[KalenderTagesStatus.FRUCHTBAR] = zustand(context, R.drawable.dot_fertile);
+        markierungen[KalenderTagesStatus.EISPRUNG] = zustand(context, R.drawable.triangle_ovulation);
+        markierungen[KalenderTagesStatus.PROGNOSE] = zustand(context, R.drawable.dot_predicted_period);
+        markierungen[KalenderTagesStatus.MENSTRUATION] = zustand(context, R.drawable.dot_menstruation);
+        ausgewaehlt = zustand(context, R.drawable.selected_day_background);
+        heute = zustand(context, R.drawable.bg_today);
+    }
+
+    public static String getTageszahl(int tagImMonat) {
+        return TAGESZAHLEN[tagImMonat];
+    }
+
+    /**
+     * Neue Drawable-Instanz für eine Markierung oder null (KEINE).
+     */
+    public Drawable neueMarkierung(byte markierung) {
+        Drawable.ConstantState zustand = markierungen[markierung];
+        return zustand != null ? zustand.newDrawable(resources) : null;
+    }
+
+    /**
+     * Neue Drawable-Instanz für den Hintergrund des ausgewählten Tages.
+     */
+    public Drawable neuerAuswahlHintergrund() {
+        return ausgewaehlt.newDrawable(resources);
+    }
+
+    /**
+     * Neue Drawable-Instanz für den Hintergrund des heutigen Tages.
+     */
+    public Drawable neuerHeuteHintergrund() {
+        return heute.newDrawable(resources);
+    }
+
+    private static Drawable.ConstantState zustand(Context context, int drawableId) {
+        Drawable drawable = ContextCompat.getDrawable(context, drawableId);
+        if (drawable == null || drawable.getConstantState() == null) {
+            throw new IllegalStateException("Kalender-Drawable nicht verfügbar: " + drawableId);
+        }
+        return drawable.getConstantState();
+    }
+}
@@ -0,0 +1,114 @@
+package at.fhj.andrey.zyklustracker.kalender;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import at.fhj.andrey.zyklustracker.zyklusanalyse.PrognoseGenerator;
+
+/**
+ * KalenderSnapshot - Unveränderlicher Datenstand der Kalenderanzeige
+ *
+ * Enthält alles, was der Kalender zum Zeichnen braucht: die echten Periodentage,
+ * die Prognose und den daraus aufgebauten KalenderTagesStatus. Ein Snapshot
+ * wird nie verändert - neue Periodendaten oder ein neuer Prognosestand erzeugen
+ * im Hintergrund einen neuen Snapshot, der anschließend mit einem einzigen
+ * Referenztausch veröffentlicht wird (siehe ZyklusActivity).
+ *
+ * Vorteile:
+ * - Das Binden der Kalenderzellen kommt ohne Sperren aus
+ * - Ein halb aufgebauter Stand ist nie sichtbar
+ * - Periodentage und Prognose passen im selben Snapshot immer zusammen
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class KalenderSnapshot {
+
+    /**
+     * Ausgangsstand vor dem ersten Laden aus der Datenbank.
+     */
+    public static final KalenderSnapshot LEER =
+            new KalenderSnapshot(new long[0], PrognoseGenerator.LEER, KalenderTagesStatus.LEER, false);
+
+    // Echte Periodentage als Epoch-Tage, aufsteigend sortiert
+    private final long[] periodenTage;
+    private final PrognoseGenerator prognose;
+    private final KalenderTagesStatus tagesStatus;
+    private final boolean periodenGeladen;
+
+    private KalenderSnapshot(long[] periodenTage, PrognoseGenerator prognose,
+                             KalenderTagesStatus tagesStatus, boolean periodenGeladen) {
+        this.periodenTage = periodenTage;
+        this.prognose = prognose;
+        this.tagesStatus = tagesStatus;
+        this.periodenGeladen = periodenGeladen;
+    }
+
+    /**
+     * Neuer Snapshot mit geänderten Periodentagen. Läuft im Hintergrund.
+     *
+     * @param tage Alle echten Periodentage aus der Datenbank
+     */
+    public KalenderSnapshot mitPeriodenTagen(List<LocalDate> tage) {
+        long[] epochTage = new long[tage.size()];
+        for (int i = 0; i < epochTage.length; i++) {
+            epochTage[i] = tage.get(i).toEpochDay();
+        }
+        Arrays.sort(epochTage);
+        return new KalenderSnapshot(epochTage, prognose,
+                KalenderTagesStatus.erstelle(epochTage, prognose), true);
+    }
+
+    /**
+     * Neuer Snapshot mit geänderter Prognose. Läuft im Hintergrund.
+     */
+    public KalenderSnapshot mitPrognose(PrognoseGenerator neuePrognose) {
+        return new KalenderSnapshot(periodenTage, neuePrognose,
+                KalenderTagesStatus.erstelle(periodenTage, neuePrognose), periodenGeladen);
+    }
+
+    /**
+     * @return true, wenn der Tag als echter Periodentag erfasst ist
+     */
+    public boolean istPeriodenTag(LocalDate tag) {
+        return Arrays.binarySearch(periodenTage, tag.toEpochDay()) >= 0;
+    }
+
+    /**
+     * @return true, sobald die Periodentage einmal aus der Datenbank geladen wurden
+     */
+    public boolean istPeriodenGeladen() {
+        return periodenGeladen;
+    }
+
+    public int getAnzahlPeriodenTage() {
+        return periodenTage.length;
+    }
+
+    public PrognoseGenerator getPrognose() {
+        return prognose;
+    }
+
+    public KalenderTagesStatus getTagesStatus() {
+        return tagesStatus;
+    }
+
+    /**
+     * @return true, wenn beide Snapshots dieselben echten Periodentage enthalten
+     */
+    public boolean gleichePeriodenTage(KalenderSnapshot andere) {
+        return Arrays.equals(periodenTage, andere.periodenTage);
+    }
+
+    /**
+     * Fügt alle Tage eines Monats, deren Markierung sich gegenüber einem
+     * älteren Snapshot unterscheidet, zum Ergebnis hinzu.
+     */
+    public void sammleGeaenderteTage(KalenderSnapshot alt, YearMonth monat, Collection<LocalDate> ergebnis) {
+        tagesStatus.sammleGeaenderteTage(alt.tagesStatus, monat, ergebnis);
+    }
+}
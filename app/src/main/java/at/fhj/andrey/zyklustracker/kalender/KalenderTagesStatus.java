@@ -0,0 +1,198 @@
+package at.fhj.andrey.zyklustracker.kalender;
+
+import android.util.LruCache;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collection;
+
+import at.fhj.andrey.zyklustracker.zyklusanalyse.PrognoseGenerator;
+
+/**
+ * KalenderTagesStatus - Vorberechnete Markierung jedes Kalendertags
+ *
+ * Fasst echte Periodentage und Prognosen zu einer einzigen Markierung pro Tag
+ * zusammen, damit das Binden einer Kalenderzelle unabhängig von der Länge des
+ * Verlaufs ein reiner Array-Zugriff ist:
+ * - Echte Periodentage: gepacktes byte[] pro Epoch-Tag zwischen erstem und
+ *   letztem erfasstem Tag, einmalig im Hintergrund aufgebaut
+ * - Pro Monat: byte[] mit der endgültigen Markierung jedes Tages, beim ersten
+ *   Zugriff aus beiden Quellen zusammengesetzt und danach in einem kleinen
+ *   LRU-Speicher gemerkt (Nachbarmonate lädt der MonatsVorabLader vor)
+ *
+ * Markierungen pro Tag (Priorität absteigend):
+ * - MENSTRUATION: Echter Periodentag
+ * - PROGNOSE: Prognostizierte Menstruation
+ * - EISPRUNG, FRUCHTBAR: Aus dem PrognoseGenerator
+ *
+ * Die Eingaben sind unveränderlich, bei neuen Periodendaten oder einem neuen
+ * Prognosestand wird ein neuer Status erzeugt. Der Monats-Speicher ist
+ * threadsicher, Monate können daher auch im Hintergrund vorberechnet werden.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class KalenderTagesStatus {
+
+    public static final byte KEINE = PrognoseGenerator.KEINE;
+    public static final byte FRUCHTBAR = PrognoseGenerator.FRUCHTBAR;
+    public static final byte EISPRUNG = PrognoseGenerator.EISPRUNG;
+    public static final byte PROGNOSE = PrognoseGenerator.PERIODE;
+    public static final byte MENSTRUATION = 4;
+
+    private static final int ZULETZT_ANZAHL = 3;
+    private static final int MONATE_IM_SPEICHER = 12;
+
+    /**
+     * Status ohne Periodentage und ohne Prognose.
+     */
+    public static final KalenderTagesStatus LEER =
+            new KalenderTagesStatus(0, new byte[0], PrognoseGenerator.LEER);
+
+    private final long ersterTag;
+    private final byte[] echteTage;
+    private final PrognoseGenerator prognose;
+
+    // Zuletzt zusammengesetzte Monate (LruCache ist threadsicher)
+    private final LruCache<YearMonth, MonatsMarkierungen> monate = new LruCache<>(MONATE_IM_SPEICHER);
+
+    // Zuletzt gelesene Monate: Eine Monatsseite zeigt Tage aus bis zu drei Monaten
+    // (Vor- und Folgetage), das Binden findet sie so ohne Map-Zugriff und ohne Allokation.
+    // Unveränderlicher Halter in einem volatile-Feld: Jeder Thread sieht einen vollständig
+    // aufgebauten Stand; gleichzeitige Fehltreffer verdrängen sich höchstens gegenseitig.
+    private volatile ZuletztGelesen zuletzt = ZuletztGelesen.LEER;
+
+    private KalenderTagesStatus(long ersterTag, byte[] echteTage, PrognoseGenerator prognose) {
+        this.ersterTag = ersterTag;
+        this.echteTage = echteTage;
+        this.prognose = prognose;
+    }
+
+    /**
+     * Baut den Status auf. Läuft im Hintergrund, nicht auf dem Main Thread.
+     *
+     * @param periodenTage Alle echten Periodentage als Epoch-Tage, aufsteigend sortiert
+     * @param prognose     Prognose aus dem aktuellen Prognosestand
+     */
+    public static KalenderTagesStatus erstelle(long[] periodenTage, PrognoseGenerator prognose) {
+        if (periodenTage.length == 0) {
+            return new KalenderTagesStatus(0, new byte[0], prognose);
+        }
+
+        long min = periodenTage[0];
+        byte[] echteTage = new byte[(int) (periodenTage[periodenTage.length - 1] - min + 1)];
+        for (long epochTag : periodenTage) {
+            echteTage[(int) (epochTag - min)] = MENSTRUATION;
+        }
+        return new KalenderTagesStatus(min, echteTage, prognose);
+    }
+
+    /**
+     * Markierung eines Tages (KEINE, FRUCHTBAR, EISPRUNG, PROGNOSE oder MENSTRUATION).
+     * Setzt den Monat des Tages beim ersten Zugriff zusammen. Gedacht für das
+     * Binden auf dem Main Thread; im Hintergrund vorberechnen() verwenden.
+     */
+    public byte getMarkierung(LocalDate datum) {
+        int jahr = datum.getYear();
+        int monatImJahr = datum.getMonthValue();
+        ZuletztGelesen gelesen = zuletzt;
+        for (MonatsMarkierungen monat : gelesen.monate) {
+            if (monat != null && monat.jahr == jahr && monat.monat == monatImJahr) {
+                return monat.tage[datum.getDayOfMonth() - 1];
+            }
+        }
+
+        MonatsMarkierungen monat = berechneMonat(YearMonth.of(jahr, monatImJahr));
+        zuletzt = gelesen.mit(monat);
+        return monat.tage[datum.getDayOfMonth() - 1];
+    }
+
+    /**
+     * Setzt einen Monat vorab zusammen (z.B. die Nachbarmonate des sichtbaren Monats).
+     */
+    public void vorberechnen(YearMonth monat) {
+        berechneMonat(monat);
+    }
+
+    public PrognoseGenerator getPrognose() {
+        return prognose;
+    }
+
+    /**
+     * Fügt alle Tage eines Monats, deren Markierung sich gegenüber einem
+     * älteren Status unterscheidet, zum Ergebnis hinzu.
+     */
+    public void sammleGeaenderteTage(KalenderTagesStatus alt, YearMonth monat, Collection<LocalDate> ergebnis) {
+        byte[] neu = berechneMonat(monat).tage;
+        byte[] vorher = alt.berechneMonat(monat).tage;
+        for (int i = 0; i < neu.length; i++) {
+            if (neu[i] != vorher[i]) {
+                ergebnis.add(monat.atDay(i + 1));
+            }
+        }
+    }
+
+    /**
+     * Liefert die gemerkten Markierungen eines Monats oder setzt sie in einem Durchlauf zusammen.
+     */
+    private MonatsMarkierungen berechneMonat(YearMonth monat) {
+        MonatsMarkierungen markierungen = monate.get(monat);
+        if (markierungen != null) {
+            return markierungen;
+        }
+
+        byte[] tage = new byte[monat.lengthOfMonth()];
+        prognose.markiereMonat(monat, tage);
+
+        // Echte Periodentage haben Vorrang vor jeder Prognose
+        long ersterTagDesMonats = monat.atDay(1).toEpochDay();
+        for (int i = 0; i < tage.length; i++) {
+            long index = ersterTagDesMonats + i - ersterTag;
+            if (index >= 0 && index < echteTage.length && echteTage[(int) index] == MENSTRUATION) {
+                tage[i] = MENSTRUATION;
+            }
+        }
+
+        markierungen = new MonatsMarkierungen(monat.getYear(), monat.getMonthValue(), tage);
+        monate.put(monat, markierungen);
+        return markierungen;
+    }
+
+    /**
+     * Endgültige Markierungen eines Monats (Index 0 = 1. Tag).
+     */
+    private static final class MonatsMarkierungen {
+        final int jahr;
+        final int monat;
+        final byte[] tage;
+
+        MonatsMarkierungen(int jahr, int monat, byte[] tage) {
+            this.jahr = jahr;
+            this.monat = monat;
+            this.tage = tage;
+        }
+    }
+
+    /**
+     * Unveränderlicher Satz der zuletzt gelesenen Monate; ein neuer Monat
+     * ersetzt reihum den ältesten in einer neuen Instanz.
+     */
+    private static final class ZuletztGelesen {
+        static final ZuletztGelesen LEER = new ZuletztGelesen(new MonatsMarkierungen[ZULETZT_ANZAHL], 0);
+
+        final MonatsMarkierungen[] monate;
+        final int naechsterPlatz;
+
+        private ZuletztGelesen(MonatsMarkierungen[] monate, int naechsterPlatz) {
+            this.monate = monate;
+            this.naechsterPlatz = naechsterPlatz;
+        }
+
+        ZuletztGelesen mit(MonatsMarkierungen monat) {
+            MonatsMarkierungen[] neu = monate.clone();
+            neu[naechsterPlatz] = monat;
+            return new ZuletztGelesen(neu, (naechsterPlatz + 1) % ZULETZT_ANZAHL);
+        }
+    }
+}
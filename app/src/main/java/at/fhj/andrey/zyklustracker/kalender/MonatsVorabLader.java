@@ -0,0 +1,132 @@
+package at.fhj.andrey.zyklustracker.kalender;
+
+import android.content.Context;
+import android.util.Log;
+import android.util.LruCache;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicReference;
+
+import at.fhj.andrey.zyklustracker.zyklusanalyse.AnalyseErgebnis;
+import at.fhj.andrey.zyklustracker.zyklusanalyse.BewertungsRegeln;
+import at.fhj.andrey.zyklustracker.zyklusanalyse.PeriodenSegmentierung;
+import at.fhj.andrey.zyklustracker.zyklusanalyse.PhasenBereich;
+import at.fhj.andrey.zyklustracker.zyklusanalyse.ZyklusPhaseBerechnung;
+
+/**
+ * MonatsVorabLader - Berechnet die Nachbarmonate des Kalenders im Hintergrund vor
+ *
+ * Bei jedem Monatswechsel werden für den angezeigten Monat und seine beiden
+ * Nachbarmonate auf dem Kalender-Executor vorbereitet:
+ * - Tagesstatus inkl. Prognosen (KalenderTagesStatus des aktuellen Snapshots)
+ * - Zyklusphasen und Zyklustage (PhasenBereich aus der PeriodenSegmentierung)
+ *
+ * Die Ergebnisse liegen in einem kleinen LRU-Speicher. Ein Eintrag gilt nur,
+ * solange Kalender-Snapshot und Datenversion der Segmente unverändert sind;
+ * danach wird er beim nächsten Vorladen ersetzt. Das Blättern selbst wartet
+ * so nie auf eine Berechnung.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class MonatsVorabLader {
+
+    private static final String TAG = "MonatsVorabLader";
+
+    // Angezeigter Monat, Nachbarmonate und etwas Reserve für schnelles Hin- und Herblättern
+    private static final int CACHE_GROESSE = 6;
+
+    private final ExecutorService executor;
+    private final AtomicReference<KalenderSnapshot> kalenderSnapshot;
+    private final PeriodenSegmentierung segmentierung;
+    private final ZyklusPhaseBerechnung phasenBerechnung;
+    private final LruCache<YearMonth, MonatsDaten> monate = new LruCache<>(CACHE_GROESSE);
+
+    /**
+     * @param executor         Hintergrund-Executor für die Berechnungen (Kalender-Executor der Activity)
+     * @param kalenderSnapshot Aktuell veröffentlichter Kalender-Snapshot
+     */
+    public MonatsVorabLader(Context context, ExecutorService executor,
+                            AtomicReference<KalenderSnapshot> kalenderSnapshot) {
+        this.executor = executor;
+        this.kalenderSnapshot = kalenderSnapshot;
+        this.segmentierung = PeriodenSegmentierung.getInstanz(context);
+        this.phasenBerechnung = new ZyklusPhaseBerechnung(BewertungsRegeln.getInstanz(context));
+    }
+
+    /**
+     * Bereitet den Monat und seine beiden Nachbarmonate im Hintergrund vor.
+     * Kehrt sofort zurück; nach dem Beenden des Executors (Activity zerstört)
+     * wird nichts mehr vorgeladen. Aufruf nur vom Main Thread, der den
+     * Executor auch beendet.
+     */
+    public void vorladen(YearMonth monat) {
+        if (executor.isShutdown()) {
+            return;
+        }
+        executor.execute(() -> {
+            lade(monat);
+            lade(monat.plusMonths(1));
+            lade(monat.minusMonths(1));
+        });
+    }
+
+    /**
+     * Phasenanalyse eines Tages aus einem vorgeladenen Monat.
+     *
+     * @return Ergebnis oder null, wenn der Monat nicht (mehr aktuell) vorgeladen ist
+     */
+    public AnalyseErgebnis getPhasenAnalyse(LocalDate datum) {
+        MonatsDaten daten = monate.get(YearMonth.from(datum));
+        if (daten == null || daten.datenVersion != segmentierung.getDatenVersion()) {
+            return null;
+        }
+
+        ZyklusPhaseBerechnung.ZyklusPhase phase = daten.phasen.getPhase(datum);
+        // Vor dem ersten erfassten Zyklus zählt der Tag als Zyklustag 1
+        int zyklusTag = Math.max(daten.phasen.getZyklusTag(datum), 1);
+        return new AnalyseErgebnis(phase, zyklusTag);
+    }
+
+    /**
+     * Berechnet einen Monat, falls er noch nicht zum aktuellen Datenstand vorliegt.
+     */
+    private void lade(YearMonth monat) {
+        KalenderSnapshot snapshot = kalenderSnapshot.get();
+        // Version vor dem Laden lesen: ändern sich die Daten währenddessen, gilt der Eintrag als veraltet
+        long datenVersion = segmentierung.getDatenVersion();
+
+        MonatsDaten vorhanden = monate.get(monat);
+        if (vorhanden != null && vorhanden.snapshot == snapshot && vorhanden.datenVersion == datenVersion) {
+            return;
+        }
+
+        try {
+            snapshot.getTagesStatus().vorberechnen(monat);
+            PhasenBereich phasen = phasenBerechnung.berechnePhasenBereich(
+                    monat.atDay(1), monat.atEndOfMonth(), segmentierung.getIndex());
+            monate.put(monat, new MonatsDaten(snapshot, datenVersion, phasen));
+        } catch (Exception e) {
+            // Vorladen ist optional - der Kalender berechnet den Monat sonst beim Binden
+            Log.e(TAG, "Fehler beim Vorladen von " + monat + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Vorberechnete Daten eines Monats und der Stand, zu dem sie gehören.
+     */
+    private static final class MonatsDaten {
+        final KalenderSnapshot snapshot;
+        final long datenVersion;
+        final PhasenBereich phasen;
+
+        MonatsDaten(KalenderSnapshot snapshot, long datenVersion, PhasenBereich phasen) {
+            this.snapshot = snapshot;
+            this.datenVersion = datenVersion;
+            this.phasen = phasen;
+        }
+    }
+}
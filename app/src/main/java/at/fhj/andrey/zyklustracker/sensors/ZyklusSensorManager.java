@@ -10,8 +10,9 @@ import org.jetbrains.annotations.NotNull;
 import java.time.LocalDate;
 import java.util.Set;
 
+import at.fhj.andrey.zyklustracker.datenbank.SchreibWarteschlange;
 import at.fhj.andrey.zyklustracker.datenbank.WohlbefindenDao;
-import at.fhj.andrey.zyklustracker.datenbank.WohlbefindenEintrag;
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusDao;
 import at.fhj.andrey.zyklustracker.datenbank.ZyklusDatenbank;
 import kotlin.Unit;
 
@@ -22,6 +23,7 @@ public class ZyklusSensorManager {
     private Context context;
     private ZyklusDatenbank datenbank;
     private WohlbefindenDao wohlbefindenDao;
+    private ZyklusDao zyklusDao;
 
     private SensorData aktuelleHcDaten;
 
@@ -44,6 +46,7 @@ public class ZyklusSensorManager {
         this.context = context.getApplicationContext();
         this.datenbank = ZyklusDatenbank.getInstanz(this.context);
         this.wohlbefindenDao = datenbank.wohlbefindenDao();
+        this.zyklusDao = datenbank.zyklusDao();
         this.aktuelleHcDaten = null;
         this.realHealthConnectManager = new RealHealthConnectManager(this.context);
         Log.d(TAG, "ZyklusSensorManager (Health Connect mit Callbacks) erfolgreich initialisiert");
@@ -170,85 +173,78 @@ public class ZyklusSensorManager {
         }
 
         LocalDate heute = LocalDate.now();
+        SensorData daten = aktuelleHcDaten;
         Log.d(TAG, "Starte Speicherung der Sensordaten für: " + heute);
 
-        // WICHTIG: Background-Thread für Datenbankoperationen
-        new Thread(() -> {
-            try {
-                // Schritt 1: Bestehenden oder neuen Eintrag holen
-                WohlbefindenEintrag eintrag = wohlbefindenDao.getEintragNachDatum(heute);
-                boolean istNeuerEintrag = (eintrag == null);
-
-                if (istNeuerEintrag) {
-                    eintrag = new WohlbefindenEintrag(heute);
-                    Log.d(TAG, "Neuer Wohlbefinden-Eintrag erstellt für: " + heute);
-                } else {
-                    Log.d(TAG, "Bestehender Eintrag gefunden für: " + heute);
-                }
-
-                boolean datenAktualisiert = false;
-                StringBuilder updateLog = new StringBuilder("Aktualisierte Sensordaten: ");
-
-                // Schritt 2: Validierung und Speicherung der Sensordaten
-
-                // 2a) Herzfrequenz validieren und speichern
-                if (istValidePulsfrequenz(aktuelleHcDaten.getHeartRate())) {
-                    int neuePulsfrequenz = (int) aktuelleHcDaten.getHeartRate();
-                    eintrag.setPuls(neuePulsfrequenz);
-                    updateLog.append("Puls=").append(neuePulsfrequenz).append("bpm ");
-                    datenAktualisiert = true;
-                    Log.d(TAG, "Pulsfrequenz gespeichert: " + neuePulsfrequenz + " bpm");
-                } else {
-                    Log.w(TAG, "Ungültige Pulsfrequenz ignoriert: " + aktuelleHcDaten.getHeartRate());
-                }
+        // Schritt 1: Validierung der Sensordaten (ohne Datenbankzugriff)
+        StringBuilder updateLog = new StringBuilder("Aktualisierte Sensordaten: ");
 
-                // 2b) Sauerstoffsättigung validieren und speichern
-                if (istValideSpO2(aktuelleHcDaten.getOxygenSaturation())) {
-                    int neueSpO2 = (int) aktuelleHcDaten.getOxygenSaturation();
-                    eintrag.setSpo2(neueSpO2);
-                    updateLog.append("SpO2=").append(neueSpO2).append("% ");
-                    datenAktualisiert = true;
-                    Log.d(TAG, "Sauerstoffsättigung gespeichert: " + neueSpO2 + "%");
-                } else {
-                    Log.w(TAG, "Ungültige SpO2-Werte ignoriert: " + aktuelleHcDaten.getOxygenSaturation());
-                }
+        // 1a) Herzfrequenz validieren
+        final Integer neuePulsfrequenz;
+        if (istValidePulsfrequenz(daten.getHeartRate())) {
+            neuePulsfrequenz = (int) daten.getHeartRate();
+            updateLog.append("Puls=").append(neuePulsfrequenz).append("bpm ");
+        } else {
+            neuePulsfrequenz = null;
+            Log.w(TAG, "Ungültige Pulsfrequenz ignoriert: " + daten.getHeartRate());
+        }
 
-                // 2c) Körpertemperatur validieren und speichern
-                if (istValideTemperatur(aktuelleHcDaten.getBodyTemperature())) {
-                    float neueTemperatur = aktuelleHcDaten.getBodyTemperature();
-                    eintrag.setTemperatur(neueTemperatur);
-                    updateLog.append("Temp=").append(String.format("%.1f", neueTemperatur)).append("°C ");
-                    datenAktualisiert = true;
-                    Log.d(TAG, "Körpertemperatur gespeichert: " + String.format("%.1f", neueTemperatur) + "°C");
-                } else {
-                    Log.w(TAG, "Ungültige Temperatur ignoriert: " + aktuelleHcDaten.getBodyTemperature());
-                }
+        // 1b) Sauerstoffsättigung validieren
+        final Integer neueSpO2;
+        if (istValideSpO2(daten.getOxygenSaturation())) {
+            neueSpO2 = (int) daten.getOxygenSaturation();
+            updateLog.append("SpO2=").append(neueSpO2).append("% ");
+        } else {
+            neueSpO2 = null;
+            Log.w(TAG, "Ungültige SpO2-Werte ignoriert: " + daten.getOxygenSaturation());
+        }
 
-                // Schritt 3: In Datenbank speichern falls Daten aktualisiert wurden
-                if (datenAktualisiert) {
-                    if (istNeuerEintrag) {
-                        wohlbefindenDao.einfuegenEintrag(eintrag);
-                        Log.i(TAG, "Neuer Wohlbefinden-Eintrag mit Sensordaten erstellt");
-                    } else {
-                        wohlbefindenDao.aktualisierenEintrag(eintrag);
-                        Log.i(TAG, "Bestehender Eintrag mit neuen Sensordaten aktualisiert");
-                    }
+        // 1c) Körpertemperatur validieren
+        final Float neueTemperatur;
+        if (istValideTemperatur(daten.getBodyTemperature())) {
+            neueTemperatur = daten.getBodyTemperature();
+            updateLog.append("Temp=").append(String.format("%.1f", neueTemperatur)).append("°C ");
+        } else {
+            neueTemperatur = null;
+            Log.w(TAG, "Ungültige Temperatur ignoriert: " + daten.getBodyTemperature());
+        }
 
-                    Log.i(TAG, updateLog.toString());
+        if (neuePulsfrequenz == null && neueSpO2 == null && neueTemperatur == null) {
+            Log.w(TAG, "Keine gültigen Sensordaten zum Speichern gefunden");
+            benachrichtigeUeberUngueltigeDaten();
+            return;
+        }
 
-                    // UI über erfolgreiche Speicherung informieren
-                    benachrichtigeUeberErfolgreicheSpeicherung();
+        // Schritt 2: Schreibvorgang über die gemeinsame Schreib-Warteschlange der Datenbank.
+        // Nur eine Temperatur schreibt Periodendaten (eisprung_erkennung) und erhöht die Datenversion
+        final boolean aendertEisprungErkennung = neueTemperatur != null;
+        datenbank.schreibWarteschlange().einreihen(() -> {
+            // Upsert auf den eindeutigen Tag: nur gültige Werte setzen, kein vorheriges Lesen
+            boolean neu = wohlbefindenDao.upsertSensorwerte(
+                    heute, neueTemperatur, neuePulsfrequenz, neueSpO2);
+            Log.i(TAG, neu
+                    ? "Neuer Wohlbefinden-Eintrag mit Sensordaten erstellt"
+                    : "Bestehender Eintrag mit neuen Sensordaten aktualisiert");
+
+            // Fortlaufende Eisprungerkennung in derselben Transaktion
+            if (neueTemperatur != null && zyklusDao.verarbeiteTemperatur(heute, neueTemperatur)) {
+                Log.i(TAG, "Eisprung per Temperaturanstieg erkannt");
+            }
+        }, aendertEisprungErkennung, new SchreibWarteschlange.Rueckmeldung() {
+            @Override
+            public void onErfolg() {
+                Log.i(TAG, updateLog.toString());
 
-                } else {
-                    Log.w(TAG, "Keine gültigen Sensordaten zum Speichern gefunden");
-                    benachrichtigeUeberUngueltigeDaten();
-                }
+                // UI über erfolgreiche Speicherung informieren
+                benachrichtigeUeberErfolgreicheSpeicherung();
+            }
 
-            } catch (Exception e) {
-                Log.e(TAG, "Fehler beim Speichern der Sensordaten in die Datenbank", e);
-                benachrichtigeUeberSpeicherFehler(e.getMessage());
+            @Override
+            public void onFehler(Exception fehler) {
+                Log.e(TAG, "Fehler beim Speichern der Sensordaten in die Datenbank", fehler);
+                benachrichtigeUeberSpeicherFehler(fehler.getMessage());
             }
-        }).start();
+        });
     }
 
     /**
@@ -19,7 +19,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import at.fhj.andrey.zyklustracker.datenbank.WohlbefindenDao;
-import at.fhj.andrey.zyklustracker.datenbank.WohlbefindenEintrag;
+import at.fhj.andrey.zyklustracker.datenbank.VitalAggregat;
+import at.fhj.andrey.zyklustracker.datenbank.VitalWert;
 import at.fhj.andrey.zyklustracker.datenbank.ZyklusDatenbank;
 
 /**
@@ -123,29 +124,15 @@ public class PulsStatistikManager {
                 LocalDate endDatum = LocalDate.now();
                 LocalDate startDatum = endDatum.minusDays(zeitraumTage);
 
-                // Daten aus Datenbank laden
-                List<WohlbefindenEintrag> eintraege =
-                        wellbeingDao.getEintraegeZwischen(startDatum, endDatum);
+                // Kennzahlen in einem Durchlauf von SQLite berechnen lassen
+                VitalAggregat aggregat =
+                        wellbeingDao.getPulsAggregat(startDatum, endDatum);
 
-                // Pulsdaten extrahieren
-                List<Integer> pulswerte = new ArrayList<>();
-                for (WohlbefindenEintrag eintrag : eintraege) {
-                    if (eintrag.getPuls() != null && eintrag.getPuls() > 0) {
-                        pulswerte.add(eintrag.getPuls());
-                    }
-                }
-                Log.d(TAG, "=== PULS DEBUG ===");
-                Log.d(TAG, "Zeitraum: " + startDatum + " bis " + endDatum);
-                Log.d(TAG, "Geladene Einträge gesamt: " + eintraege.size());
-                Log.d(TAG, "Extrahierte Pulswerte: " + pulswerte.size() + " Werte");
-                if (!pulswerte.isEmpty()) {
-                    Log.d(TAG, "Erster Puls: " + pulswerte.get(0) + "bpm");
-                    Log.d(TAG, "Letzter Puls: " + pulswerte.get(pulswerte.size()-1) + "bpm");
-                }
-                Log.d(TAG, "=== PULS DEBUG ENDE ===");
+                Log.d(TAG, "Zeitraum: " + startDatum + " bis " + endDatum +
+                        ", Pulswerte: " + aggregat.anzahl);
 
                 // Statistiken berechnen
-                PulsStatistiken statistiken = berechnePulsStatistiken(pulswerte);
+                PulsStatistiken statistiken = berechnePulsStatistiken(aggregat);
 
                 // Callback auf Main Thread
                 mainHandler.post(() -> {
@@ -168,11 +155,11 @@ public class PulsStatistikManager {
     /**
      * Berechnet die eigentlichen Pulsstatistiken
      */
-    private PulsStatistiken berechnePulsStatistiken(List<Integer> pulswerte) {
-        Log.d(TAG, "Berechne Statistiken für " + pulswerte.size() + " Pulswerte");
+    private PulsStatistiken berechnePulsStatistiken(VitalAggregat aggregat) {
+        Log.d(TAG, "Berechne Statistiken für " + aggregat.anzahl + " Pulswerte");
 
         // Keine Daten vorhanden
-        if (pulswerte.isEmpty()) {
+        if (!aggregat.hatDaten()) {
             return new PulsStatistiken(
                     0f, 0, 0, 0, 0f, false,
                     "Keine Pulsdaten vorhanden",
@@ -181,34 +168,20 @@ public class PulsStatistikManager {
             );
         }
 
-        // Grundstatistiken berechnen
-        float summe = 0f;
-        int min = pulswerte.get(0);
-        int max = pulswerte.get(0);
-
-        for (Integer puls : pulswerte) {
-            summe += puls;
-            if (puls < min) min = puls;
-            if (puls > max) max = puls;
-        }
-
-        float durchschnitt = summe / pulswerte.size();
-
-        // Standardabweichung berechnen
-        float varianzSumme = 0f;
-        for (Integer puls : pulswerte) {
-            varianzSumme += Math.pow(puls - durchschnitt, 2);
-        }
-        float standardAbweichung = (float) Math.sqrt(varianzSumme / pulswerte.size());
+        // Grundstatistiken aus der SQL-Aggregation übernehmen
+        float durchschnitt = (float) aggregat.durchschnitt;
+        int min = (int) aggregat.minimum;
+        int max = (int) aggregat.maximum;
+        float standardAbweichung = (float) aggregat.getStandardAbweichung();
 
         // Bewertungen generieren
         String bewertung = bewertePuls(durchschnitt, min, max);
-        String empfehlung = generiereEmpfehlung(durchschnitt, min, max, pulswerte.size());
+        String empfehlung = generiereEmpfehlung(durchschnitt, min, max, aggregat.anzahl);
         String fitnessBewertung = bewerteFitnessLevel(durchschnitt);
 
-        boolean hatGenugDaten = pulswerte.size() >= 14; // Mindestens eine Woche Daten
+        boolean hatGenugDaten = aggregat.anzahl >= 14; // Mindestens eine Woche Daten
 
-        return new PulsStatistiken((int)durchschnitt, min, max, pulswerte.size(),
+        return new PulsStatistiken((int)durchschnitt, min, max, aggregat.anzahl,
                 standardAbweichung, hatGenugDaten, bewertung, empfehlung, fitnessBewertung);
     }
 
@@ -281,21 +254,19 @@ public class PulsStatistikManager {
                 LocalDate endDatum = LocalDate.now();
                 LocalDate startDatum = endDatum.minusDays(zeitraumTage);
 
-                // Daten aus Datenbank laden
-                List<WohlbefindenEintrag> eintraege =
-                        wellbeingDao.getEintraegeZwischen(startDatum, endDatum);
+                // Nur die benötigte Spalte laden (Projektion statt SELECT *)
+                List<VitalWert> werte =
+                        wellbeingDao.getPulsWerteZwischen(startDatum, endDatum);
 
                 // Chart-Daten vorbereiten
                 List<Entry> entries = new ArrayList<>();
                 List<String> dates = new ArrayList<>();
 
-                int index = 0;
-                for (WohlbefindenEintrag eintrag : eintraege) {
-                    if (eintrag.getPuls() != null && eintrag.getPuls() > 0) {
-                        entries.add(new Entry(index, eintrag.getPuls()));
-                        dates.add(eintrag.getDatum().format(DateTimeFormatter.ofPattern("dd.MM")));
-                        index++;
-                    }
+                DateTimeFormatter format = DateTimeFormatter.ofPattern("dd.MM");
+                for (int index = 0; index < werte.size(); index++) {
+                    VitalWert wert = werte.get(index);
+                    entries.add(new Entry(index, wert.wert));
+                    dates.add(wert.getDatum().format(format));
                 }
 
                 // Chart auf Main Thread aktualisieren
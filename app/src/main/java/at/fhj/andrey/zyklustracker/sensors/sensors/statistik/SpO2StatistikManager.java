@@ -17,7 +17,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import at.fhj.andrey.zyklustracker.datenbank.WohlbefindenDao;
-import at.fhj.andrey.zyklustracker.datenbank.WohlbefindenEintrag;
+import at.fhj.andrey.zyklustracker.datenbank.VitalAggregat;
+import at.fhj.andrey.zyklustracker.datenbank.VitalWert;
 import at.fhj.andrey.zyklustracker.datenbank.ZyklusDatenbank;
 import android.os.Handler;
 import android.os.Looper;
@@ -124,31 +125,15 @@ public class SpO2StatistikManager {
                 LocalDate endDatum = LocalDate.now();
                 LocalDate startDatum = endDatum.minusDays(zeitraumTage);
 
-                // Daten aus Datenbank laden
-                List<WohlbefindenEintrag> eintraege =
-                        wellbeingDao.getEintraegeZwischen(startDatum, endDatum);
+                // Kennzahlen in einem Durchlauf von SQLite berechnen lassen
+                VitalAggregat aggregat =
+                        wellbeingDao.getSpo2Aggregat(startDatum, endDatum, SPO2_KRITISCH);
 
-                // SpO2-Daten extrahieren
-                List<Integer> spo2Werte = new ArrayList<>();
-                for (WohlbefindenEintrag eintrag : eintraege) {
-                    if (eintrag.getSpo2() != null && eintrag.getSpo2() > 0) {
-                        spo2Werte.add(eintrag.getSpo2());
-                    }
-                }
-
-
-                Log.d(TAG, "=== SPO2 DEBUG ===");
-                Log.d(TAG, "Zeitraum: " + startDatum + " bis " + endDatum);
-                Log.d(TAG, "Geladene Einträge gesamt: " + eintraege.size());
-                Log.d(TAG, "Extrahierte SpO2-Werte: " + spo2Werte.size() + " Werte");
-                if (!spo2Werte.isEmpty()) {
-                    Log.d(TAG, "Erster SpO2: " + spo2Werte.get(0) + "%");
-                    Log.d(TAG, "Letzter SpO2: " + spo2Werte.get(spo2Werte.size()-1) + "%");
-                }
-                Log.d(TAG, "=== SPO2 DEBUG ENDE ===");
+                Log.d(TAG, "Zeitraum: " + startDatum + " bis " + endDatum +
+                        ", SpO2-Werte: " + aggregat.anzahl);
 
                 // Statistiken berechnen
-                SpO2Statistiken statistiken = berechneSpO2Statistiken(spo2Werte);
+                SpO2Statistiken statistiken = berechneSpO2Statistiken(aggregat);
 
                 // Callback auf Main Thread
                 mainHandler.post(() -> {
@@ -171,11 +156,11 @@ public class SpO2StatistikManager {
     /**
      * Berechnet die eigentlichen SpO2-Statistiken
      */
-    private SpO2Statistiken berechneSpO2Statistiken(List<Integer> spo2Werte) {
-        Log.d(TAG, "Berechne Statistiken für " + spo2Werte.size() + " SpO2-Werte");
+    private SpO2Statistiken berechneSpO2Statistiken(VitalAggregat aggregat) {
+        Log.d(TAG, "Berechne Statistiken für " + aggregat.anzahl + " SpO2-Werte");
 
         // Keine Daten vorhanden
-        if (spo2Werte.isEmpty()) {
+        if (!aggregat.hatDaten()) {
             return new SpO2Statistiken(
                     0f, 0, 0, 0, 0f, false,
                     "Keine SpO2-Daten vorhanden",
@@ -185,36 +170,21 @@ public class SpO2StatistikManager {
             );
         }
 
-        // Grundstatistiken berechnen
-        float summe = 0f;
-        int min = spo2Werte.get(0);
-        int max = spo2Werte.get(0);
-        int anzahlKritischeWerte = 0;
-
-        for (Integer spo2 : spo2Werte) {
-            summe += spo2;
-            if (spo2 < min) min = spo2;
-            if (spo2 > max) max = spo2;
-            if (spo2 < SPO2_KRITISCH) anzahlKritischeWerte++;
-        }
-
-        float durchschnitt = summe / spo2Werte.size();
-
-        // Standardabweichung berechnen
-        float varianzSumme = 0f;
-        for (Integer spo2 : spo2Werte) {
-            varianzSumme += Math.pow(spo2 - durchschnitt, 2);
-        }
-        float standardAbweichung = (float) Math.sqrt(varianzSumme / spo2Werte.size());
+        // Grundstatistiken aus der SQL-Aggregation übernehmen
+        float durchschnitt = (float) aggregat.durchschnitt;
+        int min = (int) aggregat.minimum;
+        int max = (int) aggregat.maximum;
+        int anzahlKritischeWerte = aggregat.anzahlKritisch;
+        float standardAbweichung = (float) aggregat.getStandardAbweichung();
 
         // Bewertungen generieren
         String bewertung = bewerteSpO2(durchschnitt, min, max, anzahlKritischeWerte);
-        String empfehlung = generiereEmpfehlung(durchschnitt, min, max, anzahlKritischeWerte, spo2Werte.size());
+        String empfehlung = generiereEmpfehlung(durchschnitt, min, max, anzahlKritischeWerte, aggregat.anzahl);
         String gesundheitsStatus = bewerteGesundheitsStatus(durchschnitt, anzahlKritischeWerte);
 
-        boolean hatGenugDaten = spo2Werte.size() >= 4; // Mindestens eine Woche Daten
+        boolean hatGenugDaten = aggregat.anzahl >= 4; // Mindestens eine Woche Daten
 
-        return new SpO2Statistiken((int)durchschnitt, min, max, spo2Werte.size(),
+        return new SpO2Statistiken((int)durchschnitt, min, max, aggregat.anzahl,
                 standardAbweichung, hatGenugDaten, bewertung, empfehlung,
                 gesundheitsStatus, anzahlKritischeWerte);
     }
@@ -290,21 +260,19 @@ public class SpO2StatistikManager {
                 LocalDate endDatum = LocalDate.now();
                 LocalDate startDatum = endDatum.minusDays(zeitraumTage);
 
-                // Daten aus Datenbank laden
-                List<WohlbefindenEintrag> eintraege =
-                        wellbeingDao.getEintraegeZwischen(startDatum, endDatum);
+                // Nur die benötigte Spalte laden (Projektion statt SELECT *)
+                List<VitalWert> werte =
+                        wellbeingDao.getSpo2WerteZwischen(startDatum, endDatum);
 
                 // Chart-Daten vorbereiten
                 List<Entry> entries = new ArrayList<>();
                 List<String> dates = new ArrayList<>();
 
-                int index = 0;
-                for (WohlbefindenEintrag eintrag : eintraege) {
-                    if (eintrag.getSpo2() != null && eintrag.getSpo2() > 0) {
-                        entries.add(new Entry(index, eintrag.getSpo2()));
-                        dates.add(eintrag.getDatum().format(DateTimeFormatter.ofPattern("dd.MM")));
-                        index++;
-                    }
+                DateTimeFormatter format = DateTimeFormatter.ofPattern("dd.MM");
+                for (int index = 0; index < werte.size(); index++) {
+                    VitalWert wert = werte.get(index);
+                    entries.add(new Entry(index, wert.wert));
+                    dates.add(wert.getDatum().format(format));
                 }
 
                 // Chart auf Main Thread aktualisieren
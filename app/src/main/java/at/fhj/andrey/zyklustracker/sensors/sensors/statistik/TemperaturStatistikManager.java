@@ -17,7 +17,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import at.fhj.andrey.zyklustracker.datenbank.WohlbefindenDao;
-import at.fhj.andrey.zyklustracker.datenbank.WohlbefindenEintrag;
+import at.fhj.andrey.zyklustracker.datenbank.VitalAggregat;
+import at.fhj.andrey.zyklustracker.datenbank.VitalWert;
 import at.fhj.andrey.zyklustracker.datenbank.ZyklusDatenbank;
 import android.os.Handler;
 import android.os.Looper;
@@ -118,38 +119,15 @@ public class TemperaturStatistikManager {
                 LocalDate endDatum = LocalDate.now();
                 LocalDate startDatum = endDatum.minusDays(zeitraumTage);
 
-                // Daten aus Datenbank laden
-                List<WohlbefindenEintrag> eintraege =
-                        wellbeingDao.getEintraegeZwischen(startDatum, endDatum);
+                // Kennzahlen in einem Durchlauf von SQLite berechnen lassen
+                VitalAggregat aggregat =
+                        wellbeingDao.getTemperaturAggregat(startDatum, endDatum);
 
-                // Temperaturdaten extrahieren
-                List<Float> temperaturen = new ArrayList<>();
-                for (WohlbefindenEintrag eintrag : eintraege) {
-                    if (eintrag.getTemperatur() != null && eintrag.getTemperatur() > 0) {
-                        temperaturen.add(eintrag.getTemperatur());
-                    }
-                }
-                // NACH dem Extrahieren der Temperaturdaten:
-
-                Log.d(TAG, "=== TEMPERATUR DEBUG ===");
-                Log.d(TAG, "Zeitraum: " + startDatum + " bis " + endDatum);
-                Log.d(TAG, "Geladene Einträge gesamt: " + eintraege.size());
-
-// Debug: Alle Einträge durchgehen
-                for (WohlbefindenEintrag eintrag : eintraege) {
-                    Log.d(TAG, "Eintrag " + eintrag.getDatum() + ": Temperatur=" + eintrag.getTemperatur() +
-                            ", Puls=" + eintrag.getPuls() + ", SpO2=" + eintrag.getSpo2());
-                }
-
-                Log.d(TAG, "Extrahierte Temperaturen: " + temperaturen.size() + " Werte");
-                if (!temperaturen.isEmpty()) {
-                    Log.d(TAG, "Erste Temperatur: " + temperaturen.get(0) + "°C");
-                    Log.d(TAG, "Letzte Temperatur: " + temperaturen.get(temperaturen.size()-1) + "°C");
-                }
-                Log.d(TAG, "=== TEMPERATUR DEBUG ENDE ===");
+                Log.d(TAG, "Zeitraum: " + startDatum + " bis " + endDatum +
+                        ", Temperaturwerte: " + aggregat.anzahl);
 
                 // Statistiken berechnen
-                TemperaturStatistiken statistiken = berechneTemperaturStatistiken(temperaturen);
+                TemperaturStatistiken statistiken = berechneTemperaturStatistiken(aggregat);
 
                 // Callback auf Main Thread
                 mainHandler.post(() -> {
@@ -172,11 +150,11 @@ public class TemperaturStatistikManager {
     /**
      * WICHTIGE FEHLENDE METHODE: Berechnet die eigentlichen Statistiken
      */
-    private TemperaturStatistiken berechneTemperaturStatistiken(List<Float> temperaturen) {
-        Log.d(TAG, "Berechne Statistiken für " + temperaturen.size() + " Temperaturwerte");
+    private TemperaturStatistiken berechneTemperaturStatistiken(VitalAggregat aggregat) {
+        Log.d(TAG, "Berechne Statistiken für " + aggregat.anzahl + " Temperaturwerte");
 
         // Keine Daten vorhanden
-        if (temperaturen.isEmpty()) {
+        if (!aggregat.hatDaten()) {
             return new TemperaturStatistiken(
                     0f, 0f, 0f, 0, 0f, false,
                     "Keine Temperaturdaten vorhanden",
@@ -184,33 +162,19 @@ public class TemperaturStatistikManager {
             );
         }
 
-        // Grundstatistiken berechnen
-        float summe = 0f;
-        float min = temperaturen.get(0);
-        float max = temperaturen.get(0);
-
-        for (Float temp : temperaturen) {
-            summe += temp;
-            if (temp < min) min = temp;
-            if (temp > max) max = temp;
-        }
-
-        float durchschnitt = summe / temperaturen.size();
-
-        // Standardabweichung berechnen
-        float varianzSumme = 0f;
-        for (Float temp : temperaturen) {
-            varianzSumme += Math.pow(temp - durchschnitt, 2);
-        }
-        float standardAbweichung = (float) Math.sqrt(varianzSumme / temperaturen.size());
+        // Grundstatistiken aus der SQL-Aggregation übernehmen
+        float durchschnitt = (float) aggregat.durchschnitt;
+        float min = (float) aggregat.minimum;
+        float max = (float) aggregat.maximum;
+        float standardAbweichung = (float) aggregat.getStandardAbweichung();
 
         // Bewertung generieren
         String bewertung = bewerteBedeutung(durchschnitt, min, max, standardAbweichung);
-        String empfehlung = generiereEmpfehlung(durchschnitt, min, max, temperaturen.size());
+        String empfehlung = generiereEmpfehlung(durchschnitt, min, max, aggregat.anzahl);
 
-        boolean hatGenugDaten = temperaturen.size() >= 7; // Mindestens eine Woche Daten
+        boolean hatGenugDaten = aggregat.anzahl >= 7; // Mindestens eine Woche Daten
 
-        return new TemperaturStatistiken(durchschnitt, min, max, temperaturen.size(),
+        return new TemperaturStatistiken(durchschnitt, min, max, aggregat.anzahl,
                 standardAbweichung, hatGenugDaten, bewertung, empfehlung);
     }
 
@@ -266,21 +230,19 @@ public class TemperaturStatistikManager {
                 LocalDate endDatum = LocalDate.now();
                 LocalDate startDatum = endDatum.minusDays(zeitraumTage);
 
-                // Daten aus Datenbank laden
-                List<WohlbefindenEintrag> eintraege =
-                        wellbeingDao.getEintraegeZwischen(startDatum, endDatum);
+                // Nur die benötigte Spalte laden (Projektion statt SELECT *)
+                List<VitalWert> werte =
+                        wellbeingDao.getTemperaturWerteZwischen(startDatum, endDatum);
 
                 // Chart-Daten vorbereiten
                 List<Entry> entries = new ArrayList<>();
                 List<String> dates = new ArrayList<>();
 
-                int index = 0;
-                for (WohlbefindenEintrag eintrag : eintraege) {
-                    if (eintrag.getTemperatur() != null && eintrag.getTemperatur() > 0) {
-                        entries.add(new Entry(index, eintrag.getTemperatur()));
-                        dates.add(eintrag.getDatum().format(DateTimeFormatter.ofPattern("dd.MM")));
-                        index++;
-                    }
+                DateTimeFormatter format = DateTimeFormatter.ofPattern("dd.MM");
+                for (int index = 0; index < werte.size(); index++) {
+                    VitalWert wert = werte.get(index);
+                    entries.add(new Entry(index, wert.wert));
+                    dates.add(wert.getDatum().format(format));
                 }
 
                 // Chart auf Main Thread aktualisieren
@@ -12,8 +12,6 @@ import com.github.mikephil.charting.charts.LineChart;
 import com.github.mikephil.charting.charts.PieChart;
 import com.github.mikephil.charting.formatter.ValueFormatter;
 
-import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 import android.graphics.drawable.ColorDrawable;
 import android.view.LayoutInflater;
@@ -437,15 +435,14 @@ public class ChartManager {
         try {
             Log.d(TAG, "Aktualisiere Zyklus-Chart...");
 
-            if (data.periodDates.size() < 2) {
+            if (data.cycles.size() < 2) {
                 cycleChart.setNoDataText("Zu wenig Daten für Zyklustrends");
                 cycleChart.invalidate();
                 return;
             }
 
-            // Berechnungen (gleich wie im StatistikManager)
-            List<List<LocalDate>> periods = groupConsecutiveDates(data.periodDates);
-            List<Long> cycleLengths = calculateCycleLengths(periods);
+            // Vorberechnete Zykluslängen (gleiche Filterung wie im StatistikManager)
+            List<Long> cycleLengths = StatistikManager.calculateCycleLengths(data.cycles);
 
             if (cycleLengths.isEmpty()) {
                 cycleChart.setNoDataText("Keine gültigen Zyklusdaten");
@@ -682,54 +679,7 @@ public class ChartManager {
         }
     }
 
-    // ===== HILFSMETHODEN (aus StatistikManager kopiert) =====
-
-    /**
-     * Gruppiert aufeinanderfolgende Datumsangaben zu zusammenhängenden Perioden
-     */
-    private List<List<LocalDate>> groupConsecutiveDates(List<LocalDate> periodData) {
-        List<List<LocalDate>> periods = new ArrayList<>();
-        List<LocalDate> currentPeriod = new ArrayList<>();
-
-        for (LocalDate date : periodData) {
-            if (currentPeriod.isEmpty() ||
-                    ChronoUnit.DAYS.between(currentPeriod.get(currentPeriod.size() - 1), date) == 1) {
-                currentPeriod.add(date);
-            } else {
-                if (!currentPeriod.isEmpty()) {
-                    periods.add(new ArrayList<>(currentPeriod));
-                }
-                currentPeriod = new ArrayList<>();
-                currentPeriod.add(date);
-            }
-        }
-
-        if (!currentPeriod.isEmpty()) {
-            periods.add(currentPeriod);
-        }
-
-        return periods;
-    }
-
-    /**
-     * Berechnet die Zykluslängen zwischen den Periodenbeginnen
-     */
-    private List<Long> calculateCycleLengths(List<List<LocalDate>> periods) {
-        List<Long> cycleLengths = new ArrayList<>();
-
-        for (int i = 1; i < periods.size(); i++) {
-            LocalDate previousStart = periods.get(i-1).get(0);
-            LocalDate currentStart = periods.get(i).get(0);
-            long length = ChronoUnit.DAYS.between(previousStart, currentStart);
-
-            // Nur realistische Zykluslängen berücksichtigen
-            if (length >= 20 && length <= 40) {
-                cycleLengths.add(length);
-            }
-        }
-
-        return cycleLengths;
-    }
+    // ===== HILFSMETHODEN =====
 
     /**
      * Entfernt Emoji-Zeichen aus Stimmungsbezeichnungen
@@ -1,6 +1,5 @@
 package at.fhj.andrey.zyklustracker.statistik;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -183,14 +182,14 @@ public class StatistikData {
      * Gefilterte Daten basierend auf Zeitraum-Filter
      */
     public static class FilteredData {
-        public final List<LocalDate> periodDates;
+        public final List<at.fhj.andrey.zyklustracker.datenbank.ZyklusEintrag> cycles;
         public final List<at.fhj.andrey.zyklustracker.datenbank.WohlbefindenEintrag> wellbeingEntries;
         public final int timeframeMonths;
 
-        public FilteredData(List<LocalDate> periodDates,
+        public FilteredData(List<at.fhj.andrey.zyklustracker.datenbank.ZyklusEintrag> cycles,
                             List<at.fhj.andrey.zyklustracker.datenbank.WohlbefindenEintrag> wellbeingEntries,
                             int timeframeMonths) {
-            this.periodDates = periodDates != null ? periodDates : new java.util.ArrayList<>();
+            this.cycles = cycles != null ? cycles : new java.util.ArrayList<>();
             this.wellbeingEntries = wellbeingEntries != null ? wellbeingEntries : new java.util.ArrayList<>();
             this.timeframeMonths = timeframeMonths;
         }
@@ -199,7 +198,7 @@ public class StatistikData {
          * Prüft ob genug Daten für Berechnungen vorhanden sind
          */
         public boolean hasEnoughPeriodData() {
-            return periodDates.size() >= 2;
+            return cycles.size() >= 2;
         }
 
         /**
@@ -211,7 +210,7 @@ public class StatistikData {
 
         @Override
         public String toString() {
-            return "FilteredData{periods=" + periodDates.size() +
+            return "FilteredData{cycles=" + cycles.size() +
                     ", wellbeing=" + wellbeingEntries.size() +
                     ", timeframe=" + timeframeMonths + "months}";
         }
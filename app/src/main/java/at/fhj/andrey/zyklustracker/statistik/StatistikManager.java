@@ -1,17 +1,19 @@
 package at.fhj.andrey.zyklustracker.statistik;
 
 import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
 import android.util.Log;
 
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
-
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
 
 import at.fhj.andrey.zyklustracker.datenbank.*;
 
+import at.fhj.andrey.zyklustracker.zyklusanalyse.AnalyseCache;
+import at.fhj.andrey.zyklustracker.zyklusanalyse.BewertungsRegeln;
+import at.fhj.andrey.zyklustracker.zyklusanalyse.PeriodenSegmentierung;
+import at.fhj.andrey.zyklustracker.zyklusanalyse.ZyklusIndex;
 import at.fhj.andrey.zyklustracker.zyklusanalyse.ZyklusPhaseBerechnung;
 import at.fhj.andrey.zyklustracker.zyklusanalyse.AnalyseErgebnis;
 
@@ -34,6 +36,16 @@ public class StatistikManager {
 
     private static final String TAG = "StatistikManager";
 
+    // Bereich der Zykluslängen für Statistik-Karten und Zyklus-Diagramm
+    private static final int ZYKLUSLAENGE_MIN = 20;
+    private static final int ZYKLUSLAENGE_MAX = 40;
+
+    // Ergebnisse der Zyklusphasen-Analyse, geteilt über alle Instanzen
+    private static final AnalyseCache ANALYSE_CACHE = new AnalyseCache(32);
+
+    // Zyklusphasen-Callbacks kommen immer auf dem Main Thread an
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+
     // Datenbankzugriff
     private final ZyklusDatenbank database;
     private final WohlbefindenDao wellbeingDao;
@@ -44,9 +56,12 @@ public class StatistikManager {
 
     // ===== NEUE ZYKLUSPHASEN-INTEGRATION =====
     private ZyklusPhaseBerechnung phasenBerechnung;
+    private final PeriodenSegmentierung segmentierung;
 
     /**
-     * Callback-Interface für Zyklusphasen-Analyse
+     * Callback-Interface für Zyklusphasen-Analyse.
+     * Beide Methoden werden immer auf dem Main Thread aufgerufen, auch wenn das
+     * Ergebnis aus dem AnalyseCache kommt.
      */
     public interface ZyklusPhasenCallback {
         void onZyklusPhasenAnalyseBerechnet(AnalyseErgebnis analyseErgebnis);
@@ -61,7 +76,8 @@ public class StatistikManager {
         this.wellbeingDao = database.wohlbefindenDao();
         this.cycleDao = database.zyklusDao();
         // Zyklusphasen-Berechnung initialisieren
-        this.phasenBerechnung = new ZyklusPhaseBerechnung();
+        this.phasenBerechnung = new ZyklusPhaseBerechnung(BewertungsRegeln.getInstanz(context));
+        this.segmentierung = PeriodenSegmentierung.getInstanz(context);
         Log.d(TAG, "ZyklusPhaseBerechnung initialisiert");
         Log.d(TAG, "StatistikManager initialisiert");
     }
@@ -81,11 +97,11 @@ public class StatistikManager {
                 Log.d(TAG, "Daten geladen: " + filteredData);
 
                 // 2. Alle Statistiken berechnen
-                StatistikData.CycleStatistics cycleStats = berechneZyklusStatistiken(filteredData.periodDates);
+                StatistikData.CycleStatistics cycleStats = berechneZyklusStatistiken();
                 StatistikData.MoodStatistics moodStats = berechneStimmungsStatistiken(filteredData.wellbeingEntries);
                 StatistikData.PainStatistics painStats = berechneSchmerzStatistiken(filteredData.wellbeingEntries);
-                StatistikData.PeriodStatistics periodStats = berechnePeriodendauerStatistiken(filteredData.periodDates);
-                StatistikData.SymptomStatistics symptomStats = berechneSymptomStatistiken(filteredData.wellbeingEntries);
+                StatistikData.PeriodStatistics periodStats = berechnePeriodendauerStatistiken(filteredData.cycles);
+                StatistikData.SymptomStatistics symptomStats = berechneSymptomStatistiken();
 
                 // 3. Alle Statistiken sammeln
                 StatistikData.AllStatistics allStats = new StatistikData.AllStatistics(
@@ -114,38 +130,17 @@ public class StatistikManager {
     private StatistikData.FilteredData ladeDatenUndFilter() {
         Log.d(TAG, "Lade Daten aus Datenbank...");
 
-        // Alle Daten aus DB laden
-        List<LocalDate> allPeriodData = cycleDao.getAllePeriodeStartDaten();
-        List<WohlbefindenEintrag> allWellbeingEntries = wellbeingDao.getAlleEintraege();
+        // Zyklen sind bereits materialisiert und werden direkt nach Zeitraum gefiltert
+        LocalDate cutoffDate = LocalDate.now().minusMonths(currentTimeframeMonths);
+        List<ZyklusEintrag> filteredCycles = cycleDao.getZyklenAb(cutoffDate);
 
-        // Nach Zeitraum filtern
-        List<LocalDate> filteredPeriods = filterDatesByTimeframe(allPeriodData);
+        List<WohlbefindenEintrag> allWellbeingEntries = wellbeingDao.getAlleEintraege();
         List<WohlbefindenEintrag> filteredWellbeing = filterWellbeingByTimeframe(allWellbeingEntries);
 
-        Log.d(TAG, "Daten gefiltert: " + filteredPeriods.size() + " Perioden, " +
+        Log.d(TAG, "Daten gefiltert: " + filteredCycles.size() + " Zyklen, " +
                 filteredWellbeing.size() + " Wohlbefinden-Einträge");
 
-        return new StatistikData.FilteredData(filteredPeriods, filteredWellbeing, currentTimeframeMonths);
-    }
-
-    /**
-     * Filtert Daten basierend auf dem ausgewählten Zeitraum
-     */
-    private List<LocalDate> filterDatesByTimeframe(List<LocalDate> allDates) {
-        if (allDates == null || allDates.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        LocalDate cutoffDate = LocalDate.now().minusMonths(currentTimeframeMonths);
-        List<LocalDate> filteredDates = new ArrayList<>();
-
-        for (LocalDate date : allDates) {
-            if (date.isAfter(cutoffDate) || date.isEqual(cutoffDate)) {
-                filteredDates.add(date);
-            }
-        }
-
-        return filteredDates;
+        return new StatistikData.FilteredData(filteredCycles, filteredWellbeing, currentTimeframeMonths);
     }
 
     /**
@@ -171,84 +166,41 @@ public class StatistikManager {
 
     /**
      * Berechnet Zyklusstatistiken (Durchschnitt, Min, Max)
+     * Anzahl, Mittelwert, Minimum und Maximum der Zykluslängen im Zeitraum werden
+     * direkt in SQL über die Tabelle zyklen aggregiert - ohne Liste im Speicher
      */
-    private StatistikData.CycleStatistics berechneZyklusStatistiken(List<LocalDate> periodData) {
+    private StatistikData.CycleStatistics berechneZyklusStatistiken() {
         Log.d(TAG, "Berechne Zyklusstatistiken...");
 
-        if (periodData.size() < 2) {
-            Log.d(TAG, "Zu wenig Periodendaten für Zyklusberechnung");
-            return StatistikData.CycleStatistics.empty();
-        }
-
-        // Aufeinanderfolgende Daten zu Perioden gruppieren
-        List<List<LocalDate>> periods = groupConsecutiveDates(periodData);
-
-        // Zykluslängen zwischen Periodenbeginnen berechnen
-        List<Long> cycleLengths = calculateCycleLengths(periods);
+        LocalDate cutoffDate = LocalDate.now().minusMonths(currentTimeframeMonths);
+        ZyklusStatistik statistik = cycleDao.getZyklusStatistikAb(
+                cutoffDate, ZYKLUSLAENGE_MIN, ZYKLUSLAENGE_MAX);
 
-        if (cycleLengths.isEmpty()) {
+        if (statistik == null || !statistik.hatDaten()) {
             Log.d(TAG, "Keine gültigen Zykluslängen gefunden");
             return StatistikData.CycleStatistics.empty();
         }
 
-        // Statistiken berechnen
-        long sum = 0;
-        long min = cycleLengths.get(0);
-        long max = cycleLengths.get(0);
-
-        for (Long length : cycleLengths) {
-            sum += length;
-            if (length < min) min = length;
-            if (length > max) max = length;
-        }
-
-        long average = sum / cycleLengths.size();
+        long average = (long) statistik.getMittelwert();
+        long min = statistik.getMinimum();
+        long max = statistik.getMaximum();
 
         Log.d(TAG, "Zyklusstatistiken berechnet: Durchschnitt=" + average + ", Min=" + min + ", Max=" + max);
         return new StatistikData.CycleStatistics(average, min, max, true);
     }
 
     /**
-     * Gruppiert aufeinanderfolgende Datumsangaben zu zusammenhängenden Perioden
+     * Sammelt die realistischen Zykluslängen der abgeschlossenen Zyklen
      */
-    private List<List<LocalDate>> groupConsecutiveDates(List<LocalDate> periodData) {
-        List<List<LocalDate>> periods = new ArrayList<>();
-        List<LocalDate> currentPeriod = new ArrayList<>();
-
-        for (LocalDate date : periodData) {
-            if (currentPeriod.isEmpty() ||
-                    ChronoUnit.DAYS.between(currentPeriod.get(currentPeriod.size() - 1), date) == 1) {
-                currentPeriod.add(date);
-            } else {
-                if (!currentPeriod.isEmpty()) {
-                    periods.add(new ArrayList<>(currentPeriod));
-                }
-                currentPeriod = new ArrayList<>();
-                currentPeriod.add(date);
-            }
-        }
-
-        if (!currentPeriod.isEmpty()) {
-            periods.add(currentPeriod);
-        }
-
-        return periods;
-    }
-
-    /**
-     * Berechnet die Zykluslängen zwischen den Periodenbeginnen
-     */
-    private List<Long> calculateCycleLengths(List<List<LocalDate>> periods) {
+    static List<Long> calculateCycleLengths(List<ZyklusEintrag> cycles) {
         List<Long> cycleLengths = new ArrayList<>();
 
-        for (int i = 1; i < periods.size(); i++) {
-            LocalDate previousStart = periods.get(i-1).get(0);
-            LocalDate currentStart = periods.get(i).get(0);
-            long length = ChronoUnit.DAYS.between(previousStart, currentStart);
+        for (ZyklusEintrag cycle : cycles) {
+            Integer length = cycle.getZyklusLaenge();
 
-            // Nur realistische Zykluslängen berücksichtigen
-            if (length >= 20 && length <= 40) {
-                cycleLengths.add(length);
+            // Nur abgeschlossene, realistische Zykluslängen berücksichtigen
+            if (length != null && length >= ZYKLUSLAENGE_MIN && length <= ZYKLUSLAENGE_MAX) {
+                cycleLengths.add(length.longValue());
             }
         }
 
@@ -334,27 +286,20 @@ public class StatistikManager {
     /**
      * Berechnet Periodendauer-Statistiken
      */
-    private StatistikData.PeriodStatistics berechnePeriodendauerStatistiken(List<LocalDate> periodData) {
+    private StatistikData.PeriodStatistics berechnePeriodendauerStatistiken(List<ZyklusEintrag> cycles) {
         Log.d(TAG, "Berechne Periodendauer-Statistiken...");
 
-        if (periodData.isEmpty()) {
-            return StatistikData.PeriodStatistics.empty();
-        }
-
-        // Perioden gruppieren und Durchschnittsdauer berechnen
-        List<List<LocalDate>> periods = groupConsecutiveDates(periodData);
-
-        if (periods.isEmpty()) {
+        if (cycles.isEmpty()) {
             return StatistikData.PeriodStatistics.empty();
         }
 
-        // Durchschnittliche Periodendauer berechnen
+        // Durchschnittliche Periodendauer: erfasste Periodentage pro Periode (ohne Lücken)
         int totalDays = 0;
-        for (List<LocalDate> period : periods) {
-            totalDays += period.size();
+        for (ZyklusEintrag cycle : cycles) {
+            totalDays += cycle.getPeriodenLaenge();
         }
 
-        int averageDuration = totalDays / periods.size();
+        int averageDuration = totalDays / cycles.size();
 
         Log.d(TAG, "Periodendauer-Statistiken berechnet: " + averageDuration + " Tage durchschnittlich");
         return new StatistikData.PeriodStatistics(averageDuration, true);
@@ -362,64 +307,30 @@ public class StatistikManager {
 
     /**
      * Berechnet Symptomstatistiken
+     *
+     * Die Häufigkeiten werden direkt in SQL über die Zuordnungstabelle
+     * gezählt (GROUP BY), statt jede Symptomliste einzeln zu parsen.
      */
-    private StatistikData.SymptomStatistics berechneSymptomStatistiken(List<WohlbefindenEintrag> entries) {
+    private StatistikData.SymptomStatistics berechneSymptomStatistiken() {
         Log.d(TAG, "Berechne Symptomstatistiken...");
 
-        if (entries.isEmpty()) {
-            return StatistikData.SymptomStatistics.empty();
-        }
-
-        // Symptom-Listen extrahieren
-        List<String> symptomLists = new ArrayList<>();
-        Gson gson = new Gson();
-
-        for (WohlbefindenEintrag entry : entries) {
-            if (entry.getSymptome() != null && !entry.getSymptome().isEmpty()) {
-                String jsonString = gson.toJson(entry.getSymptome());
-                symptomLists.add(jsonString);
-            }
-        }
+        LocalDate cutoffDate = LocalDate.now().minusMonths(currentTimeframeMonths);
+        List<SymptomAnzahl> haeufigkeiten = wellbeingDao.getSymptomHaeufigkeitenAb(cutoffDate);
 
-        if (symptomLists.isEmpty()) {
+        if (haeufigkeiten.isEmpty()) {
             return StatistikData.SymptomStatistics.empty();
         }
 
-        // Symptomhäufigkeiten analysieren
-        Map<String, Integer> symptomFrequencies = analyzeSymptomFrequencies(symptomLists);
+        // Reihenfolge der Abfrage (häufigste zuerst) beibehalten
+        Map<String, Integer> symptomFrequencies = new LinkedHashMap<>();
+        for (SymptomAnzahl eintrag : haeufigkeiten) {
+            symptomFrequencies.put(eintrag.symptom, eintrag.anzahl);
+        }
 
         Log.d(TAG, "Symptomstatistiken berechnet: " + symptomFrequencies.size() + " verschiedene Symptome");
         return new StatistikData.SymptomStatistics(symptomFrequencies);
     }
 
-    /**
-     * Analysiert die Häufigkeit aller Symptome aus den JSON-Listen
-     */
-    private Map<String, Integer> analyzeSymptomFrequencies(List<String> symptomLists) {
-        Map<String, Integer> symptomCounter = new HashMap<>();
-        Gson gson = new Gson();
-
-        for (String listJson : symptomLists) {
-            if (listJson != null && !listJson.isEmpty()) {
-                try {
-                    List<String> symptoms = gson.fromJson(listJson,
-                            new TypeToken<List<String>>(){}.getType());
-
-                    if (symptoms != null) {
-                        for (String symptom : symptoms) {
-                            symptomCounter.put(symptom,
-                                    symptomCounter.getOrDefault(symptom, 0) + 1);
-                        }
-                    }
-                } catch (Exception e) {
-                    Log.w(TAG, "Fehler beim Parsen der Symptom-Liste: " + e.getMessage());
-                }
-            }
-        }
-
-        return symptomCounter;
-    }
-
     /**
      * Getter für gefilterte Daten (für ChartManager)
      */
@@ -449,40 +360,44 @@ public class StatistikManager {
      * @param temperatur Aktuelle Körpertemperatur
      * @param puls Aktueller Ruhepuls
      * @param spo2 Aktuelle Sauerstoffsättigung
-     * @param callback Callback für Ergebnis-Rückgabe
+     * @param callback Callback für Ergebnis-Rückgabe, wird immer auf dem Main Thread aufgerufen
      */
     public void analysiereAktuelleZyklusphaseUndSensoren(float temperatur, int puls, int spo2,
                                                          ZyklusPhasenCallback callback) {
         Log.d(TAG, "Starte Zyklusphasen-Analyse mit Sensor-Daten");
 
+        // Heute als Analysedatum
+        LocalDate heute = LocalDate.now();
+
+        // Gleiche Eingaben und unveränderte Periodendaten: Ergebnis ohne Neuberechnung liefern.
+        // Die Datenversion erhöht die SchreibWarteschlange direkt nach jedem Commit mit Periodendaten
+        AnalyseCache.Schluessel schluessel = AnalyseCache.schluessel(
+                segmentierung.getDatenVersion(), heute, temperatur, puls, spo2);
+        AnalyseErgebnis gespeichert = ANALYSE_CACHE.get(schluessel);
+        if (gespeichert != null) {
+            liefereErgebnis(callback, gespeichert);
+            return;
+        }
+
         // Background Thread für Datenbankoperationen
         new Thread(() -> {
             try {
-                // Periodendaten aus Datenbank laden
-                List<LocalDate> allPeriodData = cycleDao.getAlleEchtenPerioden()
-                        .stream()
-                        .map(PeriodeEintrag::getDatum)
-                        .collect(java.util.stream.Collectors.toList());
-
-                // Heute als Analysedatum
-                LocalDate heute = LocalDate.now();
+                // Index der Periodensegmente (zwischengespeichert pro Datenstand)
+                ZyklusIndex index = segmentierung.getIndex();
 
                 // Zyklusphasen-Analyse durchführen
                 AnalyseErgebnis ergebnis = phasenBerechnung.analysiereSensorWerte(
-                        heute, temperatur, puls, spo2, allPeriodData);
+                        heute, temperatur, puls, spo2, index);
+                ANALYSE_CACHE.put(schluessel, ergebnis);
 
                 Log.d(TAG, "Zyklusphasen-Analyse abgeschlossen: " + ergebnis);
 
                 // Callback auf Main Thread
-                if (callback != null) {
-                    callback.onZyklusPhasenAnalyseBerechnet(ergebnis);
-                }
+                liefereErgebnis(callback, ergebnis);
 
             } catch (Exception e) {
                 Log.e(TAG, "Fehler bei Zyklusphasen-Analyse: " + e.getMessage(), e);
-                if (callback != null) {
-                    callback.onZyklusFehler("Fehler bei der Analyse: " + e.getMessage());
-                }
+                liefereFehler(callback, "Fehler bei der Analyse: " + e.getMessage());
             }
         }).start();
     }
@@ -491,94 +406,55 @@ public class StatistikManager {
      * Analysiert Zyklusphase für spezifisches Datum (ohne aktuelle Sensor-Daten)
      *
      * @param datum Zu analysierendes Datum
-     * @param callback Callback für Ergebnis-Rückgabe
+     * @param callback Callback für Ergebnis-Rückgabe, wird immer auf dem Main Thread aufgerufen
      */
     public void analysiereZyklusphaseFürDatum(LocalDate datum, ZyklusPhasenCallback callback) {
         Log.d(TAG, "Analysiere Zyklusphase für Datum: " + datum);
 
+        // Gleiches Datum und unveränderte Periodendaten: Ergebnis ohne Neuberechnung liefern
+        AnalyseCache.Schluessel schluessel = AnalyseCache.schluessel(segmentierung.getDatenVersion(), datum);
+        AnalyseErgebnis gespeichert = ANALYSE_CACHE.get(schluessel);
+        if (gespeichert != null) {
+            liefereErgebnis(callback, gespeichert);
+            return;
+        }
+
         new Thread(() -> {
             try {
-                // Periodendaten laden
-                List<LocalDate> periodData = cycleDao.getAlleEchtenPerioden()
-                        .stream()
-                        .map(PeriodeEintrag::getDatum)
-                        .collect(java.util.stream.Collectors.toList());
+                // Index der Periodensegmente (zwischengespeichert pro Datenstand)
+                ZyklusIndex index = segmentierung.getIndex();
 
                 // Nur Phasenbestimmung ohne Sensor-Bewertung
-                ZyklusPhaseBerechnung.ZyklusPhase phase = phasenBerechnung.berechneAktuellePhase(datum, periodData);
+                ZyklusPhaseBerechnung.ZyklusPhase phase = phasenBerechnung.berechneAktuellePhase(datum, index);
 
                 // Vereinfachtes Ergebnis erstellen
                 AnalyseErgebnis ergebnis = new AnalyseErgebnis(phase,
-                        berechneSingleZyklusTag(datum, periodData),
-                        phase.getBeschreibung());
+                        phasenBerechnung.berechneZyklusTag(datum, index));
+                ANALYSE_CACHE.put(schluessel, ergebnis);
 
-                if (callback != null) {
-                    callback.onZyklusPhasenAnalyseBerechnet(ergebnis);
-                }
+                liefereErgebnis(callback, ergebnis);
 
             } catch (Exception e) {
                 Log.e(TAG, "Fehler bei Phasenanalyse: " + e.getMessage(), e);
-                if (callback != null) {
-                    callback.onZyklusFehler("Fehler: " + e.getMessage());
-                }
+                liefereFehler(callback, "Fehler: " + e.getMessage());
             }
         }).start();
     }
 
     /**
-     * Hilfsmethode: Berechnet Zyklustag für einzelnes Datum
+     * Stellt ein Analyse-Ergebnis auf dem Main Thread zu - für Cache-Treffer und
+     * neu berechnete Ergebnisse gleichermaßen.
      */
-    private int berechneSingleZyklusTag(LocalDate datum, List<LocalDate> periodData) {
-        if (periodData.isEmpty()) return 1;
-
-        // Finde den ersten Tag der letzten Periode vor dem Datum
-        LocalDate zyklusStart = findeErstenTagDerLetztenPeriode(datum, periodData);
-
-        if (zyklusStart == null) return 1;
-
-        return (int) ChronoUnit.DAYS.between(zyklusStart, datum) + 1;
-    }
-
-    /**
-     * Findet den ersten Tag der letzten zusammenhängenden Periode vor dem gegebenen Datum
-     */
-    private LocalDate findeErstenTagDerLetztenPeriode(LocalDate datum, List<LocalDate> periodData) {
-        // Alle Periodentage vor/am gegebenen Datum
-        List<LocalDate> relevantePeriodenTage = periodData.stream()
-                .filter(d -> !d.isAfter(datum))
-                .sorted()
-                .collect(java.util.stream.Collectors.toList());
-
-        if (relevantePeriodenTage.isEmpty()) return null;
-
-        // Finde alle zusammenhängenden Periodengruppen
-        List<List<LocalDate>> periodenGruppen = new ArrayList<>();
-        List<LocalDate> aktuelleGruppe = new ArrayList<>();
-
-        for (LocalDate tag : relevantePeriodenTage) {
-            if (aktuelleGruppe.isEmpty() ||
-                    ChronoUnit.DAYS.between(aktuelleGruppe.get(aktuelleGruppe.size() - 1), tag) <= 1) {
-                aktuelleGruppe.add(tag);
-            } else {
-                // Lücke > 1 Tag = neue Periode
-                if (!aktuelleGruppe.isEmpty()) {
-                    periodenGruppen.add(new ArrayList<>(aktuelleGruppe));
-                }
-                aktuelleGruppe.clear();
-                aktuelleGruppe.add(tag);
-            }
+    private void liefereErgebnis(ZyklusPhasenCallback callback, AnalyseErgebnis ergebnis) {
+        if (callback != null) {
+            mainHandler.post(() -> callback.onZyklusPhasenAnalyseBerechnet(ergebnis));
         }
+    }
 
-        // Letzte Gruppe hinzufügen
-        if (!aktuelleGruppe.isEmpty()) {
-            periodenGruppen.add(aktuelleGruppe);
+    private void liefereFehler(ZyklusPhasenCallback callback, String fehlermeldung) {
+        if (callback != null) {
+            mainHandler.post(() -> callback.onZyklusFehler(fehlermeldung));
         }
-
-        if (periodenGruppen.isEmpty()) return null;
-
-        // Letzte Periodengruppe nehmen und ersten Tag zurückgeben
-        List<LocalDate> letzteGruppe = periodenGruppen.get(periodenGruppen.size() - 1);
-        return letzteGruppe.get(0);
     }
 
     /**
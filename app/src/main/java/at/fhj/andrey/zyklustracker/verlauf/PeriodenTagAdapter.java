@@ -0,0 +1,81 @@
+package at.fhj.andrey.zyklustracker.verlauf;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.ImageView;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.time.LocalDate;
+import java.util.concurrent.Executor;
+
+import at.fhj.andrey.zyklustracker.R;
+import at.fhj.andrey.zyklustracker.datenbank.PeriodeDao;
+
+/**
+ * PeriodenTagAdapter - Seitenweise geladene Liste der eingetragenen Periodentage
+ *
+ * Wird im Perioden-Dialog der ZyklusActivity verwendet. Jede Zeile zeigt ein
+ * Datum mit Lösch-Icon; Zeilen werden von der RecyclerView wiederverwendet.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public class PeriodenTagAdapter extends SeitenAdapter<LocalDate, PeriodenTagAdapter.TagViewHolder> {
+
+    private static final int SEITEN_GROESSE = 30;
+
+    /**
+     * Callback für das Löschen eines Tages
+     */
+    public interface LoeschListener {
+        void onTagLoeschen(LocalDate tag);
+    }
+
+    private final LoeschListener loeschListener;
+
+    public PeriodenTagAdapter(PeriodeDao periodDao, Executor executor, LoeschListener loeschListener) {
+        super(periodDao::ladeEchtePeriodenTageSeite, executor, SEITEN_GROESSE);
+        this.loeschListener = loeschListener;
+    }
+
+    @NonNull
+    @Override
+    public TagViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_periode_tag, parent, false);
+        TagViewHolder holder = new TagViewHolder(view);
+
+        // Listener einmal pro ViewHolder setzen, nicht bei jedem Binden
+        holder.loeschIcon.setOnClickListener(v -> {
+            LocalDate tag = getElement(holder.getBindingAdapterPosition());
+            if (tag != null && loeschListener != null) {
+                loeschListener.onTagLoeschen(tag);
+            }
+        });
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull TagViewHolder holder, int position) {
+        holder.datumText.setText(getElement(position).toString());
+    }
+
+    /**
+     * ViewHolder für eine Datumszeile
+     */
+    static class TagViewHolder extends RecyclerView.ViewHolder {
+        final TextView datumText;
+        final ImageView loeschIcon;
+
+        TagViewHolder(View view) {
+            super(view);
+            datumText = view.findViewById(R.id.text_periode_datum);
+            loeschIcon = view.findViewById(R.id.btn_periode_loeschen);
+        }
+    }
+}
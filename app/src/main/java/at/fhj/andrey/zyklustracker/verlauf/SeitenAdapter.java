@@ -0,0 +1,264 @@
+package at.fhj.andrey.zyklustracker.verlauf;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * SeitenAdapter - Basis für seitenweise geladene Verlaufslisten
+ *
+ * Lädt Daten in Seiten fester Größe nach (Keyset-Paginierung): Jede Folgeseite
+ * wird relativ zum letzten bereits geladenen Element abgefragt. Nachgeladen wird
+ * erst, wenn die Liste kurz vor dem Ende gescrollt wird. Die Kosten beim Öffnen
+ * hängen damit nur von der Seitengröße ab, nicht von der Länge des Verlaufs.
+ *
+ * Nach Datenänderungen (z.B. Löschen eines Eintrags) lädt aktualisieren() die
+ * bereits angezeigten Elemente in einer Abfrage neu und gibt nur die Unterschiede
+ * an die RecyclerView weiter - die Scrollposition bleibt dabei erhalten.
+ *
+ * Datenbankzugriffe laufen auf dem übergebenen Executor (Query-Executor der
+ * Datenbank), Listenänderungen auf dem Main Thread.
+ *
+ * @param <T> Typ der Listenelemente
+ * @param <VH> ViewHolder-Typ
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public abstract class SeitenAdapter<T, VH extends RecyclerView.ViewHolder>
+        extends RecyclerView.Adapter<VH> {
+
+    private static final String TAG = "SeitenAdapter";
+
+    // Nachladen, sobald weniger als so viele Elemente unterhalb sichtbar sind
+    private static final int NACHLADE_ABSTAND = 5;
+
+    /**
+     * Datenquelle für eine Seite. Wird im Background Thread aufgerufen.
+     */
+    public interface SeitenQuelle<T> {
+        /**
+         * @param letztesElement Letztes Element der vorherigen Seite oder null für die erste Seite
+         * @param anzahl Seitengröße
+         */
+        List<T> ladeSeite(T letztesElement, int anzahl);
+    }
+
+    /**
+     * Wird nach jeder geladenen Seite auf dem Main Thread aufgerufen (z.B. für Leer-Hinweise).
+     */
+    public interface LadeListener {
+        void onSeiteGeladen(int anzahlGesamt);
+        void onFehler(String fehlermeldung);
+    }
+
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final List<T> elemente = new ArrayList<>();
+    private final SeitenQuelle<T> quelle;
+    private final Executor executor;
+    private final int seitenGroesse;
+    private LadeListener ladeListener;
+
+    private boolean ladeLaeuft = false;
+    private boolean alleGeladen = false;
+
+    // Verwirft Ergebnisse, die nach einem neuLaden() noch eintreffen
+    private int generation = 0;
+
+    /**
+     * @param executor Executor für die Datenbankzugriffe, z.B. ZyklusDatenbank.getQueryExecutor()
+     */
+    protected SeitenAdapter(SeitenQuelle<T> quelle, Executor executor, int seitenGroesse) {
+        this.quelle = quelle;
+        this.executor = executor;
+        this.seitenGroesse = seitenGroesse;
+    }
+
+    public void setLadeListener(LadeListener ladeListener) {
+        this.ladeListener = ladeListener;
+    }
+
+    /**
+     * Verbindet den Adapter mit einer RecyclerView und lädt die erste Seite.
+     */
+    public void anbinden(RecyclerView recyclerView) {
+        recyclerView.setLayoutManager(new LinearLayoutManager(recyclerView.getContext()));
+        recyclerView.setAdapter(this);
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) rv.getLayoutManager();
+                if (layoutManager == null) {
+                    return;
+                }
+                int letzteSichtbare = layoutManager.findLastVisibleItemPosition();
+                if (letzteSichtbare >= elemente.size() - NACHLADE_ABSTAND) {
+                    ladeNaechsteSeite();
+                }
+            }
+        });
+        neuLaden();
+    }
+
+    /**
+     * Verwirft alle geladenen Elemente und beginnt wieder mit der ersten Seite.
+     * Nach Datenänderungen in einer angezeigten Liste aktualisieren() verwenden.
+     */
+    public void neuLaden() {
+        generation++;
+        ladeLaeuft = false;
+        alleGeladen = false;
+        elemente.clear();
+        notifyDataSetChanged();
+        ladeNaechsteSeite();
+    }
+
+    /**
+     * Lädt die nächste Seite, falls nicht bereits ein Ladevorgang läuft
+     * oder das Ende des Verlaufs erreicht ist.
+     */
+    public void ladeNaechsteSeite() {
+        if (ladeLaeuft || alleGeladen) {
+            return;
+        }
+        ladeLaeuft = true;
+
+        final int ladeGeneration = generation;
+        final T letztesElement = elemente.isEmpty() ? null : elemente.get(elemente.size() - 1);
+
+        executor.execute(() -> {
+            try {
+                List<T> seite = quelle.ladeSeite(letztesElement, seitenGroesse);
+
+                mainHandler.post(() -> {
+                    if (ladeGeneration != generation) {
+                        return; // Veraltetes Ergebnis
+                    }
+                    int start = elemente.size();
+                    elemente.addAll(seite);
+                    alleGeladen = seite.size() < seitenGroesse;
+                    ladeLaeuft = false;
+                    notifyItemRangeInserted(start, seite.size());
+                    meldeGeladen();
+                });
+
+            } catch (Exception e) {
+                meldeFehler(ladeGeneration, e);
+            }
+        });
+    }
+
+    /**
+     * Lädt nach einer Datenänderung so viele Elemente neu, wie bereits angezeigt
+     * werden (mindestens eine Seite), und gibt nur die Unterschiede an die
+     * RecyclerView weiter. Im Gegensatz zu neuLaden() springt die Liste dabei
+     * nicht zur ersten Seite zurück.
+     */
+    public void aktualisieren() {
+        if (elemente.isEmpty()) {
+            neuLaden();
+            return;
+        }
+        generation++;
+        ladeLaeuft = true;
+
+        final int ladeGeneration = generation;
+        final int anzahl = Math.max(elemente.size(), seitenGroesse);
+        final List<T> vorher = new ArrayList<>(elemente);
+
+        executor.execute(() -> {
+            try {
+                List<T> nachher = quelle.ladeSeite(null, anzahl);
+                DiffUtil.DiffResult unterschiede = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+                    @Override
+                    public int getOldListSize() {
+                        return vorher.size();
+                    }
+
+                    @Override
+                    public int getNewListSize() {
+                        return nachher.size();
+                    }
+
+                    @Override
+                    public boolean areItemsTheSame(int alt, int neu) {
+                        return gleichesElement(vorher.get(alt), nachher.get(neu));
+                    }
+
+                    @Override
+                    public boolean areContentsTheSame(int alt, int neu) {
+                        return Objects.equals(vorher.get(alt), nachher.get(neu));
+                    }
+                });
+
+                mainHandler.post(() -> {
+                    if (ladeGeneration != generation) {
+                        return; // Veraltetes Ergebnis
+                    }
+                    elemente.clear();
+                    elemente.addAll(nachher);
+                    alleGeladen = nachher.size() < anzahl;
+                    ladeLaeuft = false;
+                    unterschiede.dispatchUpdatesTo(this);
+                    meldeGeladen();
+                });
+
+            } catch (Exception e) {
+                meldeFehler(ladeGeneration, e);
+            }
+        });
+    }
+
+    /**
+     * Prüft, ob zwei Elemente denselben Eintrag darstellen (für aktualisieren()).
+     * Standardmäßig über equals(); Unterklassen vergleichen z.B. den Schlüssel.
+     */
+    protected boolean gleichesElement(T a, T b) {
+        return Objects.equals(a, b);
+    }
+
+    private void meldeGeladen() {
+        if (ladeListener != null) {
+            ladeListener.onSeiteGeladen(elemente.size());
+        }
+    }
+
+    private void meldeFehler(int ladeGeneration, Exception e) {
+        Log.e(TAG, "Fehler beim Laden einer Seite: " + e.getMessage(), e);
+        mainHandler.post(() -> {
+            if (ladeGeneration != generation) {
+                return;
+            }
+            ladeLaeuft = false;
+            if (ladeListener != null) {
+                ladeListener.onFehler(e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Element an einer Position (oder null, wenn die Position nicht mehr gültig ist).
+     */
+    protected T getElement(int position) {
+        if (position < 0 || position >= elemente.size()) {
+            return null;
+        }
+        return elemente.get(position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return elemente.size();
+    }
+}
@@ -0,0 +1,106 @@
+package at.fhj.andrey.zyklustracker.verlauf;
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+import at.fhj.andrey.zyklustracker.R;
+import at.fhj.andrey.zyklustracker.datenbank.WohlbefindenDao;
+import at.fhj.andrey.zyklustracker.datenbank.WohlbefindenEintrag;
+
+/**
+ * WohlbefindenVerlaufAdapter - Seitenweise geladener Verlauf der Wohlbefinden-Einträge
+ *
+ * Ersetzt die frühere Textanzeige der letzten Einträge in der WohlbefindenActivity.
+ * Ältere Einträge werden beim Scrollen nachgeladen (Keyset über datum).
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public class WohlbefindenVerlaufAdapter
+        extends SeitenAdapter<WohlbefindenEintrag, WohlbefindenVerlaufAdapter.EintragViewHolder> {
+
+    private static final int SEITEN_GROESSE = 10;
+
+    public WohlbefindenVerlaufAdapter(WohlbefindenDao wellbeingDao, Executor executor) {
+        super((letzter, anzahl) -> wellbeingDao.getEintraegeSeiteMitSymptomen(
+                letzter != null ? letzter.getDatum() : null, anzahl), executor, SEITEN_GROESSE);
+    }
+
+    /**
+     * Ein Eintrag pro Tag - das Datum identifiziert ihn eindeutig.
+     */
+    @Override
+    protected boolean gleichesElement(WohlbefindenEintrag a, WohlbefindenEintrag b) {
+        return Objects.equals(a.getDatum(), b.getDatum());
+    }
+
+    @NonNull
+    @Override
+    public EintragViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.item_wohlbefinden_eintrag, parent, false);
+        return new EintragViewHolder(view);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull EintragViewHolder holder, int position) {
+        holder.eintragText.setText(formatiereEintrag(getElement(position)));
+    }
+
+    /**
+     * Formatiert einen Eintrag für die Anzeige (Datum, Blutung, Schmerzen, Stimmung, Symptome).
+     */
+    private String formatiereEintrag(WohlbefindenEintrag entry) {
+        StringBuilder sb = new StringBuilder();
+
+        // Datum
+        sb.append(entry.getDatum().toString());
+
+        // Blutung
+        if (isNotEmpty(entry.getBlutungsstaerke())) {
+            sb.append("\nBlutung: ").append(entry.getBlutungsstaerke());
+        }
+
+        // Schmerzen
+        if (isNotEmpty(entry.getSchmerzLevel())) {
+            sb.append("\nSchmerzen: ").append(entry.getSchmerzLevel());
+        }
+
+        // Stimmung
+        if (isNotEmpty(entry.getStimmung())) {
+            sb.append("\nStimmung: ").append(entry.getStimmung());
+        }
+
+        // Symptome
+        if (entry.getSymptome() != null && !entry.getSymptome().isEmpty()) {
+            sb.append("\nBegleitsymptome: ").append(String.join(", ", entry.getSymptome()));
+        }
+
+        return sb.toString();
+    }
+
+    private boolean isNotEmpty(String text) {
+        return text != null && !text.isEmpty();
+    }
+
+    /**
+     * ViewHolder für einen Verlaufseintrag
+     */
+    static class EintragViewHolder extends RecyclerView.ViewHolder {
+        final TextView eintragText;
+
+        EintragViewHolder(View view) {
+            super(view);
+            eintragText = view.findViewById(R.id.text_verlauf_eintrag);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package at.fhj.andrey.zyklustracker.zyklusanalyse;
+
+import android.util.LruCache;
+
+import java.time.LocalDate;
+
+/**
+ * AnalyseCache - Begrenzter Zwischenspeicher für AnalyseErgebnis-Objekte
+ *
+ * Schlüssel sind Analysedatum, Sensor-Werte und die Datenversion der
+ * Periodensegmente (PeriodenSegmentierung). Die SchreibWarteschlange erhöht
+ * diese Version synchron direkt nach jedem Commit, der Periodendaten geändert hat,
+ * noch bevor Beobachter davon erfahren; ältere Einträge werden damit nie mehr getroffen und fallen nach
+ * LRU-Reihenfolge heraus.
+ *
+ * Wiederholte Analysen mit gleichen Eingaben (Activity-Start, gleiche
+ * Sensor-Messung) kommen so ohne Datenbankzugriff und ohne Neuberechnung aus.
+ * AnalyseErgebnis ist unveränderlich und kann gefahrlos geteilt werden.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class AnalyseCache {
+
+    private final LruCache<Schluessel, AnalyseErgebnis> eintraege;
+
+    /**
+     * @param maxEintraege Maximale Anzahl zwischengespeicherter Ergebnisse
+     */
+    public AnalyseCache(int maxEintraege) {
+        this.eintraege = new LruCache<>(maxEintraege);
+    }
+
+    /**
+     * Schlüssel für eine Phasenanalyse ohne Sensor-Werte.
+     */
+    public static Schluessel schluessel(long datenVersion, LocalDate datum) {
+        return new Schluessel(datenVersion, datum.toEpochDay(), false, 0, 0, 0);
+    }
+
+    /**
+     * Schlüssel für eine Analyse mit Sensor-Werten.
+     */
+    public static Schluessel schluessel(long datenVersion, LocalDate datum,
+                                        float temperatur, int puls, int spo2) {
+        return new Schluessel(datenVersion, datum.toEpochDay(), true,
+                Float.floatToIntBits(temperatur), puls, spo2);
+    }
+
+    /**
+     * @return Zwischengespeichertes Ergebnis oder null
+     */
+    public AnalyseErgebnis get(Schluessel schluessel) {
+        return eintraege.get(schluessel);
+    }
+
+    public void put(Schluessel schluessel, AnalyseErgebnis ergebnis) {
+        eintraege.put(schluessel, ergebnis);
+    }
+
+    /**
+     * Unveränderlicher Cache-Schlüssel.
+     */
+    public static final class Schluessel {
+        private final long datenVersion;
+        private final long epochTag;
+        private final boolean mitSensoren;
+        private final int temperaturBits;
+        private final int puls;
+        private final int spo2;
+
+        private Schluessel(long datenVersion, long epochTag, boolean mitSensoren,
+                           int temperaturBits, int puls, int spo2) {
+            this.datenVersion = datenVersion;
+            this.epochTag = epochTag;
+            this.mitSensoren = mitSensoren;
+            this.temperaturBits = temperaturBits;
+            this.puls = puls;
+            this.spo2 = spo2;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Schluessel)) return false;
+            Schluessel that = (Schluessel) obj;
+            return datenVersion == that.datenVersion
+                    && epochTag == that.epochTag
+                    && mitSensoren == that.mitSensoren
+                    && temperaturBits == that.temperaturBits
+                    && puls == that.puls
+                    && spo2 == that.spo2;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Long.hashCode(datenVersion);
+            result = 31 * result + Long.hashCode(epochTag);
+            result = 31 * result + (mitSensoren ? 1 : 0);
+            result = 31 * result + temperaturBits;
+            result = 31 * result + puls;
+            result = 31 * result + spo2;
+            return result;
+        }
+    }
+}
@@ -9,6 +9,11 @@ package at.fhj.andrey.zyklustracker.zyklusanalyse;
  *
  * Design-Pattern: Value Object für unveränderliche Analyse-Ergebnisse
  *
+ * Die Bewertung selbst liegt als gepackter BewertungsCode vor; die deutschen
+ * Texte werden erst bei Anzeige aus dem Code erzeugt, bei jedem Abruf neu und
+ * ohne Zwischenspeicher. Alle Felder sind final, Instanzen können daher ohne
+ * Synchronisation zwischen Threads geteilt werden (AnalyseCache).
+ *
  * @author Andrey Eskin
  * @version 1.0
  * @since Mai 2025
@@ -25,21 +30,8 @@ public class AnalyseErgebnis {
         KRITISCH          // Starke Abweichungen, ärztliche Konsultation ratsam
     }
 
-    // Grundlegende Analyseergebnisse
-    private final ZyklusPhaseBerechnung.ZyklusPhase aktuellePhase;
-    private final int zyklusTag;
-    private final boolean istZyklusRegular;
-
-    // Sensor-spezifische Bewertungen
-    private final Bewertung temperaturBewertung;
-    private final Bewertung pulsBewertung;
-    private final Bewertung spo2Bewertung;
-    private final Bewertung gesamtBewertung;
-
-    // Textuelle Interpretationen für UI
-    private final String phasenBeschreibung;
-    private final String empfehlung;
-    private final String medizinischerHinweis;
+    // Phase, Zyklustag, Regelmäßigkeit und Einzelbewertungen (siehe BewertungsCode)
+    private final int code;
 
     // Numerische Details für weitere Verarbeitung
     private final float temperaturAbweichung;  // in °C vom Phasenmittelwert
@@ -55,100 +47,96 @@ public class AnalyseErgebnis {
                            Bewertung temperaturBewertung,
                            Bewertung pulsBewertung,
                            Bewertung spo2Bewertung,
-                           String phasenBeschreibung,
-                           String empfehlung,
-                           String medizinischerHinweis,
                            float temperaturAbweichung,
                            float pulsAbweichung,
                            int spo2Wert) {
 
-        this.aktuellePhase = aktuellePhase;
-        this.zyklusTag = zyklusTag;
-        this.istZyklusRegular = istZyklusRegular;
-        this.temperaturBewertung = temperaturBewertung;
-        this.pulsBewertung = pulsBewertung;
-        this.spo2Bewertung = spo2Bewertung;
-        this.phasenBeschreibung = phasenBeschreibung;
-        this.empfehlung = empfehlung;
-        this.medizinischerHinweis = medizinischerHinweis;
-        this.temperaturAbweichung = temperaturAbweichung;
-        this.pulsAbweichung = pulsAbweichung;
-        this.spo2Wert = spo2Wert;
-
-        // Gesamtbewertung als schlechteste Einzelbewertung
-        this.gesamtBewertung = berechneGesamtbewertung();
+        this(BewertungsCode.packe(aktuellePhase, zyklusTag, istZyklusRegular,
+                        temperaturBewertung, pulsBewertung, spo2Bewertung),
+                temperaturAbweichung, pulsAbweichung, spo2Wert);
     }
 
     /**
-     * Vereinfachter Konstruktor für grundlegende Ergebnisse
+     * Vereinfachter Konstruktor für grundlegende Ergebnisse (nur Phase und Zyklustag)
      */
     public AnalyseErgebnis(ZyklusPhaseBerechnung.ZyklusPhase aktuellePhase,
-                           int zyklusTag,
-                           String phasenBeschreibung) {
+                           int zyklusTag) {
         this(aktuellePhase, zyklusTag, true,
                 Bewertung.NORMAL, Bewertung.NORMAL, Bewertung.NORMAL,
-                phasenBeschreibung, "Alle Werte im Normalbereich", "",
                 0.0f, 0.0f, 98);
     }
 
     /**
-     * Berechnet die Gesamtbewertung basierend auf allen Einzelbewertungen
+     * Ergebnis aus einem BewertungsCode; die Texte werden erst bei Anzeige erzeugt
      */
-    private Bewertung berechneGesamtbewertung() {
-        Bewertung[] bewertungen = {temperaturBewertung, pulsBewertung, spo2Bewertung};
-
-        // Rückgabe der schlechtesten (höchsten) Bewertung
-        for (Bewertung b : new Bewertung[]{Bewertung.KRITISCH, Bewertung.AUFFAELLIG,
-                Bewertung.GRENZWERTIG, Bewertung.NORMAL}) {
-            for (Bewertung bewertung : bewertungen) {
-                if (bewertung == b) {
-                    return b;
-                }
-            }
-        }
-        return Bewertung.NORMAL;
+    AnalyseErgebnis(int code, float temperaturAbweichung, float pulsAbweichung, int spo2Wert) {
+        this.code = code;
+        this.temperaturAbweichung = temperaturAbweichung;
+        this.pulsAbweichung = pulsAbweichung;
+        this.spo2Wert = spo2Wert;
     }
 
     // ===== GETTER-METHODEN =====
 
+    /**
+     * Gepackte Bewertung für Massenauswertungen (siehe BewertungsCode)
+     */
+    public int getCode() {
+        return code;
+    }
+
     public ZyklusPhaseBerechnung.ZyklusPhase getAktuellePhase() {
-        return aktuellePhase;
+        return BewertungsCode.getPhase(code);
     }
 
     public int getZyklusTag() {
-        return zyklusTag;
+        return BewertungsCode.getZyklusTag(code);
     }
 
     public boolean istZyklusRegular() {
-        return istZyklusRegular;
+        return BewertungsCode.istRegelmaessig(code);
     }
 
     public Bewertung getTemperaturBewertung() {
-        return temperaturBewertung;
+        return BewertungsCode.getTemperaturBewertung(code);
     }
 
     public Bewertung getPulsBewertung() {
-        return pulsBewertung;
+        return BewertungsCode.getPulsBewertung(code);
     }
 
     public Bewertung getSpo2Bewertung() {
-        return spo2Bewertung;
+        return BewertungsCode.getSpo2Bewertung(code);
     }
 
+    /**
+     * Gesamtbewertung als schlechteste Einzelbewertung
+     */
     public Bewertung getGesamtBewertung() {
-        return gesamtBewertung;
+        return BewertungsCode.getGesamtBewertung(code);
     }
 
+    /**
+     * Phasenbeschreibung, bei jedem Abruf aus dem Code erzeugt
+     */
     public String getPhasenBeschreibung() {
-        return phasenBeschreibung;
+        return ZyklusPhaseBerechnung.generierePhasenBeschreibung(getAktuellePhase(), getZyklusTag());
     }
 
+    /**
+     * Empfehlung, bei jedem Abruf aus dem Code erzeugt
+     */
     public String getEmpfehlung() {
-        return empfehlung;
+        return ZyklusPhaseBerechnung.generiereEmpfehlung(getAktuellePhase(),
+                getTemperaturBewertung(), getPulsBewertung(), getSpo2Bewertung());
     }
 
+    /**
+     * Medizinischer Hinweis, bei jedem Abruf aus dem Code erzeugt
+     */
     public String getMedizinischerHinweis() {
-        return medizinischerHinweis;
+        return ZyklusPhaseBerechnung.generiereMedizinischenHinweis(getAktuellePhase(),
+                getTemperaturBewertung(), getPulsBewertung(), istZyklusRegular());
     }
 
     public float getTemperaturAbweichung() {
@@ -169,7 +157,7 @@ public class AnalyseErgebnis {
      * Gibt eine für die UI geeignete Farbe für die Gesamtbewertung zurück
      */
     public String getBewertungsfarbe() {
-        switch (gesamtBewertung) {
+        switch (getGesamtBewertung()) {
             case NORMAL:
                 return "#4CAF50";      // Grün
             case GRENZWERTIG:
@@ -187,7 +175,7 @@ public class AnalyseErgebnis {
      * Gibt ein passendes Icon für die aktuelle Zyklusphase zurück
      */
     public String getPhasenIcon() {
-        switch (aktuellePhase) {
+        switch (getAktuellePhase()) {
             case MENSTRUATION:
                 return "🩸";
             case FOLLIKELPHASE:
@@ -207,13 +195,15 @@ public class AnalyseErgebnis {
     public String getZusammenfassung() {
         StringBuilder sb = new StringBuilder();
         sb.append(getPhasenIcon()).append(" ");
-        sb.append(aktuellePhase.name()).append(" (Tag ").append(zyklusTag).append(")\n");
-        sb.append(phasenBeschreibung);
+        sb.append(getAktuellePhase().name()).append(" (Tag ").append(getZyklusTag()).append(")\n");
+        sb.append(getPhasenBeschreibung());
 
+        String empfehlung = getEmpfehlung();
         if (!empfehlung.isEmpty()) {
             sb.append("\n\n💡 ").append(empfehlung);
         }
 
+        String medizinischerHinweis = getMedizinischerHinweis();
         if (!medizinischerHinweis.isEmpty()) {
             sb.append("\n\n⚕️ ").append(medizinischerHinweis);
         }
@@ -224,10 +214,10 @@ public class AnalyseErgebnis {
     @Override
     public String toString() {
         return "AnalyseErgebnis{" +
-                "phase=" + aktuellePhase +
-                ", tag=" + zyklusTag +
-                ", gesamtBewertung=" + gesamtBewertung +
-                ", regular=" + istZyklusRegular +
+                "phase=" + getAktuellePhase() +
+                ", tag=" + getZyklusTag() +
+                ", gesamtBewertung=" + getGesamtBewertung() +
+                ", regular=" + istZyklusRegular() +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package at.fhj.andrey.zyklustracker.zyklusanalyse;
+
+/**
+ * BewertungsCode - Kompakte Kodierung einer Sensor-Bewertung in einem int
+ *
+ * Phase, Zyklustag, Regelmäßigkeit und die drei Einzelbewertungen werden in
+ * einem primitiven Wert gepackt. So können Diagramme, Trends und
+ * Massenauswertungen über viele Tage arbeiten, ohne pro Tag Objekte oder
+ * Texte zu erzeugen (siehe ZyklusPhaseBerechnung.bewerteSensorWerte).
+ *
+ * Bit-Belegung:
+ * - Bits 0-2: ZyklusPhase (ordinal)
+ * - Bits 3-4: Temperatur-Bewertung (ordinal)
+ * - Bits 5-6: Puls-Bewertung (ordinal)
+ * - Bits 7-8: SpO2-Bewertung (ordinal)
+ * - Bit 9: Zyklus regelmäßig
+ * - Bits 16-31: Zyklustag (0-65535)
+ *
+ * Die Reihenfolge der Bewertungen (NORMAL < GRENZWERTIG < AUFFAELLIG < KRITISCH)
+ * entspricht ihrem Schweregrad, die Gesamtbewertung ist daher das Maximum.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class BewertungsCode {
+
+    private static final int PHASE_MASKE = 0x7;
+    private static final int TEMPERATUR_VERSATZ = 3;
+    private static final int PULS_VERSATZ = 5;
+    private static final int SPO2_VERSATZ = 7;
+    private static final int BEWERTUNG_MASKE = 0x3;
+    private static final int REGELMAESSIG_BIT = 1 << 9;
+    private static final int ZYKLUSTAG_VERSATZ = 16;
+    private static final int ZYKLUSTAG_MAX = 0xFFFF;
+
+    // values() erzeugt bei jedem Aufruf ein neues Array, daher einmalig zwischengespeichert
+    private static final ZyklusPhaseBerechnung.ZyklusPhase[] PHASEN = ZyklusPhaseBerechnung.ZyklusPhase.values();
+    private static final AnalyseErgebnis.Bewertung[] BEWERTUNGEN = AnalyseErgebnis.Bewertung.values();
+
+    private BewertungsCode() {
+        // Nur statische Methoden
+    }
+
+    /**
+     * Packt eine Bewertung in einen Code.
+     */
+    public static int packe(ZyklusPhaseBerechnung.ZyklusPhase phase, int zyklusTag, boolean regelmaessig,
+                            AnalyseErgebnis.Bewertung temperatur,
+                            AnalyseErgebnis.Bewertung puls,
+                            AnalyseErgebnis.Bewertung spo2) {
+        int tag = Math.max(0, Math.min(zyklusTag, ZYKLUSTAG_MAX));
+        return phase.ordinal()
+                | temperatur.ordinal() << TEMPERATUR_VERSATZ
+                | puls.ordinal() << PULS_VERSATZ
+                | spo2.ordinal() << SPO2_VERSATZ
+                | (regelmaessig ? REGELMAESSIG_BIT : 0)
+                | tag << ZYKLUSTAG_VERSATZ;
+    }
+
+    public static ZyklusPhaseBerechnung.ZyklusPhase getPhase(int code) {
+        return PHASEN[code & PHASE_MASKE];
+    }
+
+    public static int getZyklusTag(int code) {
+        return code >>> ZYKLUSTAG_VERSATZ;
+    }
+
+    public static boolean istRegelmaessig(int code) {
+        return (code & REGELMAESSIG_BIT) != 0;
+    }
+
+    public static AnalyseErgebnis.Bewertung getTemperaturBewertung(int code) {
+        return BEWERTUNGEN[code >> TEMPERATUR_VERSATZ & BEWERTUNG_MASKE];
+    }
+
+    public static AnalyseErgebnis.Bewertung getPulsBewertung(int code) {
+        return BEWERTUNGEN[code >> PULS_VERSATZ & BEWERTUNG_MASKE];
+    }
+
+    public static AnalyseErgebnis.Bewertung getSpo2Bewertung(int code) {
+        return BEWERTUNGEN[code >> SPO2_VERSATZ & BEWERTUNG_MASKE];
+    }
+
+    /**
+     * Schlechteste der drei Einzelbewertungen.
+     */
+    public static AnalyseErgebnis.Bewertung getGesamtBewertung(int code) {
+        int schlechteste = Math.max(code >> TEMPERATUR_VERSATZ & BEWERTUNG_MASKE,
+                Math.max(code >> PULS_VERSATZ & BEWERTUNG_MASKE, code >> SPO2_VERSATZ & BEWERTUNG_MASKE));
+        return BEWERTUNGEN[schlechteste];
+    }
+}
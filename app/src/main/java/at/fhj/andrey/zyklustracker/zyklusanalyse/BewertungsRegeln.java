@@ -0,0 +1,195 @@
+package at.fhj.andrey.zyklustracker.zyklusanalyse;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+import at.fhj.andrey.zyklustracker.R;
+
+/**
+ * BewertungsRegeln - Tabellengesteuerte Bewertung von Temperatur, Puls und SpO2
+ *
+ * Die Regeln stammen aus res/raw/bewertungsregeln.json und können dort ohne
+ * Codeänderung angepasst werden. Beim Laden werden sie einmalig in Tabellen
+ * pro Zyklusphase übersetzt, die über den quantisierten Messwert indexiert sind
+ * (Temperatur in 0,01 °C, Puls in 1 bpm, SpO2 in 1 %). Jede Bewertung ist danach
+ * ein einziger Array-Zugriff - auch bei der Auswertung langer Verläufe.
+ *
+ * Regelformat pro Messgröße:
+ * - min, max, schritt: Wertebereich und Quantisierung der Tabelle
+ * - regeln: Liste, die erste passende Regel gilt
+ *   - phasen: Zyklusphasen der Regel (fehlt = alle Phasen)
+ *   - von, bis: Inklusiver Bereich (fehlt = Bereichsgrenze)
+ *   - bewertung: NORMAL, GRENZWERTIG, AUFFAELLIG oder KRITISCH
+ *
+ * Werte außerhalb von min/max werden auf den Rand begrenzt. Fehlende
+ * Messungen (Wert <= 0) behandelt der Aufrufer (ZyklusPhaseBerechnung).
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class BewertungsRegeln {
+
+    private static final String TAG = "BewertungsRegeln";
+
+    private static final ZyklusPhaseBerechnung.ZyklusPhase[] PHASEN = ZyklusPhaseBerechnung.ZyklusPhase.values();
+    private static final AnalyseErgebnis.Bewertung[] BEWERTUNGEN = AnalyseErgebnis.Bewertung.values();
+
+    private static volatile BewertungsRegeln instanz;
+
+    private final Tabelle temperatur;
+    private final Tabelle puls;
+    private final Tabelle spo2;
+
+    private BewertungsRegeln(Tabelle temperatur, Tabelle puls, Tabelle spo2) {
+        this.temperatur = temperatur;
+        this.puls = puls;
+        this.spo2 = spo2;
+    }
+
+    /**
+     * Mitgelieferte Regeln, beim ersten Aufruf geladen und übersetzt.
+     *
+     * @throws IllegalStateException wenn die mitgelieferte Regeldatei fehlt oder ungültig ist
+     */
+    public static BewertungsRegeln getInstanz(Context context) {
+        BewertungsRegeln regeln = instanz;
+        if (regeln == null) {
+            synchronized (BewertungsRegeln.class) {
+                regeln = instanz;
+                if (regeln == null) {
+                    try (Reader reader = new InputStreamReader(
+                            context.getApplicationContext().getResources()
+                                    .openRawResource(R.raw.bewertungsregeln),
+                            StandardCharsets.UTF_8)) {
+                        regeln = aus(reader);
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Bewertungsregeln konnten nicht gelesen werden", e);
+                    }
+                    instanz = regeln;
+                }
+            }
+        }
+        return regeln;
+    }
+
+    /**
+     * Liest und übersetzt einen Regelsatz im JSON-Format.
+     *
+     * @throws IllegalStateException bei ungültigem Regelsatz
+     */
+    public static BewertungsRegeln aus(Reader reader) {
+        try {
+            JsonObject wurzel = JsonParser.parseReader(reader).getAsJsonObject();
+            BewertungsRegeln regeln = new BewertungsRegeln(
+                    Tabelle.aus(wurzel.getAsJsonObject("temperatur")),
+                    Tabelle.aus(wurzel.getAsJsonObject("puls")),
+                    Tabelle.aus(wurzel.getAsJsonObject("spo2")));
+            Log.d(TAG, "Bewertungsregeln geladen");
+            return regeln;
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Ungültige Bewertungsregeln: " + e.getMessage(), e);
+        }
+    }
+
+    public AnalyseErgebnis.Bewertung bewerteTemperatur(float temperatur, ZyklusPhaseBerechnung.ZyklusPhase phase) {
+        return BEWERTUNGEN[this.temperatur.stufe(temperatur, phase.ordinal())];
+    }
+
+    public AnalyseErgebnis.Bewertung bewertePuls(int puls, ZyklusPhaseBerechnung.ZyklusPhase phase) {
+        return BEWERTUNGEN[this.puls.stufe(puls, phase.ordinal())];
+    }
+
+    public AnalyseErgebnis.Bewertung bewerteSpo2(int spo2, ZyklusPhaseBerechnung.ZyklusPhase phase) {
+        return BEWERTUNGEN[this.spo2.stufe(spo2, phase.ordinal())];
+    }
+
+    /**
+     * Übersetzte Regeln einer Messgröße: Bewertungs-Ordinal pro Phase und quantisiertem Wert.
+     */
+    private static final class Tabelle {
+        private final float min;
+        private final float schritt;
+        private final byte[][] stufen;
+
+        private Tabelle(float min, float schritt, byte[][] stufen) {
+            this.min = min;
+            this.schritt = schritt;
+            this.stufen = stufen;
+        }
+
+        byte stufe(float wert, int phase) {
+            byte[] zeile = stufen[phase];
+            int position = Math.round((wert - min) / schritt);
+            if (position < 0) {
+                position = 0;
+            } else if (position >= zeile.length) {
+                position = zeile.length - 1;
+            }
+            return zeile[position];
+        }
+
+        static Tabelle aus(JsonObject definition) {
+            float min = definition.get("min").getAsFloat();
+            float max = definition.get("max").getAsFloat();
+            float schritt = definition.get("schritt").getAsFloat();
+            if (schritt <= 0 || max < min) {
+                throw new IllegalArgumentException("Ungültiger Wertebereich " + min + " - " + max);
+            }
+
+            int anzahl = Math.round((max - min) / schritt) + 1;
+            byte[][] stufen = new byte[PHASEN.length][anzahl];
+            boolean[][] belegt = new boolean[PHASEN.length][anzahl];
+
+            // Regeln in Reihenfolge eintragen; bereits belegte Werte bleiben (erste Regel gewinnt)
+            JsonArray regeln = definition.getAsJsonArray("regeln");
+            for (JsonElement element : regeln) {
+                JsonObject regel = element.getAsJsonObject();
+                int von = regel.has("von") ? position(regel.get("von").getAsFloat(), min, schritt) : 0;
+                int bis = regel.has("bis") ? position(regel.get("bis").getAsFloat(), min, schritt) : anzahl - 1;
+                von = Math.max(von, 0);
+                bis = Math.min(bis, anzahl - 1);
+                byte bewertung = (byte) AnalyseErgebnis.Bewertung.valueOf(
+                        regel.get("bewertung").getAsString()).ordinal();
+
+                for (ZyklusPhaseBerechnung.ZyklusPhase phase : phasenDerRegel(regel)) {
+                    int p = phase.ordinal();
+                    for (int i = von; i <= bis; i++) {
+                        if (!belegt[p][i]) {
+                            stufen[p][i] = bewertung;
+                            belegt[p][i] = true;
+                        }
+                    }
+                }
+            }
+            // Nicht abgedeckte Werte bleiben NORMAL (Ordinal 0)
+            return new Tabelle(min, schritt, stufen);
+        }
+
+        private static int position(float wert, float min, float schritt) {
+            return Math.round((wert - min) / schritt);
+        }
+
+        private static ZyklusPhaseBerechnung.ZyklusPhase[] phasenDerRegel(JsonObject regel) {
+            if (!regel.has("phasen")) {
+                return PHASEN;
+            }
+            JsonArray namen = regel.getAsJsonArray("phasen");
+            ZyklusPhaseBerechnung.ZyklusPhase[] phasen = new ZyklusPhaseBerechnung.ZyklusPhase[namen.size()];
+            for (int i = 0; i < phasen.length; i++) {
+                phasen[i] = ZyklusPhaseBerechnung.ZyklusPhase.valueOf(namen.get(i).getAsString());
+            }
+            return phasen;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package at.fhj.andrey.zyklustracker.zyklusanalyse;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.util.Collections;
+import java.util.List;
+
+import at.fhj.andrey.zyklustracker.datenbank.SchreibWarteschlange;
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusDao;
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusDatenbank;
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusEintrag;
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusSegmente;
+
+/**
+ * PeriodenSegmentierung - Gemeinsamer Zugriff auf die Periodensegmente aller Aufrufer
+ *
+ * Die Segmente (zusammenhängende Perioden mit Zykluslänge) werden an genau einer
+ * Stelle gebildet: ZyklusEintrag.ausPeriodenTagen() gruppiert sortierte Tage in
+ * einem Durchlauf, PeriodeDao pflegt damit die Tabelle zyklen. Diese Klasse hält
+ * das Ergebnis samt ZyklusIndex pro Datenstand im Speicher:
+ * - Datenstand = Datenversion der SchreibWarteschlange, die nach jedem Commit mit
+ *   geänderten Periodendaten (periode_eintraege, zyklen, eisprung_erkennung) synchron
+ *   im Schreib-Thread erhöht wird (nicht verzögert wie beim InvalidationTracker);
+ *   Sensor- und Wohlbefinden-Daten ohne Temperatur lassen ihn unverändert
+ * - Unveränderter Datenstand: O(1), keine Datenbankabfrage
+ * - Geänderter Datenstand: Zyklen, Statistik und Eisprünge in einer Transaktion
+ *   neu laden und indexieren
+ *
+ * Alle Aufrufer (Statistik, Phasenanalyse) sehen damit dieselben Segmente.
+ * getZyklen() und getIndex() lesen ggf. aus der Datenbank und dürfen nur in
+ * Background-Threads aufgerufen werden.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class PeriodenSegmentierung {
+
+    private static final String TAG = "PeriodenSegmentierung";
+
+    private static PeriodenSegmentierung instanz;
+
+    private final ZyklusDao zyklusDao;
+
+    // Einziger Schreibpfad, erhöht die Datenversion nach jedem Commit
+    private final SchreibWarteschlange schreibWarteschlange;
+
+    // Zuletzt geladener Stand (unveränderlich, daher ohne Sperre lesbar)
+    private volatile Stand stand;
+
+    /**
+     * Segmente und Index zu einer Datenversion.
+     */
+    private static final class Stand {
+        final long version;
+        final List<ZyklusEintrag> zyklen;
+        final ZyklusIndex index;
+
+        Stand(long version, List<ZyklusEintrag> zyklen, ZyklusIndex index) {
+            this.version = version;
+            this.zyklen = zyklen;
+            this.index = index;
+        }
+    }
+
+    private PeriodenSegmentierung(ZyklusDatenbank datenbank) {
+        this.zyklusDao = datenbank.zyklusDao();
+        this.schreibWarteschlange = datenbank.schreibWarteschlange();
+    }
+
+    /**
+     * Singleton pro App (hängt an der Singleton-Datenbank).
+     */
+    public static synchronized PeriodenSegmentierung getInstanz(Context context) {
+        if (instanz == null) {
+            instanz = new PeriodenSegmentierung(ZyklusDatenbank.getInstanz(context));
+        }
+        return instanz;
+    }
+
+    /**
+     * Aktuelle Datenversion der Periodensegmente.
+     * Ist bereits erhöht, sobald ein Schreibvorgang committet ist - auch wenn seine
+     * Rückmeldung noch nicht ausgeliefert wurde; O(1), ohne Datenbankzugriff.
+     */
+    public long getDatenVersion() {
+        return schreibWarteschlange.getDatenVersion();
+    }
+
+    /**
+     * Alle Segmente, älteste zuerst (nicht veränderbar).
+     */
+    public List<ZyklusEintrag> getZyklen() {
+        return aktuellerStand().zyklen;
+    }
+
+    /**
+     * Index der Segmente für Zyklustag- und Phasenabfragen.
+     */
+    public ZyklusIndex getIndex() {
+        return aktuellerStand().index;
+    }
+
+    /**
+     * Liefert den zwischengespeicherten Stand oder lädt ihn bei geänderter Datenversion neu.
+     *
+     * Die Version wird vor dem Laden gelesen: Ändern sich die Daten während des
+     * Ladens, ist die Version danach bereits erhöht und der nächste Aufruf lädt erneut.
+     */
+    private Stand aktuellerStand() {
+        long version = getDatenVersion();
+        Stand aktuell = stand;
+        if (aktuell != null && aktuell.version == version) {
+            return aktuell;
+        }
+
+        ZyklusSegmente segmente = zyklusDao.getZyklusSegmente();
+        List<ZyklusEintrag> zyklen = Collections.unmodifiableList(segmente.zyklen);
+        ZyklusIndex index = ZyklusIndex.aus(zyklen, segmente.statistik)
+                .mitEisprungTagen(segmente.eisprungTage);
+        aktuell = new Stand(version, zyklen, index);
+        stand = aktuell;
+        Log.d(TAG, "Segmente neu geladen: " + zyklen.size() + " Zyklen (Version " + version + ")");
+        return aktuell;
+    }
+}
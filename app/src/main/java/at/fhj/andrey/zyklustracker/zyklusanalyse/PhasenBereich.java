@@ -0,0 +1,99 @@
+package at.fhj.andrey.zyklustracker.zyklusanalyse;
+
+import java.time.LocalDate;
+
+/**
+ * PhasenBereich - Zyklusphase und Zyklustag für jeden Tag eines Zeitraums
+ *
+ * Ergebnis von ZyklusPhaseBerechnung.berechnePhasenBereich(). Die Werte liegen
+ * kompakt in primitiven Arrays, ein Eintrag pro Tag ab dem Starttag:
+ * - phasen: Ordinalwert der ZyklusPhase als byte
+ * - zyklusTage: Zyklustag (1-basiert), 0 vor dem ersten erfassten Zyklus
+ *
+ * Ein ganzes Jahr belegt damit rund 1 KB statt hunderter Einzelobjekte.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class PhasenBereich {
+
+    private static final ZyklusPhaseBerechnung.ZyklusPhase[] PHASEN =
+            ZyklusPhaseBerechnung.ZyklusPhase.values();
+
+    private final long startTag;
+    private final byte[] phasen;
+    private final short[] zyklusTage;
+
+    PhasenBereich(long startTag, byte[] phasen, short[] zyklusTage) {
+        this.startTag = startTag;
+        this.phasen = phasen;
+        this.zyklusTage = zyklusTage;
+    }
+
+    /**
+     * Anzahl der Tage im Bereich.
+     */
+    public int getAnzahlTage() {
+        return phasen.length;
+    }
+
+    public LocalDate getVon() {
+        return LocalDate.ofEpochDay(startTag);
+    }
+
+    public LocalDate getBis() {
+        return LocalDate.ofEpochDay(startTag + phasen.length - 1);
+    }
+
+    /**
+     * Prüft, ob ein Datum im Bereich liegt.
+     */
+    public boolean enthaelt(LocalDate datum) {
+        long versatz = datum.toEpochDay() - startTag;
+        return versatz >= 0 && versatz < phasen.length;
+    }
+
+    /**
+     * Phase an einer Position (0 = Starttag).
+     */
+    public ZyklusPhaseBerechnung.ZyklusPhase getPhase(int position) {
+        return PHASEN[phasen[position]];
+    }
+
+    /**
+     * Phase eines Datums im Bereich.
+     */
+    public ZyklusPhaseBerechnung.ZyklusPhase getPhase(LocalDate datum) {
+        return getPhase(position(datum));
+    }
+
+    /**
+     * Zyklustag an einer Position (0 = Starttag); 0 vor dem ersten Zyklus.
+     */
+    public int getZyklusTag(int position) {
+        return zyklusTage[position];
+    }
+
+    /**
+     * Zyklustag eines Datums im Bereich; 0 vor dem ersten Zyklus.
+     */
+    public int getZyklusTag(LocalDate datum) {
+        return getZyklusTag(position(datum));
+    }
+
+    /**
+     * Kopie der Phasen-Ordinalwerte (z.B. für Diagramm-Bänder).
+     */
+    public byte[] getPhasenOrdinale() {
+        return phasen.clone();
+    }
+
+    private int position(LocalDate datum) {
+        long versatz = datum.toEpochDay() - startTag;
+        if (versatz < 0 || versatz >= phasen.length) {
+            throw new IndexOutOfBoundsException("Datum außerhalb des Bereichs: " + datum);
+        }
+        return (int) versatz;
+    }
+}
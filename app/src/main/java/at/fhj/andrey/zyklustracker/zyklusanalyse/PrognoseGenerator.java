@@ -0,0 +1,125 @@
+package at.fhj.andrey.zyklustracker.zyklusanalyse;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import at.fhj.andrey.zyklustracker.datenbank.PrognoseStand;
+
+/**
+ * PrognoseGenerator - Bei Bedarf berechnete Kalenderprognosen ohne festen Horizont
+ *
+ * Aus dem letzten Periodenbeginn und der Zykluslänge lässt sich jeder Tag direkt
+ * einordnen (Zyklusnummer = Abstand / Länge, Zyklustag = Abstand % Länge).
+ * Prognosen werden daher erst erzeugt, wenn ein Monat angefragt wird - es gibt
+ * keinen festen Horizont, beliebig weit entfernte Monate sind bei Bedarf verfügbar.
+ *
+ * Markierungen pro Tag (Priorität absteigend):
+ * - PERIODE: Prognostizierte Menstruation (6 Tage ab jedem künftigen Periodenbeginn)
+ * - EISPRUNG: 14. Zyklustag
+ * - FRUCHTBAR: 5 Tage vor bis 2 Tage nach dem Eisprung
+ *
+ * Die Parameter stammen aus dem gespeicherten PrognoseStand und sind
+ * unveränderlich, bei einem neuen Stand wird ein neuer Generator erzeugt.
+ * Der Generator selbst merkt sich nichts und ist daher threadsicher; die
+ * berechneten Monate hält der KalenderTagesStatus.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class PrognoseGenerator {
+
+    public static final byte KEINE = 0;
+    public static final byte FRUCHTBAR = 1;
+    public static final byte EISPRUNG = 2;
+    public static final byte PERIODE = 3;
+
+    /**
+     * Medizinischer Standard, wenn die Zykluslänge unrealistisch ist.
+     */
+    public static final int STANDARD_ZYKLUSLAENGE = 28;
+
+    /**
+     * Prognostizierte Menstruationstage ab jedem künftigen Periodenbeginn.
+     */
+    public static final int PERIODEN_TAGE = 6;
+
+    // Eisprung am 14. Zyklustag (0-basiert 13)
+    private static final int EISPRUNG_OFFSET = 13;
+    private static final int FRUCHTBAR_VOR_EISPRUNG = 5;
+    private static final int FRUCHTBAR_NACH_EISPRUNG = 2;
+
+    /**
+     * Generator ohne Prognosen (weniger als zwei Zyklen bekannt).
+     */
+    public static final PrognoseGenerator LEER = new PrognoseGenerator(null, 0);
+
+    private final LocalDate letzterPeriodenstart;
+    private final int zyklusLaenge;
+
+    private PrognoseGenerator(LocalDate letzterPeriodenstart, int zyklusLaenge) {
+        this.letzterPeriodenstart = letzterPeriodenstart;
+        this.zyklusLaenge = zyklusLaenge;
+    }
+
+    /**
+     * Erzeugt den Generator aus dem gespeicherten Prognosestand.
+     *
+     * @param stand Grundlage der Prognosen (null = keine Prognose möglich)
+     */
+    public static PrognoseGenerator aus(PrognoseStand stand) {
+        if (stand == null) {
+            return LEER;
+        }
+        return new PrognoseGenerator(stand.getPeriodenstart(), stand.getZyklusLaenge());
+    }
+
+    /**
+     * @return true, wenn beide Generatoren dieselben Prognosen liefern
+     */
+    public boolean gleicheParameter(PrognoseGenerator andere) {
+        if (andere == null) {
+            return false;
+        }
+        if (letzterPeriodenstart == null || andere.letzterPeriodenstart == null) {
+            return letzterPeriodenstart == andere.letzterPeriodenstart;
+        }
+        return zyklusLaenge == andere.zyklusLaenge
+                && letzterPeriodenstart.equals(andere.letzterPeriodenstart);
+    }
+
+    /**
+     * Trägt die Prognose-Markierungen eines Monats in einem Durchlauf ein.
+     * Tage ohne Prognose bleiben unverändert.
+     *
+     * @param monat Zu berechnender Monat
+     * @param ziel  Markierungen pro Monatstag (Index 0 = 1. Tag), mindestens Monatslänge
+     */
+    public void markiereMonat(YearMonth monat, byte[] ziel) {
+        if (letzterPeriodenstart == null) {
+            return;
+        }
+
+        int tage = monat.lengthOfMonth();
+        long startTag = letzterPeriodenstart.toEpochDay();
+        long ersterTag = monat.atDay(1).toEpochDay();
+
+        for (int i = 0; i < tage; i++) {
+            long abstand = ersterTag + i - startTag;
+            if (abstand < 0) {
+                continue; // Vor dem letzten Periodenbeginn gibt es keine Prognose
+            }
+            long zyklusNummer = abstand / zyklusLaenge;
+            int zyklusTag = (int) (abstand % zyklusLaenge);
+
+            if (zyklusNummer >= 1 && zyklusTag < PERIODEN_TAGE) {
+                ziel[i] = PERIODE;
+            } else if (zyklusTag == EISPRUNG_OFFSET) {
+                ziel[i] = EISPRUNG;
+            } else if (zyklusTag >= EISPRUNG_OFFSET - FRUCHTBAR_VOR_EISPRUNG
+                    && zyklusTag <= EISPRUNG_OFFSET + FRUCHTBAR_NACH_EISPRUNG) {
+                ziel[i] = FRUCHTBAR;
+            }
+        }
+    }
+}
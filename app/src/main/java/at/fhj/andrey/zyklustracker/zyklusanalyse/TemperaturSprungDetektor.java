@@ -0,0 +1,128 @@
+package at.fhj.andrey.zyklustracker.zyklusanalyse;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+
+import at.fhj.andrey.zyklustracker.datenbank.EisprungErkennung;
+
+/**
+ * TemperaturSprungDetektor - Fortlaufende Eisprungerkennung über die Basaltemperatur
+ *
+ * Umsetzung der "3 über 6"-Regel: Ein Eisprung gilt als bestätigt, sobald drei
+ * aufeinanderfolgende Tageswerte über allen sechs vorherigen Werten liegen
+ * (Hilfslinie = Maximum der sechs Tieflage-Werte) und der dritte hohe Wert
+ * mindestens 0,2 °C über der Hilfslinie liegt. Als Eisprung wird der letzte
+ * Tieflage-Tag eingetragen.
+ *
+ * Jede Messung wird direkt beim Eintreffen verarbeitet. Der Zustand pro Zyklus
+ * (EisprungErkennung) hält nur die letzten neun Tageswerte, die Verarbeitung
+ * ist daher O(1) und liest nie den Verlauf. Mehrere Messungen am selben Tag
+ * ersetzen den Tageswert. Nach der Erkennung bleibt der Zustand des Zyklus unverändert.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class TemperaturSprungDetektor {
+
+    static final int ANZAHL_TIEFLAGE = 6;
+    static final int ANZAHL_HOCHLAGE = 3;
+    static final int FENSTER = ANZAHL_TIEFLAGE + ANZAHL_HOCHLAGE;
+
+    // Mindestabstand des dritten hohen Werts zur Hilfslinie in 1/100 °C
+    static final int MIN_ANSTIEG_HUNDERTSTEL = 20;
+
+    // Pro Wert: Temperatur (short, 1/100 °C) + Zyklustag (short)
+    private static final int BYTES_PRO_WERT = 4;
+
+    private TemperaturSprungDetektor() {
+        // Nur statische Methoden
+    }
+
+    /**
+     * Verarbeitet eine neue Temperaturmessung.
+     *
+     * @param zustand Zustand des Zyklus, in dem der Messtag liegt (wird verändert)
+     * @param tag Messtag
+     * @param temperatur Gemessene Temperatur in °C
+     * @return true, wenn mit dieser Messung ein Eisprung erkannt wurde
+     */
+    public static boolean verarbeite(EisprungErkennung zustand, LocalDate tag, float temperatur) {
+        if (zustand.getEisprungDatum() != null) {
+            return false; // Für diesen Zyklus bereits erkannt
+        }
+
+        long zyklusTag = ChronoUnit.DAYS.between(zustand.getZyklusStart(), tag);
+        if (zyklusTag < 0 || zyklusTag > Short.MAX_VALUE) {
+            return false;
+        }
+
+        LocalDate letzterTag = zustand.getLetzterTag();
+        if (letzterTag != null && tag.isBefore(letzterTag)) {
+            return false; // Ältere Messungen ändern den fortlaufenden Zustand nicht
+        }
+
+        byte[] puffer = zustand.getPuffer();
+        if (puffer == null || puffer.length != FENSTER * BYTES_PRO_WERT) {
+            puffer = new byte[FENSTER * BYTES_PRO_WERT];
+        }
+        int anzahl = Math.min(zustand.getAnzahlWerte(), FENSTER);
+        int hundertstel = Math.round(temperatur * 100);
+
+        if (anzahl > 0 && tag.equals(letzterTag)) {
+            // Neuere Messung desselben Tages ersetzt den Tageswert
+            schreibe(puffer, anzahl - 1, hundertstel, (int) zyklusTag);
+        } else {
+            if (anzahl == FENSTER) {
+                // Ältesten Wert verwerfen
+                System.arraycopy(puffer, BYTES_PRO_WERT, puffer, 0, (FENSTER - 1) * BYTES_PRO_WERT);
+                anzahl--;
+            }
+            schreibe(puffer, anzahl, hundertstel, (int) zyklusTag);
+            anzahl++;
+        }
+
+        zustand.setPuffer(puffer);
+        zustand.setAnzahlWerte(anzahl);
+        zustand.setLetzterTag(tag);
+
+        if (anzahl < FENSTER) {
+            return false;
+        }
+
+        // Hilfslinie: höchster der sechs Tieflage-Werte
+        int hilfslinie = Integer.MIN_VALUE;
+        for (int i = 0; i < ANZAHL_TIEFLAGE; i++) {
+            hilfslinie = Math.max(hilfslinie, temperatur(puffer, i));
+        }
+        for (int i = ANZAHL_TIEFLAGE; i < FENSTER; i++) {
+            if (temperatur(puffer, i) <= hilfslinie) {
+                return false;
+            }
+        }
+        if (temperatur(puffer, FENSTER - 1) < hilfslinie + MIN_ANSTIEG_HUNDERTSTEL) {
+            return false;
+        }
+
+        zustand.setEisprungDatum(zustand.getZyklusStart().plusDays(zyklusTag(puffer, ANZAHL_TIEFLAGE - 1)));
+        return true;
+    }
+
+    private static void schreibe(byte[] puffer, int position, int hundertstel, int zyklusTag) {
+        int i = position * BYTES_PRO_WERT;
+        puffer[i] = (byte) (hundertstel >> 8);
+        puffer[i + 1] = (byte) hundertstel;
+        puffer[i + 2] = (byte) (zyklusTag >> 8);
+        puffer[i + 3] = (byte) zyklusTag;
+    }
+
+    private static int temperatur(byte[] puffer, int position) {
+        int i = position * BYTES_PRO_WERT;
+        return (short) (((puffer[i] & 0xFF) << 8) | (puffer[i + 1] & 0xFF));
+    }
+
+    private static int zyklusTag(byte[] puffer, int position) {
+        int i = position * BYTES_PRO_WERT;
+        return (short) (((puffer[i + 2] & 0xFF) << 8) | (puffer[i + 3] & 0xFF));
+    }
+}
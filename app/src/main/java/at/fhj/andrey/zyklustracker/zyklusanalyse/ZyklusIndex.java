@@ -0,0 +1,199 @@
+package at.fhj.andrey.zyklustracker.zyklusanalyse;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusEintrag;
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusStatistik;
+
+/**
+ * ZyklusIndex - Unveränderlicher, sortierter Index der Periodenbeginne
+ *
+ * Wird einmal aus den materialisierten Zyklen aufgebaut und danach für beliebig
+ * viele Abfragen wiederverwendet:
+ * - Periodenbeginne als primitives int[] von Epoch-Tagen (aufsteigend)
+ * - Zykluslängen parallel dazu (KEINE_LAENGE für den laufenden Zyklus)
+ * - Durchschnittliche Zykluslänge und Regelmäßigkeit aus der laufenden
+ *   ZyklusStatistik (Mittelwert, M2) in O(1) abgeleitet
+ * - Optional per Basaltemperatur erkannte Eisprünge (KEIN_EISPRUNG, wenn keiner vorliegt)
+ *
+ * Zyklustag- und Phasenabfragen sind damit Binärsuchen in O(log n),
+ * ohne Sortieren oder Objekterzeugung pro Aufruf.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public final class ZyklusIndex {
+
+    /**
+     * Platzhalter in zyklusLaengen für Zyklen ohne Nachfolger.
+     */
+    public static final int KEINE_LAENGE = -1;
+
+    /**
+     * Platzhalter in eisprungTage für Zyklen ohne erkannten Eisprung.
+     */
+    public static final int KEIN_EISPRUNG = Integer.MIN_VALUE;
+
+    /**
+     * Index ohne Zyklen.
+     */
+    public static final ZyklusIndex LEER = new ZyklusIndex(new int[0], new int[0], new ZyklusStatistik());
+
+    private final int[] startTage;
+    private final int[] zyklusLaengen;
+    private final int[] eisprungTage;
+    private final int durchschnittlicheZykluslaenge;
+    private final boolean regelmaessig;
+
+    private ZyklusIndex(int[] startTage, int[] zyklusLaengen, ZyklusStatistik statistik) {
+        this.startTage = startTage;
+        this.zyklusLaengen = zyklusLaengen;
+        this.eisprungTage = new int[startTage.length];
+        Arrays.fill(eisprungTage, KEIN_EISPRUNG);
+
+        if (statistik.hatDaten()) {
+            this.durchschnittlicheZykluslaenge = (int) Math.round(statistik.getMittelwert());
+        } else {
+            this.durchschnittlicheZykluslaenge = ZyklusPhaseBerechnung.ZYKLUSLÄNGE_STANDARD;
+        }
+
+        // Regelmäßig, solange zu wenig Daten vorliegen oder die Standardabweichung < 5 Tage ist
+        this.regelmaessig = startTage.length < 3
+                || statistik.getAnzahl() < 2
+                || statistik.getStandardAbweichung() < 5.0;
+    }
+
+    private ZyklusIndex(ZyklusIndex basis, int[] eisprungTage) {
+        this.startTage = basis.startTage;
+        this.zyklusLaengen = basis.zyklusLaengen;
+        this.eisprungTage = eisprungTage;
+        this.durchschnittlicheZykluslaenge = basis.durchschnittlicheZykluslaenge;
+        this.regelmaessig = basis.regelmaessig;
+    }
+
+    /**
+     * Baut den Index aus den Zyklen der Tabelle zyklen; die Statistik wird aus der Liste berechnet.
+     *
+     * @param zyklen Zyklen, aufsteigend nach startDatum (wie von ZyklusDao geliefert)
+     */
+    public static ZyklusIndex aus(List<ZyklusEintrag> zyklen) {
+        return aus(zyklen, ZyklusStatistik.aus(zyklen));
+    }
+
+    /**
+     * Baut den Index aus den Zyklen und der gespeicherten laufenden Statistik.
+     *
+     * @param zyklen Zyklen, aufsteigend nach startDatum (wie von ZyklusDao geliefert)
+     * @param statistik Laufende Statistik aus zyklus_statistik (null = aus der Liste berechnen)
+     */
+    public static ZyklusIndex aus(List<ZyklusEintrag> zyklen, ZyklusStatistik statistik) {
+        if (zyklen == null || zyklen.isEmpty()) {
+            return LEER;
+        }
+        if (statistik == null) {
+            statistik = ZyklusStatistik.aus(zyklen);
+        }
+
+        int[] startTage = new int[zyklen.size()];
+        int[] zyklusLaengen = new int[zyklen.size()];
+        for (int i = 0; i < zyklen.size(); i++) {
+            ZyklusEintrag zyklus = zyklen.get(i);
+            startTage[i] = (int) zyklus.getStartDatum().toEpochDay();
+            Integer laenge = zyklus.getZyklusLaenge();
+            zyklusLaengen[i] = laenge != null ? laenge : KEINE_LAENGE;
+        }
+        return new ZyklusIndex(startTage, zyklusLaengen, statistik);
+    }
+
+    /**
+     * Liefert einen Index mit den erkannten Eisprüngen.
+     * Jeder Eisprung wird dem Zyklus zugeordnet, in dessen Zeitraum er liegt;
+     * damit bleibt die Zuordnung auch nach einer Neugruppierung der Zyklen stimmig.
+     *
+     * @param eisprungDaten Erkannte Eisprünge (Reihenfolge beliebig)
+     */
+    public ZyklusIndex mitEisprungTagen(List<LocalDate> eisprungDaten) {
+        if (eisprungDaten == null || eisprungDaten.isEmpty() || istLeer()) {
+            return this;
+        }
+        int[] tage = new int[startTage.length];
+        Arrays.fill(tage, KEIN_EISPRUNG);
+        for (LocalDate datum : eisprungDaten) {
+            long epochTag = datum.toEpochDay();
+            int position = findeZyklus(epochTag);
+            if (position >= 0) {
+                tage[position] = (int) epochTag;
+            }
+        }
+        return new ZyklusIndex(this, tage);
+    }
+
+    /**
+     * Position des Zyklus, in dem der Tag liegt (letzter Periodenbeginn am oder vor dem Tag).
+     *
+     * @param epochTag Tag als Epoch-Tag
+     * @return Position im Index oder -1, wenn der Tag vor dem ersten Zyklus liegt
+     */
+    public int findeZyklus(long epochTag) {
+        int treffer = Arrays.binarySearch(startTage, (int) epochTag);
+        // Nicht gefunden: -(Einfügeposition) - 1 → Vorgänger der Einfügeposition
+        return treffer >= 0 ? treffer : -treffer - 2;
+    }
+
+    /**
+     * Zyklustag (1-basiert) eines Datums.
+     *
+     * @return Zyklustag oder 0, wenn vor dem Datum kein Zyklus begonnen hat
+     */
+    public int zyklusTag(LocalDate datum) {
+        long epochTag = datum.toEpochDay();
+        int position = findeZyklus(epochTag);
+        return position < 0 ? 0 : (int) (epochTag - startTage[position]) + 1;
+    }
+
+    public boolean istLeer() {
+        return startTage.length == 0;
+    }
+
+    public int getAnzahlZyklen() {
+        return startTage.length;
+    }
+
+    /**
+     * Periodenbeginn an einer Position als Epoch-Tag.
+     */
+    public int getStartTag(int position) {
+        return startTage[position];
+    }
+
+    /**
+     * Zykluslänge an einer Position oder KEINE_LAENGE für den laufenden Zyklus.
+     */
+    public int getZyklusLaenge(int position) {
+        return zyklusLaengen[position];
+    }
+
+    /**
+     * Erkannter Eisprung an einer Position als Epoch-Tag oder KEIN_EISPRUNG.
+     */
+    public int getEisprungTag(int position) {
+        return eisprungTage[position];
+    }
+
+    /**
+     * Durchschnitt der realistischen Zykluslängen, sonst die Standardlänge.
+     */
+    public int getDurchschnittlicheZykluslaenge() {
+        return durchschnittlicheZykluslaenge;
+    }
+
+    /**
+     * Regelmäßigkeit: Standardabweichung der Zykluslängen unter 5 Tagen.
+     */
+    public boolean istRegelmaessig() {
+        return regelmaessig;
+    }
+}
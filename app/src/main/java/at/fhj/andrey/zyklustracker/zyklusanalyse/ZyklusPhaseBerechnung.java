@@ -2,11 +2,11 @@ package at.fhj.andrey.zyklustracker.zyklusanalyse;
 
 import android.util.Log;
 import java.time.LocalDate;
-import java.time.temporal.ChronoUnit;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusEintrag;
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusStatistik;
+
 /**
  * ZyklusPhaseBerechnung - Zentrale Logik für Zyklusanalyse und Phasenerkennung
  *
@@ -21,6 +21,9 @@ import java.util.List;
  * - Ovulation (Tage 12-16): Beginnender Anstieg, Überlappung mit Follikelphase
  * - Lutealphase (Tage 17-28): Höchste Werte (+3-5% Puls, +0.3-0.7°C Temperatur)
  *
+ * Die Bewertungsgrenzen der Sensor-Werte sind nicht fest im Code, sondern
+ * kommen aus BewertungsRegeln (res/raw/bewertungsregeln.json).
+ *
  * @author Andrey Eskin
  * @version 1.0
  * @since Mai 2025
@@ -29,6 +32,9 @@ public class ZyklusPhaseBerechnung {
 
     private static final String TAG = "ZyklusPhaseBerechnung";
 
+    // Übersetzte Bewertungsregeln (Tabellen pro Phase)
+    private final BewertungsRegeln regeln;
+
     /**
      * Enum für die vier Hauptphasen des Menstruationszyklus
      */
@@ -53,63 +59,138 @@ public class ZyklusPhaseBerechnung {
 
     // ===== MEDIZINISCHE REFERENZWERTE (aus Ihrer Forschung) =====
 
-    // Temperatur-Referenzbereiche (°C)
+    // Bewertungsgrenzen für Temperatur, Puls und SpO2: res/raw/bewertungsregeln.json (BewertungsRegeln)
+
+    // Temperatur-Referenzwerte (°C) für die Abweichung vom Phasenmittelwert
     private static final float TEMP_FOLLIKEL_MIN = 36.0f;
     private static final float TEMP_FOLLIKEL_MAX = 36.5f;
     private static final float TEMP_LUTEAL_MIN = 36.5f;
     private static final float TEMP_LUTEAL_MAX = 37.0f;
-    private static final float TEMP_ANSTIEG_SCHWELLE = 0.3f;  // Mindest-Anstieg für Eisprung
 
-    // Puls-Referenzbereiche (bpm und prozentuale Änderungen)
-    private static final int PULS_NORMAL_MIN = 60;
-    private static final int PULS_NORMAL_MAX = 100;
-    private static final float PULS_LUTEAL_ANSTIEG_MIN = 0.03f;  // 3% Anstieg
-    private static final float PULS_LUTEAL_ANSTIEG_MAX = 0.05f;  // 5% Anstieg
+    // Zyklus-Parameter (Gültigkeitsbereich wie in der laufenden ZyklusStatistik)
+    static final int ZYKLUSLÄNGE_MIN = ZyklusStatistik.GUELTIG_MIN;
+    static final int ZYKLUSLÄNGE_MAX = ZyklusStatistik.GUELTIG_MAX;
+    static final int ZYKLUSLÄNGE_STANDARD = 28;
 
-    // SpO2-Referenzbereiche (%)
-    private static final int SPO2_NORMAL_MIN = 95;
-    private static final int SPO2_OPTIMAL = 98;
-
-    // Zyklus-Parameter
-    private static final int ZYKLUSLÄNGE_MIN = 21;
-    private static final int ZYKLUSLÄNGE_MAX = 35;
-    private static final int ZYKLUSLÄNGE_STANDARD = 28;
+    /**
+     * @param regeln Bewertungsregeln, z.B. BewertungsRegeln.getInstanz(context)
+     */
+    public ZyklusPhaseBerechnung(BewertungsRegeln regeln) {
+        this.regeln = regeln;
+    }
 
     /**
      * Ermittelt die aktuelle Zyklusphase für ein gegebenes Datum
      *
      * @param datum Das zu analysierende Datum
-     * @param periodendaten Liste aller Periodenstartdaten (chronologisch sortiert)
+     * @param zyklen Materialisierte Zyklen aus der Tabelle zyklen (älteste zuerst)
      * @return ZyklusPhase für das angegebene Datum
      */
-    public ZyklusPhase berechneAktuellePhase(LocalDate datum, List<LocalDate> periodendaten) {
-        if (periodendaten == null || periodendaten.isEmpty()) {
+    public ZyklusPhase berechneAktuellePhase(LocalDate datum, List<ZyklusEintrag> zyklen) {
+        return berechneAktuellePhase(datum, ZyklusIndex.aus(zyklen));
+    }
+
+    /**
+     * Ermittelt die aktuelle Zyklusphase über einen vorab aufgebauten Index
+     * (Binärsuche, keine Sortierung pro Aufruf)
+     *
+     * @param datum Das zu analysierende Datum
+     * @param index Zyklusindex
+     * @return ZyklusPhase für das angegebene Datum
+     */
+    public ZyklusPhase berechneAktuellePhase(LocalDate datum, ZyklusIndex index) {
+        if (index.istLeer()) {
             Log.w(TAG, "Keine Periodendaten verfügbar für Phasenberechnung");
             return ZyklusPhase.UNBEKANNT;
         }
 
-        // Daten sortieren (neueste zuerst für effiziente Suche)
-        List<LocalDate> sortiertePerioden = new ArrayList<>(periodendaten);
-        Collections.sort(sortiertePerioden, Collections.reverseOrder());
-
-        // Finde den ersten Tag der letzten Periode vor dem angegebenen Datum
-        LocalDate letzterPeriodenstart = findeErstenPeriodentag(datum, sortiertePerioden);
-
-        if (letzterPeriodenstart == null) {
+        ZyklusPhase phase = bestimmePhase(datum.toEpochDay(), index);
+        if (phase == ZyklusPhase.UNBEKANNT) {
             Log.w(TAG, "Keine passende Periode für Datum gefunden: " + datum);
+        }
+        return phase;
+    }
+
+    /**
+     * Phase eines Epoch-Tags ohne Logging und ohne Objekterzeugung
+     */
+    private ZyklusPhase bestimmePhase(long epochTag, ZyklusIndex index) {
+        // Zyklus des Datums: letzter Periodenbeginn am oder vor dem Datum
+        int position = index.findeZyklus(epochTag);
+        if (position < 0) {
             return ZyklusPhase.UNBEKANNT;
         }
 
-        // Berechne Zyklustag (1-basiert)
-        int zyklusTag = (int) ChronoUnit.DAYS.between(letzterPeriodenstart, datum) + 1;
+        int zyklusTag = (int) (epochTag - index.getStartTag(position)) + 1;
+        int eisprungTag = index.getEisprungTag(position);
+        if (eisprungTag != ZyklusIndex.KEIN_EISPRUNG) {
+            // Per Basaltemperatur bestätigter Eisprung hat Vorrang vor der Schätzung
+            return bestimmePhaseNachEisprung(zyklusTag, epochTag, eisprungTag);
+        }
+
+        // Durchschnittliche Zykluslänge ist im Index vorberechnet
+        return bestimmePhaseNachTag(zyklusTag, index.getDurchschnittlicheZykluslaenge());
+    }
+
+    /**
+     * Berechnet Zyklusphase und Zyklustag für jeden Tag im Zeitraum [von, bis]
+     *
+     * Ein einziger linearer Durchlauf: Der Zyklus des ersten Tages wird per
+     * Binärsuche bestimmt, danach wird nur noch beim nächsten Periodenbeginn
+     * weitergeschaltet. Geeignet für Kalendermonate, Diagramm-Bänder und
+     * Neuanalysen über viele Tage.
+     *
+     * @param von Erster Tag (inklusive)
+     * @param bis Letzter Tag (inklusive), nicht vor von
+     * @param index Zyklusindex
+     * @return Phasen und Zyklustage als kompakte Arrays
+     */
+    public PhasenBereich berechnePhasenBereich(LocalDate von, LocalDate bis, ZyklusIndex index) {
+        long startTag = von.toEpochDay();
+        long endTag = bis.toEpochDay();
+        if (endTag < startTag) {
+            throw new IllegalArgumentException("Ende liegt vor dem Beginn: " + von + " - " + bis);
+        }
+
+        int anzahlTage = (int) (endTag - startTag + 1);
+        byte[] phasen = new byte[anzahlTage];
+        short[] zyklusTage = new short[anzahlTage];
 
-        // Bestimme durchschnittliche Zykluslänge für präzisere Phasengrenzen
-        int durchschnittlicheZykluslänge = berechneDurchschnittlicheZykluslänge(sortiertePerioden);
+        int zykluslänge = index.getDurchschnittlicheZykluslaenge();
+        int anzahlZyklen = index.getAnzahlZyklen();
+        int position = index.findeZyklus(startTag);
+        long naechsterStart = position + 1 < anzahlZyklen ? index.getStartTag(position + 1) : Long.MAX_VALUE;
 
-        Log.d(TAG, "Datum: " + datum + ", Letzter Periodenstart: " + letzterPeriodenstart +
-                ", Zyklustag: " + zyklusTag + ", Durchschnittslänge: " + durchschnittlicheZykluslänge);
+        for (int i = 0; i < anzahlTage; i++) {
+            long tag = startTag + i;
 
-        return bestimmePhaseNachTag(zyklusTag, durchschnittlicheZykluslänge);
+            // Beim nächsten Periodenbeginn in den nächsten Zyklus wechseln
+            while (tag >= naechsterStart) {
+                position++;
+                naechsterStart = position + 1 < anzahlZyklen ? index.getStartTag(position + 1) : Long.MAX_VALUE;
+            }
+
+            if (position < 0) {
+                phasen[i] = (byte) ZyklusPhase.UNBEKANNT.ordinal();
+            } else {
+                int zyklusTag = (int) (tag - index.getStartTag(position)) + 1;
+                zyklusTage[i] = (short) Math.min(zyklusTag, Short.MAX_VALUE);
+                int eisprungTag = index.getEisprungTag(position);
+                ZyklusPhase phase = eisprungTag != ZyklusIndex.KEIN_EISPRUNG
+                        ? bestimmePhaseNachEisprung(zyklusTag, tag, eisprungTag)
+                        : bestimmePhaseNachTag(zyklusTag, zykluslänge);
+                phasen[i] = (byte) phase.ordinal();
+            }
+        }
+
+        return new PhasenBereich(startTag, phasen, zyklusTage);
+    }
+
+    /**
+     * Listen-Variante von berechnePhasenBereich (baut den Index einmal auf)
+     */
+    public PhasenBereich berechnePhasenBereich(LocalDate von, LocalDate bis, List<ZyklusEintrag> zyklen) {
+        return berechnePhasenBereich(von, bis, ZyklusIndex.aus(zyklen));
     }
 
     /**
@@ -139,32 +220,22 @@ public class ZyklusPhaseBerechnung {
     }
 
     /**
-     * Berechnet die durchschnittliche Zykluslänge aus historischen Daten
+     * Bestimmt die Zyklusphase anhand eines per Basaltemperatur erkannten Eisprungs
+     * (TemperaturSprungDetektor) statt des geschätzten Tags 14
+     *
+     * @param zyklusTag Zyklustag (1-basiert)
+     * @param epochTag Tag als Epoch-Tag
+     * @param eisprungTag Erkannter Eisprung als Epoch-Tag
      */
-    private int berechneDurchschnittlicheZykluslänge(List<LocalDate> sortiertePerioden) {
-        if (sortiertePerioden.size() < 2) {
-            return ZYKLUSLÄNGE_STANDARD;
-        }
-
-        List<Long> zykluslängen = new ArrayList<>();
-        for (int i = 0; i < sortiertePerioden.size() - 1; i++) {
-            LocalDate aktuelle = sortiertePerioden.get(i);
-            LocalDate vorherige = sortiertePerioden.get(i + 1);
-            long länge = ChronoUnit.DAYS.between(vorherige, aktuelle);
-
-            // Nur realistische Zykluslängen berücksichtigen
-            if (länge >= ZYKLUSLÄNGE_MIN && länge <= ZYKLUSLÄNGE_MAX) {
-                zykluslängen.add(länge);
-            }
-        }
-
-        if (zykluslängen.isEmpty()) {
-            return ZYKLUSLÄNGE_STANDARD;
+    private ZyklusPhase bestimmePhaseNachEisprung(int zyklusTag, long epochTag, int eisprungTag) {
+        if (epochTag == eisprungTag) {
+            return ZyklusPhase.OVULATION;
+        } else if (epochTag > eisprungTag) {
+            return ZyklusPhase.LUTEALPHASE;
+        } else if (zyklusTag <= 5) {
+            return ZyklusPhase.MENSTRUATION;
         }
-
-        // Durchschnitt berechnen
-        double durchschnitt = zykluslängen.stream().mapToLong(Long::longValue).average().orElse(ZYKLUSLÄNGE_STANDARD);
-        return (int) Math.round(durchschnitt);
+        return ZyklusPhase.FOLLIKELPHASE;
     }
 
     /**
@@ -174,200 +245,112 @@ public class ZyklusPhaseBerechnung {
      * @param temperatur Körpertemperatur in °C
      * @param puls Ruhepuls in bpm
      * @param spo2 Sauerstoffsättigung in %
-     * @param periodendaten Historische Periodendaten
+     * @param index Zyklusindex (einmal aus den materialisierten Zyklen aufgebaut)
      * @return Detailliertes AnalyseErgebnis mit Bewertung und Empfehlungen
      */
     public AnalyseErgebnis analysiereSensorWerte(LocalDate datum, float temperatur, int puls, int spo2,
-                                                 List<LocalDate> periodendaten) {
+                                                 ZyklusIndex index) {
 
-        // Aktuelle Phase bestimmen
-        ZyklusPhase aktuellePhase = berechneAktuellePhase(datum, periodendaten);
-        int zyklusTag = berechneZyklusTag(datum, periodendaten);
-        boolean istRegular = pruefeZyklusRegularität(periodendaten);
+        int code = bewerteSensorWerte(datum.toEpochDay(), temperatur, puls, spo2, index);
+        ZyklusPhase aktuellePhase = BewertungsCode.getPhase(code);
 
-        Log.d(TAG, "Analysiere Sensor-Werte für Phase: " + aktuellePhase +
-                ", Tag: " + zyklusTag + ", Werte: Temp=" + temperatur + "°C, Puls=" + puls + "bpm, SpO2=" + spo2 + "%");
-
-        // Einzelbewertungen für jeden Parameter
-        AnalyseErgebnis.Bewertung tempBewertung = bewerteTemperatur(temperatur, aktuellePhase);
-        AnalyseErgebnis.Bewertung pulsBewertung = bewertePuls(puls, aktuellePhase);
-        AnalyseErgebnis.Bewertung spo2Bewertung = bewerteSpo2(spo2);
-
-        // Beschreibungen und Empfehlungen generieren
-        String phasenBeschreibung = generierePhasenBeschreibung(aktuellePhase, zyklusTag);
-        String empfehlung = generiereEmpfehlung(aktuellePhase, tempBewertung, pulsBewertung, spo2Bewertung);
-        String medizinischerHinweis = generiereMedizinischenHinweis(aktuellePhase, tempBewertung, pulsBewertung, istRegular);
+        if (Log.isLoggable(TAG, Log.DEBUG)) {
+            Log.d(TAG, "Analysiere Sensor-Werte für Phase: " + aktuellePhase +
+                    ", Tag: " + BewertungsCode.getZyklusTag(code) + ", Werte: Temp=" + temperatur +
+                    "°C, Puls=" + puls + "bpm, SpO2=" + spo2 + "%");
+        }
 
-        // Abweichungen berechnen für UI-Darstellung
+        // Abweichungen berechnen für UI-Darstellung; Texte erzeugt AnalyseErgebnis erst bei Anzeige
         float tempAbweichung = berechneTemperaturAbweichung(temperatur, aktuellePhase);
         float pulsAbweichung = berechnePulsAbweichung(puls, aktuellePhase);
 
-        return new AnalyseErgebnis(
-                aktuellePhase, zyklusTag, istRegular,
-                tempBewertung, pulsBewertung, spo2Bewertung,
-                phasenBeschreibung, empfehlung, medizinischerHinweis,
-                tempAbweichung, pulsAbweichung, spo2
-        );
+        return new AnalyseErgebnis(code, tempAbweichung, pulsAbweichung, spo2);
     }
 
     /**
-     * Bewertet die Temperatur im Kontext der Zyklusphase
+     * Bewertet Sensor-Werte eines Tages ohne Objekterzeugung, Texte oder Logging
+     *
+     * Geeignet für Diagramme, Trends und Massenauswertungen, die nur Phase,
+     * Zyklustag und die drei Bewertungen benötigen.
+     *
+     * @param epochTag Tag der Messung als Epoch-Tag
+     * @param temperatur Körpertemperatur in °C (0 = keine Messung)
+     * @param puls Ruhepuls in bpm (0 = keine Messung)
+     * @param spo2 Sauerstoffsättigung in % (0 = keine Messung)
+     * @param index Zyklusindex
+     * @return Gepackte Bewertung (siehe BewertungsCode)
      */
-    private AnalyseErgebnis.Bewertung bewerteTemperatur(float temperatur, ZyklusPhase phase) {
-        if (temperatur <= 0) {
-            return AnalyseErgebnis.Bewertung.NORMAL; // Keine Daten verfügbar
-        }
+    public int bewerteSensorWerte(long epochTag, float temperatur, int puls, int spo2, ZyklusIndex index) {
+        ZyklusPhase phase = bestimmePhase(epochTag, index);
 
-        switch (phase) {
-            case MENSTRUATION:
-            case FOLLIKELPHASE:
-                if (temperatur >= TEMP_FOLLIKEL_MIN && temperatur <= TEMP_FOLLIKEL_MAX) {
-                    return AnalyseErgebnis.Bewertung.NORMAL;
-                } else if (temperatur < TEMP_FOLLIKEL_MIN - 0.5f || temperatur > TEMP_FOLLIKEL_MAX + 0.3f) {
-                    return AnalyseErgebnis.Bewertung.AUFFAELLIG;
-                } else {
-                    return AnalyseErgebnis.Bewertung.GRENZWERTIG;
-                }
+        // Zyklustag wie berechneZyklusTag: 1, wenn kein Zyklus davor liegt
+        int position = index.findeZyklus(epochTag);
+        int zyklusTag = position < 0 ? 1 : (int) (epochTag - index.getStartTag(position)) + 1;
 
-            case OVULATION:
-                // Übergangsphase - größere Toleranz
-                if (temperatur >= TEMP_FOLLIKEL_MIN && temperatur <= TEMP_LUTEAL_MAX) {
-                    return AnalyseErgebnis.Bewertung.NORMAL;
-                } else {
-                    return AnalyseErgebnis.Bewertung.GRENZWERTIG;
-                }
+        return BewertungsCode.packe(phase, zyklusTag, index.istRegelmaessig(),
+                bewerteTemperatur(temperatur, phase),
+                bewertePuls(puls, phase),
+                bewerteSpo2(spo2, phase));
+    }
 
-            case LUTEALPHASE:
-                if (temperatur >= TEMP_LUTEAL_MIN && temperatur <= TEMP_LUTEAL_MAX) {
-                    return AnalyseErgebnis.Bewertung.NORMAL;
-                } else if (temperatur < TEMP_FOLLIKEL_MAX) {
-                    // Fehlender Temperaturanstieg in Lutealphase könnte auf Anovulation hindeuten
-                    return AnalyseErgebnis.Bewertung.AUFFAELLIG;
-                } else if (temperatur > TEMP_LUTEAL_MAX + 0.5f) {
-                    return AnalyseErgebnis.Bewertung.KRITISCH;
-                } else {
-                    return AnalyseErgebnis.Bewertung.GRENZWERTIG;
-                }
+    /**
+     * Massenauswertung aufeinanderfolgender Tage in ein vom Aufrufer bereitgestelltes Array
+     *
+     * Pro Tag wird nichts allokiert; das Ziel-Array kann über mehrere Aufrufe
+     * wiederverwendet werden.
+     *
+     * @param startTag Erster Tag als Epoch-Tag
+     * @param temperaturen Temperatur pro Tag (0 = keine Messung)
+     * @param pulse Puls pro Tag (0 = keine Messung)
+     * @param spo2Werte SpO2 pro Tag (0 = keine Messung)
+     * @param index Zyklusindex
+     * @param codes Ziel für die gepackten Bewertungen, mindestens so lang wie temperaturen
+     */
+    public void bewerteTage(long startTag, float[] temperaturen, int[] pulse, int[] spo2Werte,
+                            ZyklusIndex index, int[] codes) {
+        for (int i = 0; i < temperaturen.length; i++) {
+            codes[i] = bewerteSensorWerte(startTag + i, temperaturen[i], pulse[i], spo2Werte[i], index);
+        }
+    }
 
-            default:
-                return AnalyseErgebnis.Bewertung.NORMAL;
+    /**
+     * Bewertet die Temperatur im Kontext der Zyklusphase (ein Tabellenzugriff)
+     */
+    private AnalyseErgebnis.Bewertung bewerteTemperatur(float temperatur, ZyklusPhase phase) {
+        if (temperatur <= 0) {
+            return AnalyseErgebnis.Bewertung.NORMAL; // Keine Daten verfügbar
         }
+        return regeln.bewerteTemperatur(temperatur, phase);
     }
 
     /**
-     * Bewertet den Puls im Kontext der Zyklusphase
+     * Bewertet den Puls im Kontext der Zyklusphase (ein Tabellenzugriff)
      */
     private AnalyseErgebnis.Bewertung bewertePuls(int puls, ZyklusPhase phase) {
         if (puls <= 0) {
             return AnalyseErgebnis.Bewertung.NORMAL; // Keine Daten verfügbar
         }
-
-        // Grundlegende Puls-Bewertung
-        if (puls < 50) {
-            return AnalyseErgebnis.Bewertung.AUFFAELLIG; // Bradykardie
-        } else if (puls > 100) {
-            return AnalyseErgebnis.Bewertung.KRITISCH; // Tachykardie
-        }
-
-        // Phasenspezifische Bewertung (vereinfacht, da Baseline individuell ist)
-        switch (phase) {
-            case MENSTRUATION:
-            case FOLLIKELPHASE:
-                // In frühen Phasen erwarten wir niedrigere Werte
-                if (puls >= PULS_NORMAL_MIN && puls <= 80) {
-                    return AnalyseErgebnis.Bewertung.NORMAL;
-                } else if (puls <= 90) {
-                    return AnalyseErgebnis.Bewertung.GRENZWERTIG;
-                } else {
-                    return AnalyseErgebnis.Bewertung.AUFFAELLIG;
-                }
-
-            case LUTEALPHASE:
-                // In Lutealphase sind leicht erhöhte Werte normal
-                if (puls >= PULS_NORMAL_MIN && puls <= 85) {
-                    return AnalyseErgebnis.Bewertung.NORMAL;
-                } else if (puls <= 95) {
-                    return AnalyseErgebnis.Bewertung.GRENZWERTIG;
-                } else {
-                    return AnalyseErgebnis.Bewertung.AUFFAELLIG;
-                }
-
-            default:
-                // Ovulation: Übergangsphase
-                if (puls >= PULS_NORMAL_MIN && puls <= 85) {
-                    return AnalyseErgebnis.Bewertung.NORMAL;
-                } else {
-                    return AnalyseErgebnis.Bewertung.GRENZWERTIG;
-                }
-        }
+        return regeln.bewertePuls(puls, phase);
     }
 
     /**
-     * Bewertet SpO2 (unabhängig von Zyklusphase, da keine signifikanten Schwankungen)
+     * Bewertet SpO2 (die mitgelieferten Regeln sind phasenunabhängig)
      */
-    private AnalyseErgebnis.Bewertung bewerteSpo2(int spo2) {
+    private AnalyseErgebnis.Bewertung bewerteSpo2(int spo2, ZyklusPhase phase) {
         if (spo2 <= 0) {
             return AnalyseErgebnis.Bewertung.NORMAL; // Keine Daten verfügbar
         }
-
-        if (spo2 >= SPO2_OPTIMAL) {
-            return AnalyseErgebnis.Bewertung.NORMAL;
-        } else if (spo2 >= SPO2_NORMAL_MIN) {
-            return AnalyseErgebnis.Bewertung.GRENZWERTIG;
-        } else if (spo2 >= 90) {
-            return AnalyseErgebnis.Bewertung.AUFFAELLIG;
-        } else {
-            return AnalyseErgebnis.Bewertung.KRITISCH;
-        }
+        return regeln.bewerteSpo2(spo2, phase);
     }
 
     // ===== HILFSMETHODEN =====
 
-    private int berechneZyklusTag(LocalDate datum, List<LocalDate> periodendaten) {
-        if (periodendaten == null || periodendaten.isEmpty()) {
-            return 1;
-        }
-
-        List<LocalDate> sortiert = new ArrayList<>(periodendaten);
-        Collections.sort(sortiert, Collections.reverseOrder());
-
-        for (LocalDate periodenstart : sortiert) {
-            if (!periodenstart.isAfter(datum)) {
-                return (int) ChronoUnit.DAYS.between(periodenstart, datum) + 1;
-            }
-        }
-        return 1;
-    }
-
-    private boolean pruefeZyklusRegularität(List<LocalDate> periodendaten) {
-        if (periodendaten == null || periodendaten.size() < 3) {
-            return true; // Zu wenig Daten für Bewertung
-        }
-
-        List<Long> zykluslängen = new ArrayList<>();
-        List<LocalDate> sortiert = new ArrayList<>(periodendaten);
-        Collections.sort(sortiert);
-
-        for (int i = 1; i < sortiert.size(); i++) {
-            long länge = ChronoUnit.DAYS.between(sortiert.get(i-1), sortiert.get(i));
-            if (länge >= ZYKLUSLÄNGE_MIN && länge <= ZYKLUSLÄNGE_MAX) {
-                zykluslängen.add(länge);
-            }
-        }
-
-        if (zykluslängen.size() < 2) {
-            return true;
-        }
-
-        // Berechne Standardabweichung
-        double durchschnitt = zykluslängen.stream().mapToLong(Long::longValue).average().orElse(0);
-        double varianz = zykluslängen.stream()
-                .mapToDouble(l -> Math.pow(l - durchschnitt, 2))
-                .average().orElse(0);
-        double standardAbweichung = Math.sqrt(varianz);
-
-        // Zyklus gilt als regular wenn Standardabweichung < 5 Tage
-        return standardAbweichung < 5.0;
+    /**
+     * Zyklustag (1-basiert) eines Datums; 1, wenn kein Zyklus davor liegt
+     */
+    public int berechneZyklusTag(LocalDate datum, ZyklusIndex index) {
+        int zyklusTag = index.zyklusTag(datum);
+        return zyklusTag == 0 ? 1 : zyklusTag;
     }
 
     private float berechneTemperaturAbweichung(float temperatur, ZyklusPhase phase) {
@@ -404,7 +387,9 @@ public class ZyklusPhaseBerechnung {
         return ((float) puls - referenz) / referenz * 100; // Prozentuale Abweichung
     }
 
-    private String generierePhasenBeschreibung(ZyklusPhase phase, int zyklusTag) {
+    // ===== TEXTE (von AnalyseErgebnis erst bei Anzeige abgerufen) =====
+
+    static String generierePhasenBeschreibung(ZyklusPhase phase, int zyklusTag) {
         switch (phase) {
             case MENSTRUATION:
                 return "Sie befinden sich in der Menstruationsphase (Tag " + zyklusTag +
@@ -423,7 +408,7 @@ public class ZyklusPhaseBerechnung {
         }
     }
 
-    private String generiereEmpfehlung(ZyklusPhase phase, AnalyseErgebnis.Bewertung temp,
+    static String generiereEmpfehlung(ZyklusPhase phase, AnalyseErgebnis.Bewertung temp,
                                        AnalyseErgebnis.Bewertung puls, AnalyseErgebnis.Bewertung spo2) {
         StringBuilder empfehlung = new StringBuilder();
 
@@ -454,7 +439,7 @@ public class ZyklusPhaseBerechnung {
         return empfehlung.toString();
     }
 
-    private String generiereMedizinischenHinweis(ZyklusPhase phase, AnalyseErgebnis.Bewertung temp,
+    static String generiereMedizinischenHinweis(ZyklusPhase phase, AnalyseErgebnis.Bewertung temp,
                                                  AnalyseErgebnis.Bewertung puls, boolean istRegular) {
         StringBuilder hinweis = new StringBuilder();
 
@@ -472,38 +457,4 @@ public class ZyklusPhaseBerechnung {
 
         return hinweis.toString();
     }
-
-    /**
-     * Findet den ersten Tag einer zusammenhängenden Periodensequenz
-     */
-    private LocalDate findeErstenPeriodentag(LocalDate datum, List<LocalDate> sortiertePerioden) {
-        // Finde alle Periodentage vor dem gegebenen Datum
-        List<LocalDate> relevantePeriodenTage = new ArrayList<>();
-        for (LocalDate tag : sortiertePerioden) {
-            if (!tag.isAfter(datum)) {
-                relevantePeriodenTage.add(tag);
-            }
-        }
-
-        if (relevantePeriodenTage.isEmpty()) return null;
-
-        // Sortiere aufsteigend
-        Collections.sort(relevantePeriodenTage);
-
-        // Finde den ersten Tag der letzten zusammenhängenden Periode
-        LocalDate letzterTag = relevantePeriodenTage.get(relevantePeriodenTage.size() - 1);
-        LocalDate ersterTag = letzterTag;
-
-        // Gehe rückwärts und finde aufeinanderfolgende Tage
-        for (int i = relevantePeriodenTage.size() - 2; i >= 0; i--) {
-            LocalDate vorheriger = relevantePeriodenTage.get(i);
-            if (ChronoUnit.DAYS.between(vorheriger, ersterTag) == 1) {
-                ersterTag = vorheriger;
-            } else {
-                break; // Lücke gefunden, stoppe
-            }
-        }
-
-        return ersterTag;
-    }
-}
\ No newline at end of file
+}
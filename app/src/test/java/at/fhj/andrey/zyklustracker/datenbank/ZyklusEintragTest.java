@@ -0,0 +1,119 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Prüft die Gruppierung der Periodentage zu Zyklen (ZyklusEintrag.ausPeriodenTagen).
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public class ZyklusEintragTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Test
+    public void leereListe_ergibtKeineZyklen() {
+        assertTrue(ZyklusEintrag.ausPeriodenTagen(Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    public void zusammenhaengendeTage_ergebenEinenOffenenZyklus() {
+        List<ZyklusEintrag> zyklen = ZyklusEintrag.ausPeriodenTagen(tage(0, 1, 2, 3));
+
+        assertEquals(1, zyklen.size());
+        assertEquals(START, zyklen.get(0).getStartDatum());
+        assertEquals(START.plusDays(3), zyklen.get(0).getEndDatum());
+        assertEquals(4, zyklen.get(0).getPeriodenLaenge());
+        assertNull(zyklen.get(0).getZyklusLaenge());
+    }
+
+    @Test
+    public void lueckeBisMaxTagesabstand_teiltPeriodeNicht() {
+        // Tag 2 fehlt (Abstand 2): eine Periode, gezählt werden nur erfasste Tage
+        List<ZyklusEintrag> zyklen = ZyklusEintrag.ausPeriodenTagen(tage(0, 1, 3, 4));
+
+        assertEquals(1, zyklen.size());
+        assertEquals(START.plusDays(4), zyklen.get(0).getEndDatum());
+        assertEquals(4, zyklen.get(0).getPeriodenLaenge());
+    }
+
+    @Test
+    public void groessereLuecke_beginntNeuenZyklus() {
+        List<ZyklusEintrag> zyklen = ZyklusEintrag.ausPeriodenTagen(tage(0, 1, 2, 28, 29, 57));
+
+        assertEquals(3, zyklen.size());
+        assertEquals(Integer.valueOf(28), zyklen.get(0).getZyklusLaenge());
+        assertEquals(Integer.valueOf(29), zyklen.get(1).getZyklusLaenge());
+        assertNull(zyklen.get(2).getZyklusLaenge());
+        assertEquals(2, zyklen.get(1).getPeriodenLaenge());
+        assertEquals(1, zyklen.get(2).getPeriodenLaenge());
+    }
+
+    @Test
+    public void zufaelligeTage_entsprechenNeuberechnung() {
+        Random zufall = new Random(7);
+        for (int durchlauf = 0; durchlauf < 200; durchlauf++) {
+            TreeSet<Integer> versaetze = new TreeSet<>();
+            int anzahl = zufall.nextInt(60);
+            for (int i = 0; i < anzahl; i++) {
+                versaetze.add(zufall.nextInt(400));
+            }
+            List<LocalDate> sortiert = new ArrayList<>();
+            for (int versatz : versaetze) {
+                sortiert.add(START.plusDays(versatz));
+            }
+
+            List<ZyklusEintrag> zyklen = ZyklusEintrag.ausPeriodenTagen(sortiert);
+
+            // Jeder Tag liegt in genau einem Zyklus, die Tage jedes Zyklus werden vollständig gezählt
+            int gezaehlt = 0;
+            for (int i = 0; i < zyklen.size(); i++) {
+                ZyklusEintrag zyklus = zyklen.get(i);
+                int tageImZyklus = 0;
+                LocalDate vorheriger = null;
+                for (LocalDate tag : sortiert) {
+                    if (!tag.isBefore(zyklus.getStartDatum()) && !tag.isAfter(zyklus.getEndDatum())) {
+                        if (vorheriger != null) {
+                            assertTrue(ChronoUnit.DAYS.between(vorheriger, tag) <= ZyklusEintrag.MAX_TAGESABSTAND);
+                        }
+                        vorheriger = tag;
+                        tageImZyklus++;
+                    }
+                }
+                assertEquals(tageImZyklus, zyklus.getPeriodenLaenge());
+                gezaehlt += tageImZyklus;
+
+                if (i + 1 < zyklen.size()) {
+                    ZyklusEintrag naechster = zyklen.get(i + 1);
+                    assertTrue(ChronoUnit.DAYS.between(zyklus.getEndDatum(), naechster.getStartDatum())
+                            > ZyklusEintrag.MAX_TAGESABSTAND);
+                    assertEquals(Integer.valueOf((int) ChronoUnit.DAYS.between(
+                            zyklus.getStartDatum(), naechster.getStartDatum())), zyklus.getZyklusLaenge());
+                } else {
+                    assertNull(zyklus.getZyklusLaenge());
+                }
+            }
+            assertEquals(sortiert.size(), gezaehlt);
+        }
+    }
+
+    private static List<LocalDate> tage(int... versaetze) {
+        List<LocalDate> tage = new ArrayList<>();
+        for (int versatz : versaetze) {
+            tage.add(START.plusDays(versatz));
+        }
+        return tage;
+    }
+}
@@ -0,0 +1,164 @@
+package at.fhj.andrey.zyklustracker.datenbank;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Prüft die laufende Statistik (Welford-Verfahren und Umkehrung) gegen eine
+ * Neuberechnung aus allen Längen.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public class ZyklusStatistikTest {
+
+    private static final double TOLERANZ = 1e-6;
+
+    @Test
+    public void hinzufuegen_entsprichtNeuberechnung() {
+        ZyklusStatistik statistik = new ZyklusStatistik();
+        List<Integer> laengen = Arrays.asList(28, 30, 26, 29, 31, 27);
+        for (int laenge : laengen) {
+            statistik.hinzufuegen(laenge);
+        }
+
+        pruefeGleich(neuBerechnet(laengen), statistik);
+        assertEquals(26, statistik.getMinimum());
+        assertEquals(31, statistik.getMaximum());
+    }
+
+    @Test
+    public void hinzufuegen_ignoriertUngueltigeLaengen() {
+        ZyklusStatistik statistik = new ZyklusStatistik();
+        statistik.hinzufuegen(ZyklusStatistik.GUELTIG_MIN - 1);
+        statistik.hinzufuegen(ZyklusStatistik.GUELTIG_MAX + 1);
+
+        assertFalse(statistik.hatDaten());
+        assertEquals(0, statistik.getMinimum());
+        assertEquals(0, statistik.getMaximum());
+    }
+
+    @Test
+    public void entfernen_letzterWertSetztZurueck() {
+        ZyklusStatistik statistik = new ZyklusStatistik();
+        statistik.hinzufuegen(28);
+
+        assertFalse(statistik.entfernen(28));
+        assertFalse(statistik.hatDaten());
+        assertEquals(0.0, statistik.getMittelwert(), TOLERANZ);
+        assertEquals(0.0, statistik.getM2(), TOLERANZ);
+    }
+
+    @Test
+    public void entfernen_meldetVeralteteGrenzen() {
+        ZyklusStatistik statistik = new ZyklusStatistik();
+        for (int laenge : new int[]{26, 28, 31}) {
+            statistik.hinzufuegen(laenge);
+        }
+
+        assertFalse(statistik.entfernen(28));
+        assertTrue(statistik.entfernen(31));
+        // Mittelwert und M2 sind zurückgerechnet, das Maximum muss neu gelesen werden
+        assertEquals(31, statistik.getMaximum());
+        statistik.setMaximum(26);
+        pruefeGleich(neuBerechnet(Collections.singletonList(26)), statistik);
+    }
+
+    @Test
+    public void ersetzen_zufaelligeFolge_entsprichtNeuberechnung() {
+        Random zufall = new Random(42);
+        List<Integer> gespeichert = new ArrayList<>();
+        ZyklusStatistik statistik = new ZyklusStatistik();
+
+        for (int schritt = 0; schritt < 2000; schritt++) {
+            // Einige gespeicherte Längen fallen weg (Neugruppierung), neue kommen hinzu;
+            // auch ungültige Längen und null (laufender Zyklus) wie in der Tabelle zyklen
+            List<Integer> alte = new ArrayList<>();
+            int wegfallend = gespeichert.isEmpty() ? 0 : zufall.nextInt(Math.min(3, gespeichert.size()) + 1);
+            for (int i = 0; i < wegfallend; i++) {
+                alte.add(gespeichert.remove(zufall.nextInt(gespeichert.size())));
+            }
+            alte.add(null);
+
+            List<Integer> neue = new ArrayList<>();
+            int hinzukommend = zufall.nextInt(4);
+            for (int i = 0; i < hinzukommend; i++) {
+                int laenge = 15 + zufall.nextInt(30);
+                neue.add(laenge);
+                gespeichert.add(laenge);
+            }
+
+            if (statistik.ersetzen(alte, neue)) {
+                // Wie PeriodeDao: Grenzen über den Index auf zyklusLaenge neu lesen
+                ZyklusStatistik grenzen = neuBerechnet(gespeichert);
+                statistik.setMinimum(grenzen.getMinimum());
+                statistik.setMaximum(grenzen.getMaximum());
+            }
+
+            pruefeGleich(neuBerechnet(gespeichert), statistik);
+        }
+    }
+
+    @Test
+    public void aus_zyklen_ueberspringtLaufendenZyklus() {
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        List<ZyklusEintrag> zyklen = Arrays.asList(
+                new ZyklusEintrag(start, start.plusDays(4), 5, 28),
+                new ZyklusEintrag(start.plusDays(28), start.plusDays(32), 5, 30),
+                new ZyklusEintrag(start.plusDays(58), start.plusDays(62), 5, null));
+
+        pruefeGleich(neuBerechnet(Arrays.asList(28, 30)), ZyklusStatistik.aus(zyklen));
+    }
+
+    /**
+     * Statistik direkt aus allen Längen (Zwei-Durchlauf-Verfahren, ohne Welford).
+     */
+    private static ZyklusStatistik neuBerechnet(List<Integer> laengen) {
+        List<Integer> gueltig = new ArrayList<>();
+        for (Integer laenge : laengen) {
+            if (laenge != null && ZyklusStatistik.istGueltig(laenge)) {
+                gueltig.add(laenge);
+            }
+        }
+
+        ZyklusStatistik statistik = new ZyklusStatistik();
+        statistik.setAnzahl(gueltig.size());
+        if (gueltig.isEmpty()) {
+            return statistik;
+        }
+
+        double summe = 0;
+        for (int laenge : gueltig) {
+            summe += laenge;
+        }
+        double mittelwert = summe / gueltig.size();
+        double m2 = 0;
+        for (int laenge : gueltig) {
+            m2 += (laenge - mittelwert) * (laenge - mittelwert);
+        }
+        statistik.setMittelwert(mittelwert);
+        statistik.setM2(m2);
+        statistik.setMinimum(Collections.min(gueltig));
+        statistik.setMaximum(Collections.max(gueltig));
+        return statistik;
+    }
+
+    private static void pruefeGleich(ZyklusStatistik erwartet, ZyklusStatistik tatsaechlich) {
+        assertEquals(erwartet.getAnzahl(), tatsaechlich.getAnzahl());
+        assertEquals(erwartet.getMittelwert(), tatsaechlich.getMittelwert(), TOLERANZ);
+        assertEquals(erwartet.getM2(), tatsaechlich.getM2(), TOLERANZ);
+        if (erwartet.getAnzahl() > 0) {
+            assertEquals(erwartet.getMinimum(), tatsaechlich.getMinimum());
+            assertEquals(erwartet.getMaximum(), tatsaechlich.getMaximum());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package at.fhj.andrey.zyklustracker.zyklusanalyse;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusEintrag;
+
+import static org.junit.Assert.*;
+
+/**
+ * Prüft den Bereichsdurchlauf (berechnePhasenBereich) gegen die Einzelabfrage
+ * jedes Tages über den ZyklusIndex.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public class PhasenBereichTest {
+
+    // Phasen hängen nur vom Index ab, Bewertungsregeln werden nicht benötigt
+    private final ZyklusPhaseBerechnung berechnung = new ZyklusPhaseBerechnung(null);
+
+    @Test
+    public void bereich_entsprichtEinzelabfragen() {
+        List<ZyklusEintrag> zyklen = ZyklusIndexTest.zufaelligeZyklen(new Random(11), 30);
+        pruefeBereich(ZyklusIndex.aus(zyklen), zyklen);
+    }
+
+    @Test
+    public void bereichMitEisprungTagen_entsprichtEinzelabfragen() {
+        Random zufall = new Random(5);
+        List<ZyklusEintrag> zyklen = ZyklusIndexTest.zufaelligeZyklen(zufall, 30);
+        List<LocalDate> eisprungTage = new ArrayList<>();
+        for (ZyklusEintrag zyklus : zyklen) {
+            if (zufall.nextBoolean()) {
+                eisprungTage.add(zyklus.getStartDatum().plusDays(10 + zufall.nextInt(8)));
+            }
+        }
+        pruefeBereich(ZyklusIndex.aus(zyklen).mitEisprungTagen(eisprungTage), zyklen);
+    }
+
+    @Test
+    public void grenzenUndEnthaelt() {
+        LocalDate von = LocalDate.of(2025, 2, 1);
+        LocalDate bis = LocalDate.of(2025, 2, 28);
+        PhasenBereich bereich = berechnung.berechnePhasenBereich(von, bis, ZyklusIndex.LEER);
+
+        assertEquals(28, bereich.getAnzahlTage());
+        assertEquals(von, bereich.getVon());
+        assertEquals(bis, bereich.getBis());
+        assertTrue(bereich.enthaelt(bis));
+        assertFalse(bereich.enthaelt(bis.plusDays(1)));
+        assertEquals(ZyklusPhaseBerechnung.ZyklusPhase.UNBEKANNT, bereich.getPhase(von));
+        assertEquals(0, bereich.getZyklusTag(von));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void datumAusserhalb_wirftAusnahme() {
+        LocalDate von = LocalDate.of(2025, 2, 1);
+        berechnung.berechnePhasenBereich(von, von.plusDays(3), ZyklusIndex.LEER).getPhase(von.minusDays(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void endeVorBeginn_wirftAusnahme() {
+        LocalDate von = LocalDate.of(2025, 2, 1);
+        berechnung.berechnePhasenBereich(von, von.minusDays(1), ZyklusIndex.LEER);
+    }
+
+    private void pruefeBereich(ZyklusIndex index, List<ZyklusEintrag> zyklen) {
+        // Von vor dem ersten Zyklus bis weit hinter den laufenden Zyklus
+        LocalDate von = zyklen.get(0).getStartDatum().minusDays(20);
+        LocalDate bis = zyklen.get(zyklen.size() - 1).getStartDatum().plusDays(80);
+        PhasenBereich bereich = berechnung.berechnePhasenBereich(von, bis, index);
+
+        int position = 0;
+        for (LocalDate tag = von; !tag.isAfter(bis); tag = tag.plusDays(1), position++) {
+            assertEquals("Phase am " + tag,
+                    berechnung.berechneAktuellePhase(tag, index), bereich.getPhase(tag));
+            assertEquals("Zyklustag am " + tag, index.zyklusTag(tag), bereich.getZyklusTag(position));
+        }
+        assertEquals(position, bereich.getAnzahlTage());
+    }
+}
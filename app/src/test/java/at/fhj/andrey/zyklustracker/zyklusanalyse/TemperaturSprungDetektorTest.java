@@ -0,0 +1,132 @@
+package at.fhj.andrey.zyklustracker.zyklusanalyse;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import at.fhj.andrey.zyklustracker.datenbank.EisprungErkennung;
+
+import static org.junit.Assert.*;
+
+/**
+ * Prüft die "3 über 6"-Regel des TemperaturSprungDetektor mit fortlaufend
+ * eintreffenden Tageswerten.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public class TemperaturSprungDetektorTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 3, 1);
+
+    // Sechs Tieflage-Werte, Hilfslinie 36,50 °C
+    private static final float[] TIEFLAGE = {36.40f, 36.45f, 36.50f, 36.35f, 36.42f, 36.48f};
+
+    @Test
+    public void dreiUeberSechs_erkenntEisprungAmLetztenTieflageTag() {
+        EisprungErkennung zustand = new EisprungErkennung(START);
+
+        assertFalse(verarbeiteAb(zustand, 10, TIEFLAGE));
+        assertFalse(verarbeiteAb(zustand, 16, 36.60f, 36.65f));
+        assertTrue(TemperaturSprungDetektor.verarbeite(zustand, START.plusDays(18), 36.70f));
+
+        assertEquals(START.plusDays(15), zustand.getEisprungDatum());
+        assertEquals(TemperaturSprungDetektor.FENSTER, zustand.getAnzahlWerte());
+    }
+
+    @Test
+    public void dritterWertZuNiedrig_keinEisprung() {
+        EisprungErkennung zustand = new EisprungErkennung(START);
+
+        verarbeiteAb(zustand, 10, TIEFLAGE);
+        // Alle drei über der Hilfslinie, der dritte aber nur 0,15 °C darüber
+        assertFalse(verarbeiteAb(zustand, 16, 36.60f, 36.62f, 36.65f));
+
+        assertNull(zustand.getEisprungDatum());
+    }
+
+    @Test
+    public void hochlageWertAufHilfslinie_keinEisprung() {
+        EisprungErkennung zustand = new EisprungErkennung(START);
+
+        verarbeiteAb(zustand, 10, TIEFLAGE);
+        assertFalse(verarbeiteAb(zustand, 16, 36.60f, 36.50f, 36.80f));
+
+        assertNull(zustand.getEisprungDatum());
+    }
+
+    @Test
+    public void fensterGleitet_spaeterAnstiegWirdErkannt() {
+        EisprungErkennung zustand = new EisprungErkennung(START);
+
+        // Ausreißer am Anfang fällt aus dem Fenster und hebt die Hilfslinie nicht mehr an
+        assertFalse(verarbeiteAb(zustand, 5, 37.20f));
+        assertFalse(verarbeiteAb(zustand, 6, TIEFLAGE));
+        assertFalse(verarbeiteAb(zustand, 12, 36.60f, 36.65f));
+        assertTrue(TemperaturSprungDetektor.verarbeite(zustand, START.plusDays(14), 36.75f));
+
+        assertEquals(START.plusDays(11), zustand.getEisprungDatum());
+    }
+
+    @Test
+    public void zweiteMessungDesTages_ersetztTageswert() {
+        EisprungErkennung zustand = new EisprungErkennung(START);
+
+        verarbeiteAb(zustand, 10, TIEFLAGE);
+        verarbeiteAb(zustand, 16, 36.60f, 36.65f);
+        // Erste Messung am dritten Tag zu niedrig, die spätere Messung desselben Tages reicht
+        assertFalse(TemperaturSprungDetektor.verarbeite(zustand, START.plusDays(18), 36.55f));
+        assertTrue(TemperaturSprungDetektor.verarbeite(zustand, START.plusDays(18), 36.72f));
+
+        assertEquals(TemperaturSprungDetektor.FENSTER, zustand.getAnzahlWerte());
+        assertEquals(START.plusDays(15), zustand.getEisprungDatum());
+    }
+
+    @Test
+    public void aeltereMessung_aendertZustandNicht() {
+        EisprungErkennung zustand = new EisprungErkennung(START);
+
+        verarbeiteAb(zustand, 10, TIEFLAGE);
+        int anzahl = zustand.getAnzahlWerte();
+
+        assertFalse(TemperaturSprungDetektor.verarbeite(zustand, START.plusDays(12), 37.00f));
+        assertEquals(anzahl, zustand.getAnzahlWerte());
+        assertEquals(START.plusDays(15), zustand.getLetzterTag());
+    }
+
+    @Test
+    public void messungVorZyklusbeginn_wirdIgnoriert() {
+        EisprungErkennung zustand = new EisprungErkennung(START);
+
+        assertFalse(TemperaturSprungDetektor.verarbeite(zustand, START.minusDays(1), 36.40f));
+        assertEquals(0, zustand.getAnzahlWerte());
+        assertNull(zustand.getLetzterTag());
+    }
+
+    @Test
+    public void nachErkennung_bleibtZustandUnveraendert() {
+        EisprungErkennung zustand = new EisprungErkennung(START);
+
+        verarbeiteAb(zustand, 10, TIEFLAGE);
+        verarbeiteAb(zustand, 16, 36.60f, 36.65f, 36.70f);
+        LocalDate letzterTag = zustand.getLetzterTag();
+
+        assertFalse(TemperaturSprungDetektor.verarbeite(zustand, START.plusDays(19), 36.90f));
+        assertEquals(START.plusDays(15), zustand.getEisprungDatum());
+        assertEquals(letzterTag, zustand.getLetzterTag());
+    }
+
+    /**
+     * Verarbeitet Tageswerte an aufeinanderfolgenden Zyklustagen ab dem angegebenen Versatz.
+     *
+     * @return Ergebnis der letzten Verarbeitung
+     */
+    private static boolean verarbeiteAb(EisprungErkennung zustand, int ersterTag, float... werte) {
+        boolean erkannt = false;
+        for (int i = 0; i < werte.length; i++) {
+            erkannt = TemperaturSprungDetektor.verarbeite(zustand, START.plusDays(ersterTag + i), werte[i]);
+        }
+        return erkannt;
+    }
+}
@@ -0,0 +1,128 @@
+package at.fhj.andrey.zyklustracker.zyklusanalyse;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusEintrag;
+import at.fhj.andrey.zyklustracker.datenbank.ZyklusStatistik;
+
+import static org.junit.Assert.*;
+
+/**
+ * Prüft die Binärsuche des ZyklusIndex gegen eine lineare Suche über alle Zyklen.
+ *
+ * @author Andrey Eskin
+ * @version 1.0
+ * @since Mai 2025
+ */
+public class ZyklusIndexTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @Test
+    public void leererIndex() {
+        ZyklusIndex index = ZyklusIndex.aus(new ArrayList<>());
+
+        assertTrue(index.istLeer());
+        assertEquals(-1, index.findeZyklus(START.toEpochDay()));
+        assertEquals(0, index.zyklusTag(START));
+        assertEquals(ZyklusPhaseBerechnung.ZYKLUSLÄNGE_STANDARD, index.getDurchschnittlicheZykluslaenge());
+    }
+
+    @Test
+    public void findeZyklus_entsprichtLinearerSuche() {
+        List<ZyklusEintrag> zyklen = zufaelligeZyklen(new Random(3), 40);
+        ZyklusIndex index = ZyklusIndex.aus(zyklen);
+
+        LocalDate erster = zyklen.get(0).getStartDatum().minusDays(10);
+        LocalDate letzter = zyklen.get(zyklen.size() - 1).getStartDatum().plusDays(60);
+        for (LocalDate tag = erster; !tag.isAfter(letzter); tag = tag.plusDays(1)) {
+            int erwartet = -1;
+            for (int i = 0; i < zyklen.size(); i++) {
+                if (!zyklen.get(i).getStartDatum().isAfter(tag)) {
+                    erwartet = i;
+                }
+            }
+
+            assertEquals(erwartet, index.findeZyklus(tag.toEpochDay()));
+            int erwarteterTag = erwartet < 0 ? 0
+                    : (int) (tag.toEpochDay() - zyklen.get(erwartet).getStartDatum().toEpochDay()) + 1;
+            assertEquals(erwarteterTag, index.zyklusTag(tag));
+        }
+    }
+
+    @Test
+    public void zyklusLaengen_undDurchschnitt() {
+        List<ZyklusEintrag> zyklen = zyklenMitLaengen(26, 30, 28, 60);
+        ZyklusIndex index = ZyklusIndex.aus(zyklen);
+
+        assertEquals(26, index.getZyklusLaenge(0));
+        assertEquals(ZyklusIndex.KEINE_LAENGE, index.getZyklusLaenge(4));
+        // 60 ist ungültig und zählt nicht zum Durchschnitt
+        assertEquals(28, index.getDurchschnittlicheZykluslaenge());
+        assertTrue(index.istRegelmaessig());
+    }
+
+    @Test
+    public void unregelmaessigeZyklen() {
+        ZyklusIndex index = ZyklusIndex.aus(zyklenMitLaengen(21, 35, 22, 34));
+
+        assertFalse(index.istRegelmaessig());
+    }
+
+    @Test
+    public void gespeicherteStatistik_hatVorrang() {
+        ZyklusStatistik statistik = new ZyklusStatistik();
+        statistik.hinzufuegen(32);
+
+        ZyklusIndex index = ZyklusIndex.aus(zyklenMitLaengen(26, 26), statistik);
+
+        assertEquals(32, index.getDurchschnittlicheZykluslaenge());
+    }
+
+    @Test
+    public void mitEisprungTagen_ordnetEisprungDemZyklusZu() {
+        List<ZyklusEintrag> zyklen = zyklenMitLaengen(28, 30);
+        LocalDate eisprung1 = START.plusDays(14);
+        LocalDate eisprung3 = START.plusDays(58 + 13);
+
+        ZyklusIndex index = ZyklusIndex.aus(zyklen)
+                .mitEisprungTagen(Arrays.asList(eisprung3, eisprung1, START.minusDays(5)));
+
+        assertEquals(eisprung1.toEpochDay(), index.getEisprungTag(0));
+        assertEquals(ZyklusIndex.KEIN_EISPRUNG, index.getEisprungTag(1));
+        assertEquals(eisprung3.toEpochDay(), index.getEisprungTag(2));
+    }
+
+    /**
+     * Zyklen mit den angegebenen Längen, danach ein laufender Zyklus.
+     */
+    static List<ZyklusEintrag> zyklenMitLaengen(int... laengen) {
+        List<ZyklusEintrag> zyklen = new ArrayList<>();
+        LocalDate start = START;
+        for (int laenge : laengen) {
+            zyklen.add(new ZyklusEintrag(start, start.plusDays(4), 5, laenge));
+            start = start.plusDays(laenge);
+        }
+        zyklen.add(new ZyklusEintrag(start, start.plusDays(4), 5, null));
+        return zyklen;
+    }
+
+    static List<ZyklusEintrag> zufaelligeZyklen(Random zufall, int anzahl) {
+        TreeSet<Integer> versaetze = new TreeSet<>();
+        while (versaetze.size() < anzahl) {
+            versaetze.add(zufall.nextInt(anzahl * 35));
+        }
+        List<LocalDate> tage = new ArrayList<>();
+        for (int versatz : versaetze) {
+            tage.add(START.plusDays(versatz));
+        }
+        return ZyklusEintrag.ausPeriodenTagen(tage);
+    }
+}